@@ -0,0 +1,51 @@
+package redcoder.quartzextendbenchmarks;
+
+import redcoder.quartzextendcore.core.dto.QuartzApiResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试使用的数据
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+final class BenchmarkData {
+
+    static final String SCHED_NAME = "benchmarkScheduler";
+
+    private BenchmarkData() {
+    }
+
+    static QuartzJobTriggerInfo jobTriggerInfo(int i) {
+        QuartzJobTriggerInfo info = new QuartzJobTriggerInfo();
+        info.setSchedName(SCHED_NAME);
+        info.setJobName("BenchmarkJob" + i);
+        info.setJobGroup("DEFAULT");
+        info.setJobDesc("benchmark job " + i);
+        info.setTriggerName("BenchmarkJob" + i + "Trigger");
+        info.setTriggerGroup("DEFAULT");
+        info.setTriggerDesc("BenchmarkJob" + i + "'s trigger");
+        info.setPrevFireTime(1792286100000L + i);
+        info.setNextFireTime(1792286400000L + i);
+        info.setTriggerState("NORMAL");
+        return info;
+    }
+
+    static List<QuartzJobTriggerInfo> jobTriggerInfos(int size) {
+        List<QuartzJobTriggerInfo> infos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            infos.add(jobTriggerInfo(i));
+        }
+        return infos;
+    }
+
+    /**
+     * 与quartz实例接口/quartz/job-trigger-info/list相同的响应结构
+     */
+    static QuartzApiResult<List<QuartzJobTriggerInfo>> apiResult(int size) {
+        return new QuartzApiResult<>(0, "", jobTriggerInfos(size));
+    }
+}
@@ -0,0 +1,47 @@
+package redcoder.quartzextendbenchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口，支持JMH所有的命令行参数。未指定<code>-rf</code>时，结果以json格式输出到<code>-rff</code>指定的文件，
+ * 默认为当前目录下的jmh-result.json，便于对比不同版本之间的结果。
+ * <p>
+ * 示例：
+ * <pre>
+ * java -jar quartz-extend-benchmarks/target/benchmarks.jar                        # 运行全部基准测试
+ * java -jar quartz-extend-benchmarks/target/benchmarks.jar JsonUtilsBenchmark -prof gc
+ * java -jar quartz-extend-benchmarks/target/benchmarks.jar -rff jmh-result-1.1.0.json
+ * </pre>
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        if (cmdOptions.shouldHelp()) {
+            cmdOptions.showHelp();
+            return;
+        }
+        if (cmdOptions.shouldList()) {
+            new Runner(cmdOptions).list();
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+            if (!cmdOptions.getResult().hasValue()) {
+                builder.result(DEFAULT_RESULT_FILE);
+            }
+        }
+        new Runner(builder.build()).run();
+    }
+}
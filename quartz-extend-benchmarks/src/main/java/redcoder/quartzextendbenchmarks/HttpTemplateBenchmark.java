@@ -0,0 +1,87 @@
+package redcoder.quartzextendbenchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import redcoder.quartzextendcommon.utils.HttpTemplate;
+import redcoder.quartzextendcommon.utils.HttpUtils;
+import redcoder.quartzextendcommon.utils.JsonUtils;
+import redcoder.quartzextendcore.core.dto.QuartzApiResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpTemplate}的基准测试，请求本地的http服务，响应内容为job和trigger信息列表。
+ * <p>
+ * 包含连接池、请求构建、响应体解析的开销，不包含网络延迟。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// 本地http服务分两次写出响应头和响应体，关闭Nagle算法，避免与客户端的延迟ack叠加产生40ms的等待
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class HttpTemplateBenchmark {
+
+    private static final TypeReference<QuartzApiResult<List<QuartzJobTriggerInfo>>> TYPE_REFERENCE =
+            new TypeReference<QuartzApiResult<List<QuartzJobTriggerInfo>>>() {
+            };
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String url;
+
+    @Setup
+    public void setup() throws Exception {
+        byte[] body = JsonUtils.beanToJsonString(BenchmarkData.apiResult(size)).getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+        server.createContext("/quartz/job-trigger-info/list", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/quartz/job-trigger-info/list";
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public QuartzApiResult<List<QuartzJobTriggerInfo>> doGet() {
+        return HttpTemplate.doGet(url, TYPE_REFERENCE);
+    }
+
+    @Benchmark
+    public QuartzApiResult<List<QuartzJobTriggerInfo>> doGetString() {
+        // 先将响应体读取为字符串，再解析
+        return JsonUtils.jsonStringToBean(HttpUtils.doGet(url), TYPE_REFERENCE);
+    }
+
+    @Benchmark
+    public QuartzApiResult<List<QuartzJobTriggerInfo>> doGetAsync() {
+        return HttpTemplate.doGetAsync(url, null, TYPE_REFERENCE).join();
+    }
+}
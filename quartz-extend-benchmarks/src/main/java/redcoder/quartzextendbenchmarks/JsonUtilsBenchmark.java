@@ -0,0 +1,64 @@
+package redcoder.quartzextendbenchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.*;
+import redcoder.quartzextendcommon.utils.JsonUtils;
+import redcoder.quartzextendcore.core.dto.QuartzApiResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsonUtils}序列化、反序列化job和trigger信息列表的基准测试。
+ * <p>
+ * fromString与fromStream的差异即为先将响应体转换成字符串的开销，可配合<code>-prof gc</code>查看内存分配。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilsBenchmark {
+
+    private static final TypeReference<QuartzApiResult<List<QuartzJobTriggerInfo>>> TYPE_REFERENCE =
+            new TypeReference<QuartzApiResult<List<QuartzJobTriggerInfo>>>() {
+            };
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private QuartzApiResult<List<QuartzJobTriggerInfo>> apiResult;
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setup() {
+        apiResult = BenchmarkData.apiResult(size);
+        json = JsonUtils.beanToJsonString(apiResult);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String toJsonString() {
+        return JsonUtils.beanToJsonString(apiResult);
+    }
+
+    @Benchmark
+    public QuartzApiResult<List<QuartzJobTriggerInfo>> fromString() {
+        // 模拟先将响应体读取为字符串，再解析
+        String str = new String(jsonBytes, StandardCharsets.UTF_8);
+        return JsonUtils.jsonStringToBean(str, TYPE_REFERENCE);
+    }
+
+    @Benchmark
+    public QuartzApiResult<List<QuartzJobTriggerInfo>> fromStream() {
+        return JsonUtils.inputStreamToBean(new ByteArrayInputStream(jsonBytes), TYPE_REFERENCE);
+    }
+}
@@ -0,0 +1,83 @@
+package redcoder.quartzextendbenchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import redcoder.quartzextendcommon.utils.MapUtils;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MapUtils#beanToMap(Object, Class, boolean)}的基准测试，{@link #legacyBeanToMap}为缓存MethodHandle之前的实现，用于对比
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapUtilsBenchmark {
+
+    private QuartzJobTriggerInfo info;
+
+    @Setup
+    public void setup() {
+        info = BenchmarkData.jobTriggerInfo(0);
+        // 部分属性为null，覆盖filterNullProp分支
+        info.setJobDesc(null);
+        info.setTriggerDesc(null);
+    }
+
+    @Benchmark
+    public Map<String, Object> beanToMap() {
+        return MapUtils.beanToMap(info, QuartzJobTriggerInfo.class, false);
+    }
+
+    @Benchmark
+    public Map<String, Object> beanToMapFilterNull() {
+        return MapUtils.beanToMap(info, QuartzJobTriggerInfo.class, true);
+    }
+
+    @Benchmark
+    public Map<String, Object> beanToMapIncludeSuperclass() {
+        return MapUtils.beanToMap(info, QuartzJobTriggerInfo.class, false, true);
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyBeanToMap() throws IllegalAccessException {
+        return legacyBeanToMap(info, QuartzJobTriggerInfo.class, false);
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyBeanToMapFilterNull() throws IllegalAccessException {
+        return legacyBeanToMap(info, QuartzJobTriggerInfo.class, true);
+    }
+
+    /**
+     * 每次调用都通过getDeclaredFields读取属性
+     */
+    private static Map<String, Object> legacyBeanToMap(Object bean, Class<?> beanClass, boolean filterNullProp)
+            throws IllegalAccessException {
+        Field[] fields = beanClass.getDeclaredFields();
+        if (fields.length == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> map = new HashMap<>(fields.length);
+        for (Field field : fields) {
+            field.setAccessible(true);
+            String name = field.getName();
+            Object value = field.get(bean);
+            if (value == null && filterNullProp) {
+                continue;
+            }
+            map.put(name, value);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,86 @@
+package redcoder.quartzextendbenchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.scheduling.quartz.SpringBeanJobFactory;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+import redcoder.quartzextendcore.core.IncrementalSchedulerFactoryBean;
+import redcoder.quartzextendcore.core.QuartzJobBeanPostProcessor;
+import redcoder.quartzextendcore.core.QuartzJobDefinitions;
+import redcoder.quartzextendcore.core.QuartzJobSchedulerFactoryBeanCustomizer;
+import redcoder.quartzextendcore.scheduler.JobBulkheadProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 应用启动时，为{@link QuartzJob}注解的job创建JobDetail和Trigger并设置到SchedulerFactoryBean的基准测试：
+ * {@link QuartzJobBeanPostProcessor}通过反射处理普通的SchedulerFactoryBean，
+ * {@link QuartzJobSchedulerFactoryBeanCustomizer}不使用反射处理{@link IncrementalSchedulerFactoryBean}
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuartzJobBeanPostProcessorBenchmark {
+
+    @Param({"100", "1000"})
+    private int jobCount;
+
+    private GenericApplicationContext applicationContext;
+    private QuartzJobBeanPostProcessor processor;
+
+    @Setup
+    public void setup() {
+        applicationContext = new GenericApplicationContext();
+        applicationContext.registerBean(SpringBeanJobFactory.class);
+        for (int i = 0; i < jobCount; i++) {
+            GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
+            beanDefinition.setBeanClass(BenchmarkJob.class);
+            beanDefinition.setLazyInit(true);
+            applicationContext.registerBeanDefinition("benchmarkJob" + i, beanDefinition);
+        }
+        applicationContext.refresh();
+
+        processor = new QuartzJobBeanPostProcessor();
+        processor.setApplicationContext(applicationContext);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Object postProcessSchedulerFactoryBean() {
+        return processor.postProcessBeforeInitialization(new SchedulerFactoryBean(), "schedulerFactoryBean");
+    }
+
+    @Benchmark
+    public Object customizeSchedulerFactoryBean() {
+        QuartzJobSchedulerFactoryBeanCustomizer customizer = new QuartzJobSchedulerFactoryBeanCustomizer(
+                new QuartzJobDefinitions(applicationContext), applicationContext.getBean(SpringBeanJobFactory.class),
+                new JobBulkheadProperties());
+        IncrementalSchedulerFactoryBean schedulerFactoryBean = new IncrementalSchedulerFactoryBean();
+        customizer.customize(schedulerFactoryBean);
+        return schedulerFactoryBean;
+    }
+
+    @QuartzJob(jobDescription = "benchmark job")
+    @QuartzTrigger(cron = "0 0/5 * * * ?", triggerDescription = "benchmark job's trigger")
+    public static class BenchmarkJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package redcoder.quartzextendbenchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.*;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import redcoder.quartzextendcore.core.dto.QuartzApiResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
+import redcoder.quartzextendcore.scheduler.JdbcJobTriggerInfoReader;
+import redcoder.quartzextendcore.scheduler.QuartzController;
+import redcoder.quartzextendcore.scheduler.QuartzJobSchedulerProperties;
+import redcoder.quartzextendcore.scheduler.QuartzService;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读取scheduler中全部job和trigger信息（接口/quartz/job-trigger-info/list）的基准测试。
+ * <ul>
+ *     <li>RAM: RAMJobStore，逐个trigger查询</li>
+ *     <li>JDBC: H2 JDBC JobStore，通过{@link JdbcJobTriggerInfoReader}一次查询</li>
+ *     <li>JDBC_PER_TRIGGER: H2 JDBC JobStore，逐个trigger查询</li>
+ * </ul>
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuartzServiceBenchmark {
+
+    @Param({"RAM", "JDBC", "JDBC_PER_TRIGGER"})
+    private String store;
+
+    @Param({"100", "1000", "10000"})
+    private int triggerCount;
+
+    private SchedulerFactoryBean schedulerFactoryBean;
+    private HikariDataSource dataSource;
+    private QuartzController quartzController;
+
+    @Setup
+    public void setup() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", BenchmarkData.SCHED_NAME);
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+
+        schedulerFactoryBean = new SchedulerFactoryBean();
+        schedulerFactoryBean.setAutoStartup(false);
+        JdbcJobTriggerInfoReader reader = null;
+        if (!"RAM".equals(store)) {
+            dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            new ResourceDatabasePopulator(new ClassPathResource("org/quartz/impl/jdbcjobstore/tables_h2.sql"))
+                    .execute(dataSource);
+            schedulerFactoryBean.setDataSource(dataSource);
+            if ("JDBC".equals(store)) {
+                reader = new JdbcJobTriggerInfoReader(dataSource, JdbcJobTriggerInfoReader.DEFAULT_TABLE_PREFIX);
+            }
+        }
+        schedulerFactoryBean.setQuartzProperties(properties);
+        schedulerFactoryBean.afterPropertiesSet();
+
+        Scheduler scheduler = schedulerFactoryBean.getScheduler();
+        Map<JobDetail, Set<? extends Trigger>> jobs = new HashMap<>();
+        for (int i = 0; i < triggerCount; i++) {
+            JobDetail jobDetail = JobBuilder.newJob(NoopJob.class)
+                    .withIdentity("BenchmarkJob" + i)
+                    .withDescription("benchmark job " + i)
+                    .build();
+            Trigger trigger = TriggerBuilder.newTrigger()
+                    .withIdentity("BenchmarkJob" + i + "Trigger")
+                    .withDescription("BenchmarkJob" + i + "'s trigger")
+                    .withSchedule(CronScheduleBuilder.cronSchedule("0 0/5 * * * ?"))
+                    .build();
+            jobs.put(jobDetail, Collections.singleton(trigger));
+        }
+        scheduler.scheduleJobs(jobs, true);
+
+        QuartzService quartzService = new QuartzService(scheduler, new StandardEnvironment(),
+                new QuartzJobSchedulerProperties(), reader);
+        quartzController = new QuartzController(quartzService);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        schedulerFactoryBean.destroy();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    public QuartzApiResult<List<QuartzJobTriggerInfo>> getQuartzJobTriggerInfoList() {
+        return quartzController.getQuartzJobTriggerInfoList();
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
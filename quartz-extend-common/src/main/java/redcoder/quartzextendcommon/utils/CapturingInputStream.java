@@ -0,0 +1,105 @@
+package redcoder.quartzextendcommon.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * 在读取的同时，保留输入流开头最多{@link #limit}个字节，用于输出日志，不会缓存整个输入流
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+class CapturingInputStream extends FilterInputStream {
+
+    /**
+     * 默认保留的字节数，2KB
+     */
+    static final int DEFAULT_LIMIT = 2048;
+
+    private final int limit;
+    private final byte[] captured;
+    private int capturedLength;
+    private long total;
+
+    CapturingInputStream(InputStream in) {
+        this(in, DEFAULT_LIMIT);
+    }
+
+    CapturingInputStream(InputStream in, int limit) {
+        super(in);
+        this.limit = limit;
+        this.captured = new byte[limit];
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            if (capturedLength < limit) {
+                captured[capturedLength++] = (byte) b;
+            }
+            total++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            int copy = Math.min(n, limit - capturedLength);
+            if (copy > 0) {
+                System.arraycopy(b, off, captured, capturedLength, copy);
+                capturedLength += copy;
+            }
+            total += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // 跳过的内容无法保留，按读取处理
+        byte[] buffer = new byte[(int) Math.min(n, 4096)];
+        long skipped = 0;
+        while (skipped < n) {
+            int r = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (r < 0) {
+                break;
+            }
+            skipped += r;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * 返回已保留的内容，超出部分用省略号表示
+     *
+     * @param charset 字符集
+     */
+    String getCaptured(Charset charset) {
+        String content = new String(Arrays.copyOf(captured, capturedLength), charset);
+        if (total > capturedLength) {
+            return content + "...(仅输出前" + capturedLength + "字节)";
+        }
+        return content;
+    }
+
+    /**
+     * 截取字符串开头最多{@link #DEFAULT_LIMIT}个字符，用于输出日志
+     */
+    static String truncate(String content) {
+        if (content.length() <= DEFAULT_LIMIT) {
+            return content;
+        }
+        return content.substring(0, DEFAULT_LIMIT) + "...(仅输出前" + DEFAULT_LIMIT + "个字符)";
+    }
+}
@@ -0,0 +1,145 @@
+package redcoder.quartzextendcommon.utils;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import redcoder.quartzextendcommon.exception.HttpExecutionFailException;
+import redcoder.quartzextendcommon.exception.WrappedIOException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步http工具类，支持http get和post请求。
+ * <p>
+ * 基于非阻塞的HttpAsyncClient，请求过程中不占用调用方线程，少量I/O线程即可同时处理大量请求。
+ * 调用{@link CompletableFuture#cancel(boolean)}会中止对应的http请求，并释放连接。
+ * <p>
+ * 与{@link HttpUtils}不同，RequestConfig通过参数显式传入，不使用与线程绑定的配置。
+ * 静态方法使用按{@link HttpClientProfile}默认配置创建的{@link PooledHttpAsyncClient}，
+ * 需要独立的连接池和超时配置时，直接创建{@link PooledHttpAsyncClient}。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class HttpAsyncUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpAsyncUtils.class);
+
+    /**
+     * 默认的异步http客户端，使用{@link HttpClientProfile}的默认配置，第一次发送请求时才启动I/O线程
+     */
+    private static final PooledHttpAsyncClient DEFAULT_CLIENT = new PooledHttpAsyncClient("default", new HttpClientProfile());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                DEFAULT_CLIENT.close();
+            } catch (IOException e) {
+                log.warn("关闭HttpAsyncClient异常", e);
+            }
+        }, "HttpAsyncClient-Shutdown"));
+    }
+
+    private HttpAsyncUtils() {
+    }
+
+    /**
+     * 获取静态方法所使用的默认异步http客户端
+     */
+    public static PooledHttpAsyncClient getDefaultClient() {
+        return DEFAULT_CLIENT;
+    }
+
+    public static CloseableHttpAsyncClient getHttpAsyncClient() {
+        return DEFAULT_CLIENT.getHttpAsyncClient();
+    }
+
+    public static PoolingNHttpClientConnectionManager getConnectionManager() {
+        return DEFAULT_CLIENT.getConnectionManager();
+    }
+
+    /**
+     * 异步get请求
+     *
+     * @param url           请求地址
+     * @param queryParams   请求参数
+     * @param headers       header头信息
+     * @param requestConfig http配置信息，为null时使用默认配置
+     * @return 响应体内容。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     */
+    public static CompletableFuture<String> doGet(String url,
+                                                  @Nullable Map<String, String> queryParams,
+                                                  @Nullable Map<String, String> headers,
+                                                  @Nullable RequestConfig requestConfig) {
+        return doGet(url, queryParams, headers, requestConfig, HttpBodyReader.STRING);
+    }
+
+    /**
+     * 异步get请求，通过{@link HttpBodyReader}从响应流中读取响应体
+     *
+     * @param url           请求地址
+     * @param queryParams   请求参数
+     * @param headers       header头信息
+     * @param requestConfig http配置信息，为null时使用默认配置
+     * @param bodyReader    响应体读取方式
+     * @return 读取到的响应体。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     */
+    public static <T> CompletableFuture<T> doGet(String url,
+                                                 @Nullable Map<String, String> queryParams,
+                                                 @Nullable Map<String, String> headers,
+                                                 @Nullable RequestConfig requestConfig,
+                                                 HttpBodyReader<T> bodyReader) {
+        return DEFAULT_CLIENT.doGet(url, queryParams, headers, requestConfig, bodyReader);
+    }
+
+    /**
+     * 异步post请求
+     *
+     * @param url           请求地址
+     * @param contentType   Content-Type
+     * @param headers       header信息
+     * @param formParams    请求参数
+     * @param requestBody   请求体
+     * @param requestConfig http配置信息，为null时使用默认配置
+     * @return 响应体内容。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     */
+    public static CompletableFuture<String> doPost(String url,
+                                                   String contentType,
+                                                   @Nullable Map<String, String> headers,
+                                                   @Nullable Map<String, String> formParams,
+                                                   @Nullable String requestBody,
+                                                   @Nullable RequestConfig requestConfig) {
+        return doPost(url, contentType, headers, formParams, requestBody, requestConfig, HttpBodyReader.STRING);
+    }
+
+    /**
+     * 异步post请求，通过{@link HttpBodyReader}从响应流中读取响应体
+     *
+     * @param url           请求地址
+     * @param contentType   Content-Type
+     * @param headers       header信息
+     * @param formParams    请求参数
+     * @param requestBody   请求体
+     * @param requestConfig http配置信息，为null时使用默认配置
+     * @param bodyReader    响应体读取方式
+     * @return 读取到的响应体。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     */
+    public static <T> CompletableFuture<T> doPost(String url,
+                                                  String contentType,
+                                                  @Nullable Map<String, String> headers,
+                                                  @Nullable Map<String, String> formParams,
+                                                  @Nullable String requestBody,
+                                                  @Nullable RequestConfig requestConfig,
+                                                  HttpBodyReader<T> bodyReader) {
+        return DEFAULT_CLIENT.doPost(url, contentType, headers, formParams, requestBody, requestConfig, bodyReader);
+    }
+}
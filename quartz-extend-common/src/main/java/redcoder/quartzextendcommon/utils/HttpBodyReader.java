@@ -0,0 +1,44 @@
+package redcoder.quartzextendcommon.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 读取http响应体，直接从响应流中解析数据，避免先将整个响应体转换成字符串
+ *
+ * @param <T> 解析后的数据类型
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface HttpBodyReader<T> {
+
+    /**
+     * 将响应体读取为字符串
+     */
+    HttpBodyReader<String> STRING = StreamUtils::copyToString;
+
+    /**
+     * 直接从响应流中解析json数据，不将响应体转换成字符串
+     *
+     * @param typeReference 目标类型
+     * @param <T>           目标类型
+     */
+    static <T> HttpBodyReader<T> json(TypeReference<T> typeReference) {
+        return (body, charset) -> JsonUtils.inputStreamToBean(body, typeReference);
+    }
+
+    /**
+     * 读取响应体
+     *
+     * @param body    响应体输入流，由调用方负责关闭
+     * @param charset 响应体的字符集
+     * @return 解析后的数据
+     * @throws IOException 读取响应体失败
+     */
+    T read(InputStream body, Charset charset) throws IOException;
+}
@@ -0,0 +1,119 @@
+package redcoder.quartzextendcommon.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * http客户端配置：连接池大小、超时时间、空闲连接回收。默认值与{@link HttpUtils}原有的配置保持一致。
+ *
+ * @author redcoder54
+ * @see PooledHttpClient
+ * @since 1.1.0
+ */
+public class HttpClientProfile {
+
+    /**
+     * 最大连接数，default value: 1000
+     */
+    private int maxTotal = 1000;
+
+    /**
+     * 单个路由默认的最大连接数，default value: 200
+     */
+    private int defaultMaxPerRoute = 200;
+
+    /**
+     * 指定路由的最大连接数，key: 路由地址（http://host:port），value: 最大连接数
+     */
+    private Map<String, Integer> maxPerRoute = new LinkedHashMap<>();
+
+    /**
+     * 连接超时时间，default value: 60s
+     */
+    private Duration connectTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 读取响应数据超时时间，default value: 60s
+     */
+    private Duration socketTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 从连接池中获取连接得超时时间，default value: 5s
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 服务端未指定Keep-Alive时，连接的存活时间，default value: 60s
+     */
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    /**
+     * 空闲连接的最长保留时间，后台线程定期关闭空闲超过该时间的连接，default value: 30s
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+    }
+
+    public int getDefaultMaxPerRoute() {
+        return defaultMaxPerRoute;
+    }
+
+    public void setDefaultMaxPerRoute(int defaultMaxPerRoute) {
+        this.defaultMaxPerRoute = defaultMaxPerRoute;
+    }
+
+    public Map<String, Integer> getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public void setMaxPerRoute(Map<String, Integer> maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(Duration socketTimeout) {
+        this.socketTimeout = socketTimeout;
+    }
+
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(Duration keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime(Duration maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+}
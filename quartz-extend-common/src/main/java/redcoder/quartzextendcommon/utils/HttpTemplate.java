@@ -7,9 +7,10 @@ import redcoder.quartzextendcommon.exception.WrappedIOException;
 import org.springframework.lang.Nullable;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * http工具类，支持http get和post请求
+ * http工具类，支持http get和post请求，同时提供基于{@link HttpAsyncUtils}的异步请求方法
  *
  * @since 1.0.0
  */
@@ -78,8 +79,7 @@ public class HttpTemplate {
                               @Nullable Map<String, String> queryParams,
                               @Nullable Map<String, String> headers,
                               TypeReference<T> typeReference) {
-        String response = HttpUtils.doGet(url, queryParams, headers);
-        return JsonUtils.jsonStringToBean(response, typeReference);
+        return HttpUtils.doGet(url, queryParams, headers, HttpBodyReader.json(typeReference));
     }
 
     /**
@@ -188,8 +188,7 @@ public class HttpTemplate {
                                @Nullable Map<String, String> formParams,
                                @Nullable String requestBody,
                                TypeReference<T> typeReference) {
-        String response = HttpUtils.doPost(url, contentType, headers, formParams, requestBody);
-        return JsonUtils.jsonStringToBean(response, typeReference);
+        return HttpUtils.doPost(url, contentType, headers, formParams, requestBody, HttpBodyReader.json(typeReference));
     }
 
     /**
@@ -205,8 +204,80 @@ public class HttpTemplate {
                                       Map<String, Object> formParams,
                                       @Nullable Map<String, String> headers,
                                       TypeReference<T> typeReference) {
-        String response = HttpUtils.transferFiles(url, formParams, headers);
-        return JsonUtils.jsonStringToBean(response, typeReference);
+        return HttpUtils.transferFiles(url, formParams, headers, HttpBodyReader.json(typeReference));
+    }
+
+    /**
+     * 异步get请求，不占用调用方线程，参见{@link HttpAsyncUtils}
+     *
+     * @param url         请求地址
+     * @param queryParams 请求参数
+     * @param <T>         返回类型
+     * @return 响应体内容
+     * @since 1.1.0
+     */
+    public static <T> CompletableFuture<T> doGetAsync(String url,
+                                                      @Nullable Map<String, String> queryParams,
+                                                      TypeReference<T> typeReference) {
+        return doGetAsync(url, queryParams, null, null, typeReference);
+    }
+
+    /**
+     * 异步get请求，不占用调用方线程，参见{@link HttpAsyncUtils}
+     *
+     * @param url           请求地址
+     * @param queryParams   请求参数
+     * @param headers       header头信息
+     * @param requestConfig http配置信息，为null时使用默认配置
+     * @param <T>           返回类型
+     * @return 响应体内容。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     * @since 1.1.0
+     */
+    public static <T> CompletableFuture<T> doGetAsync(String url,
+                                                      @Nullable Map<String, String> queryParams,
+                                                      @Nullable Map<String, String> headers,
+                                                      @Nullable RequestConfig requestConfig,
+                                                      TypeReference<T> typeReference) {
+        return HttpAsyncUtils.doGet(url, queryParams, headers, requestConfig, HttpBodyReader.json(typeReference));
+    }
+
+    /**
+     * 异步post请求，Content-Type：application/json，不占用调用方线程，参见{@link HttpAsyncUtils}
+     *
+     * @param url         请求地址
+     * @param requestBody 请求体
+     * @param <T>         返回类型
+     * @return 响应体内容
+     * @since 1.1.0
+     */
+    public static <T> CompletableFuture<T> doPostAsync(String url, String requestBody, TypeReference<T> typeReference) {
+        return doPostAsync(url, "application/json", null, null, requestBody, null, typeReference);
+    }
+
+    /**
+     * 异步post请求，不占用调用方线程，参见{@link HttpAsyncUtils}
+     *
+     * @param url           请求地址
+     * @param contentType   Content-Type
+     * @param headers       header信息
+     * @param formParams    请求参数
+     * @param requestBody   请求体
+     * @param requestConfig http配置信息，为null时使用默认配置
+     * @param <T>           返回类型
+     * @return 响应体内容。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     * @since 1.1.0
+     */
+    public static <T> CompletableFuture<T> doPostAsync(String url,
+                                                       String contentType,
+                                                       @Nullable Map<String, String> headers,
+                                                       @Nullable Map<String, String> formParams,
+                                                       @Nullable String requestBody,
+                                                       @Nullable RequestConfig requestConfig,
+                                                       TypeReference<T> typeReference) {
+        return HttpAsyncUtils.doPost(url, contentType, headers, formParams, requestBody, requestConfig,
+                HttpBodyReader.json(typeReference));
     }
 
     /**
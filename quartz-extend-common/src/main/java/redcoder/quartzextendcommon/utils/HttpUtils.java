@@ -1,42 +1,24 @@
 package redcoder.quartzextendcommon.utils;
 
-import org.apache.http.Consts;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.entity.UrlEncodedFormEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.DefaultClientConnectionReuseStrategy;
-import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
-import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 import redcoder.quartzextendcommon.exception.HttpExecutionFailException;
 import redcoder.quartzextendcommon.exception.WrappedIOException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 import org.springframework.lang.Nullable;
-import org.springframework.util.StringUtils;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.Charset;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * http工具类，支持http get和post请求
@@ -45,25 +27,10 @@ import java.util.Optional;
  */
 public class HttpUtils {
 
-    private static final Logger log = LoggerFactory.getLogger(HttpUtils.class);
-
-    private static final CloseableHttpClient httpClient;
-    private static final PoolingHttpClientConnectionManager connectionManager;
-
     /**
-     * 连接超时时间，60s
+     * 默认的http客户端，使用{@link HttpClientProfile}的默认配置：连接和读取超时60s，最大连接数1000，单个路由最大连接数200
      */
-    private static final int CONNECTION_TIMEOUT = 1000 * 60;
-
-    /**
-     * 读取响应数据超时时间，60s
-     */
-    private static final int SOCKET_TIMEOUT = 1000 * 60;
-
-    /**
-     * 从连接池中获取连接得超时时间
-     */
-    private static final int CONNECTION_REQUEST_TIMEOUT = 1000 * 5;
+    private static final PooledHttpClient DEFAULT_CLIENT = new PooledHttpClient("default", new HttpClientProfile());
 
     /**
      * 保存RequestConfig，发送http请求前使用，请求完成后（包括异常完成），清除RequestConfig
@@ -76,37 +43,24 @@ public class HttpUtils {
      */
     private static final ThreadLocal<Boolean> DISABLE_ERROR_LOG_MARK = ThreadLocal.withInitial(() -> false);
 
-    static {
-        // 配置连接管理器
-        connectionManager = new PoolingHttpClientConnectionManager();
-        connectionManager.setMaxTotal(1000);//设置最大连接数
-        connectionManager.setDefaultMaxPerRoute(200);//设置单个路由最大的连接数
-
-        httpClient = HttpClients.custom()
-                .setConnectionManager(connectionManager) // 连接管理器
-                .setDefaultRequestConfig(buildRequestConfig(CONNECTION_TIMEOUT, SOCKET_TIMEOUT, CONNECTION_REQUEST_TIMEOUT)) // 超时配置
-                .setConnectionReuseStrategy(DefaultClientConnectionReuseStrategy.INSTANCE) // 使用默认的连接重用策略
-                .setKeepAliveStrategy((response, context) -> {  // 设置空闲连接存活时间策略
-                    DefaultConnectionKeepAliveStrategy instance = DefaultConnectionKeepAliveStrategy.INSTANCE;
-                    long duration = instance.getKeepAliveDuration(response, context);
-                    if (duration <= 0) {
-                        // 默认策略返回的值小于0，将时间设置为60s，避免空闲连接无限期存活
-                        return 60 * 1000;
-                    }
-                    return duration;
-                })
-                .build();
+    private HttpUtils() {
     }
 
-    private HttpUtils() {
+    /**
+     * 获取静态方法所使用的默认http客户端
+     *
+     * @since 1.1.0
+     */
+    public static PooledHttpClient getDefaultClient() {
+        return DEFAULT_CLIENT;
     }
 
     public static CloseableHttpClient getHttpClient() {
-        return httpClient;
+        return DEFAULT_CLIENT.getHttpClient();
     }
 
     public static PoolingHttpClientConnectionManager getConnectionManager() {
-        return connectionManager;
+        return DEFAULT_CLIENT.getConnectionManager();
     }
 
     /**
@@ -165,37 +119,32 @@ public class HttpUtils {
     public static String doGet(String url,
                                @Nullable Map<String, String> queryParams,
                                @Nullable Map<String, String> headers) {
-        LogContext logContext = LogContext.createInstance(true, Level.INFO);
-        try {
-            logContext.append("http get请求，", url);
-            Optional.ofNullable(queryParams).ifPresent(map -> logContext.append("queryParams: ", queryParams));
-            Optional.ofNullable(headers).ifPresent(map -> logContext.append("headers: ", headers));
-
-            // http httpGet
-            HttpGet httpGet;
-            try {
-                URIBuilder uriBuilder = new URIBuilder(url);
-                // 设置参数
-                if (queryParams != null && !queryParams.isEmpty()) {
-                    queryParams.forEach(uriBuilder::setParameter);
-                }
-                // 创建httpGet
-                httpGet = new HttpGet(uriBuilder.build());
-            } catch (URISyntaxException e) {
-                log.error("无效的uri, " + url, e);
-                logContext.append(Level.ERROR, "error: 无效的uri, " + url);
-                throw new IllegalArgumentException("无效的uri, " + url);
-            }
-            // 添加header
-            if (headers != null && !headers.isEmpty()) {
-                headers.forEach(httpGet::setHeader);
-            }
-            // set RequestConfig
-            Optional.ofNullable(getRequestConfig()).ifPresent(httpGet::setConfig);
+        return doGet(url, queryParams, headers, HttpBodyReader.STRING);
+    }
 
-            return executeHttpRequest(httpGet, logContext);
+    /**
+     * get请求，通过{@link HttpBodyReader}直接从响应流中读取响应体，日志中只输出响应体的开头部分
+     * <p>
+     * 如果需要修改http RequestConfig, 可通过{@link HttpUtils#setRequestConfig(RequestConfig)}方法，添加配置，
+     * 在执行http请求前，会自动应用该配置，并在请求结束后，移除该配置，不影响后续的请求。
+     *
+     * @param url         请求地址
+     * @param queryParams 请求参数
+     * @param headers     header头信息
+     * @param bodyReader  响应体读取方式
+     * @param <T>         返回类型
+     * @return 读取到的响应体
+     * @throws HttpExecutionFailException http请求执行失败，http status != 200
+     * @throws WrappedIOException         封装的io异常，将checked io exception转换为 unchecked exception
+     * @since 1.1.0
+     */
+    public static <T> T doGet(String url,
+                              @Nullable Map<String, String> queryParams,
+                              @Nullable Map<String, String> headers,
+                              HttpBodyReader<T> bodyReader) {
+        try {
+            return DEFAULT_CLIENT.doGet(url, queryParams, headers, getRequestConfig(), bodyReader);
         } finally {
-            logContext.print(false);
             removeRequestConfig();
             DISABLE_ERROR_LOG_MARK.remove();
         }
@@ -302,40 +251,36 @@ public class HttpUtils {
                                 @Nullable Map<String, String> headers,
                                 @Nullable Map<String, String> formParams,
                                 @Nullable String requestBody) {
-        LogContext logContext = LogContext.createInstance(true, Level.INFO);
-        try {
-            logContext.append("http post请求，", url);
-            logContext.append("Content-Type: ", contentType);
-            Optional.ofNullable(headers).ifPresent(map -> logContext.append("headers: ", headers));
-            Optional.ofNullable(formParams).ifPresent(map -> logContext.append("formParams: ", formParams));
-            Optional.ofNullable(requestBody).ifPresent(str -> logContext.append("请求体: ", requestBody));
-
-            // http httpPost
-            HttpPost httpPost = new HttpPost(url);
-            // 添加header
-            if (headers != null && !headers.isEmpty()) {
-                headers.forEach(httpPost::setHeader);
-            }
-            if (!httpPost.containsHeader("Content-Type")) {
-                httpPost.addHeader("Content-Type", contentType);
-            }
-            // 设置form表单类型参数
-            if (formParams != null && !formParams.isEmpty()) {
-                List<BasicNameValuePair> pairs = new ArrayList<>();
-                formParams.forEach((k, v) -> pairs.add(new BasicNameValuePair(k, v)));
-                httpPost.setEntity(new UrlEncodedFormEntity(pairs, StandardCharsets.UTF_8));
-            }
-            // 设置application/json类型的body参数
-            if (StringUtils.hasText(requestBody)) {
-                StringEntity entity = new StringEntity(requestBody, "UTF-8");
-                httpPost.setEntity(entity);
-            }
-            // set RequestConfig
-            Optional.ofNullable(getRequestConfig()).ifPresent(httpPost::setConfig);
+        return doPost(url, contentType, headers, formParams, requestBody, HttpBodyReader.STRING);
+    }
 
-            return executeHttpRequest(httpPost, logContext);
+    /**
+     * post请求，通过{@link HttpBodyReader}直接从响应流中读取响应体，日志中只输出响应体的开头部分
+     * <p>
+     * 如果需要修改http RequestConfig, 可通过{@link HttpUtils#setRequestConfig(RequestConfig)}方法，添加配置，
+     * 在执行http请求前，会自动应用该配置，并在请求结束后，移除该配置，不影响后续的请求。
+     *
+     * @param url         请求地址
+     * @param contentType Content-Type
+     * @param headers     header信息
+     * @param formParams  请求参数
+     * @param requestBody 请求体
+     * @param bodyReader  响应体读取方式
+     * @param <T>         返回类型
+     * @return 读取到的响应体
+     * @throws HttpExecutionFailException http请求执行失败，http status != 200
+     * @throws WrappedIOException         封装的io异常，将checked io exception转换为 unchecked exception
+     * @since 1.1.0
+     */
+    public static <T> T doPost(String url,
+                               String contentType,
+                               @Nullable Map<String, String> headers,
+                               @Nullable Map<String, String> formParams,
+                               @Nullable String requestBody,
+                               HttpBodyReader<T> bodyReader) {
+        try {
+            return DEFAULT_CLIENT.doPost(url, contentType, headers, formParams, requestBody, getRequestConfig(), bodyReader);
         } finally {
-            logContext.print(false);
             removeRequestConfig();
             DISABLE_ERROR_LOG_MARK.remove();
         }
@@ -353,74 +298,78 @@ public class HttpUtils {
     public static String transferFiles(String url,
                                        Map<String, Object> formParams,
                                        @Nullable Map<String, String> headers) {
-        LogContext logContext = LogContext.createInstance();
-        logContext.append("transferFiles, url: ", url);
-        try {
-            Optional.ofNullable(headers).ifPresent(map -> logContext.append("headers: ", headers));
-            Optional.ofNullable(formParams).ifPresent(map -> logContext.append("formParams: ", formParams));
-
-            HttpPost post = new HttpPost(url);
-            // build MultipartEntity
-            MultipartEntityBuilder entityBuilder = MultipartEntityBuilder.create()
-                    .setCharset(StandardCharsets.UTF_8)
-                    .setLaxMode();
-            Optional.ofNullable(formParams).ifPresent(map -> map.forEach((k, v) -> {
-                if (v instanceof String) {
-                    entityBuilder.addTextBody(k, (String) v, ContentType.create("text/plain", Consts.UTF_8));
-                }
-                if (v instanceof File) {
-                    File file = (File) v;
-                    entityBuilder.addBinaryBody(k, file, ContentType.create("application/octet-stream", Consts.UTF_8), file.getName());
-                }
-                if (v instanceof byte[]) {
-                    entityBuilder.addBinaryBody(k, (byte[]) v, ContentType.create("application/octet-stream", Consts.UTF_8), k);
-                }
-                if (v instanceof InputStream) {
-                    entityBuilder.addBinaryBody(k, (InputStream) v, ContentType.create("application/octet-stream", Consts.UTF_8), k);
-                }
-            }));
-            // add headers
-            Optional.ofNullable(headers).ifPresent(map -> map.forEach(post::addHeader));
-            // set entity
-            post.setEntity(entityBuilder.build());
+        return transferFiles(url, formParams, headers, HttpBodyReader.STRING);
+    }
 
-            return executeHttpRequest(post, logContext);
+    /**
+     * 传输文件，通过{@link HttpBodyReader}直接从响应流中读取响应体
+     *
+     * @param url        url
+     * @param formParams 表单参数，参见{@link #transferFiles(String, Map, Map)}
+     * @param headers    header，可选参数
+     * @param bodyReader 响应体读取方式
+     * @return 读取到的响应体
+     * @since 1.1.0
+     */
+    public static <T> T transferFiles(String url,
+                                      Map<String, Object> formParams,
+                                      @Nullable Map<String, String> headers,
+                                      HttpBodyReader<T> bodyReader) {
+        try {
+            return DEFAULT_CLIENT.transferFiles(url, formParams, headers, getRequestConfig(), bodyReader);
         } finally {
-            logContext.print(false);
             removeRequestConfig();
             DISABLE_ERROR_LOG_MARK.remove();
         }
     }
 
-    private static String executeHttpRequest(HttpUriRequest request, LogContext logContext) {
-        CloseableHttpResponse response = null;
-        try {
-            long start = System.currentTimeMillis();
-            response = httpClient.execute(request);
-            long end = System.currentTimeMillis();
-            logContext.append("http请求耗时：", (end - start), "ms");
-
-            StatusLine statusLine = response.getStatusLine();
-            String entity = EntityUtils.toString(response.getEntity());
-            if (HttpStatus.SC_OK == statusLine.getStatusCode()) {
-                logContext.append("请求成功，响应内容：", entity);
-                return entity;
+    /**
+     * 读取响应体。http status == 200时，由bodyReader直接从响应流中读取；否则将响应体读取为字符串，抛出异常。
+     * 日志中只输出响应体开头的{@link CapturingInputStream#DEFAULT_LIMIT}个字节。
+     *
+     * @throws HttpExecutionFailException http请求执行失败，http status != 200
+     * @throws IOException                读取响应体失败
+     */
+    static <T> T readResponse(HttpResponse response, LogContext logContext, HttpBodyReader<T> bodyReader) throws IOException {
+        StatusLine statusLine = response.getStatusLine();
+        HttpEntity entity = response.getEntity();
+        Charset charset = getCharset(entity);
+        if (HttpStatus.SC_OK == statusLine.getStatusCode()) {
+            if (entity == null) {
+                logContext.append("请求成功，响应内容为空");
+                return bodyReader.read(new ByteArrayInputStream(new byte[0]), charset);
             }
-            logContext.append(Level.WARN, "请求失败，http status code: ", statusLine.getStatusCode(), "，响应内容：", entity);
-            throw new HttpExecutionFailException(String.format("http执行失败，http status code：%s, 响应内容：%s",
-                    statusLine.getStatusCode(), entity));
-        } catch (IOException e) {
-            if (DISABLE_ERROR_LOG_MARK.get()) {
-                log.warn("http request exception", e);
-                logContext.append(Level.WARN, "http请求异常：", e.getMessage());
-            } else {
-                log.error("http request exception", e);
-                logContext.append(Level.ERROR, "http请求异常：", e.getMessage());
+            try (CapturingInputStream body = new CapturingInputStream(entity.getContent())) {
+                try {
+                    return bodyReader.read(body, charset);
+                } finally {
+                    logContext.append("请求成功，响应内容：", body.getCaptured(charset));
+                }
+            }
+        }
+        String content = entity == null ? "" : EntityUtils.toString(entity, charset);
+        logContext.append(Level.WARN, "请求失败，http status code: ", statusLine.getStatusCode(), "，响应内容：",
+                CapturingInputStream.truncate(content));
+        throw new HttpExecutionFailException(String.format("http执行失败，http status code：%s, 响应内容：%s",
+                statusLine.getStatusCode(), content));
+    }
+
+    /**
+     * 获取响应体的字符集，与{@link EntityUtils#toString(HttpEntity)}的规则保持一致
+     */
+    private static Charset getCharset(@Nullable HttpEntity entity) {
+        Charset charset = null;
+        if (entity != null) {
+            ContentType contentType = ContentType.get(entity);
+            if (contentType != null) {
+                charset = contentType.getCharset();
+                if (charset == null) {
+                    ContentType defaultContentType = ContentType.getByMimeType(contentType.getMimeType());
+                    charset = defaultContentType != null ? defaultContentType.getCharset() : null;
+                }
             }
-            throw new WrappedIOException("http请求异常, " + e.getMessage(), e);
-        } finally {
-            Optional.ofNullable(response).ifPresent(HttpUtils::releaseConn);
         }
+        return charset != null ? charset : HTTP.DEF_CONTENT_CHARSET;
     }
 
     /**
@@ -441,19 +390,6 @@ public class HttpUtils {
                 .build();
     }
 
-    /**
-     * 释放http connection
-     *
-     * @param response CloseableHttpResponse
-     */
-    private static void releaseConn(CloseableHttpResponse response) {
-        try {
-            EntityUtils.consume(response.getEntity());
-        } catch (IOException e) {
-            log.error("关闭io流异常", e);
-        }
-    }
-
     /**
      * 设置RequestConfig，与当前线程绑定
      *
@@ -489,4 +425,11 @@ public class HttpUtils {
     public static void disableHttpRequestFailErrorLog() {
         DISABLE_ERROR_LOG_MARK.set(true);
     }
+
+    /**
+     * 当前线程是否禁用了error日志
+     */
+    static boolean isErrorLogDisabled() {
+        return DISABLE_ERROR_LOG_MARK.get();
+    }
 }
@@ -7,10 +7,13 @@ import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import redcoder.quartzextendcommon.exception.JacksonApiException;
+import redcoder.quartzextendcommon.exception.WrappedIOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 /**
@@ -19,6 +22,7 @@ import java.util.Map;
  *     <li>将map转成json字符串</li>
  *     <li>将Java Bean转换成json字符串</li>
  *     <li>将json字符串转换成Bean</li>
+ *     <li>从json输入流中读取Bean</li>
  * </ul>
  *
  * @author redcoder54
@@ -177,6 +181,47 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * 从输入流中读取json数据并转换成Bean，不需要先将输入流读取为字符串
+     *
+     * @param in            json输入流，由调用方负责关闭
+     * @param typeReference {@link TypeReference}
+     * @param <T>           待转换的bean类型
+     * @return 转换后的Bean对象
+     * @throws JacksonApiException json数据格式错误
+     * @throws WrappedIOException  读取输入流失败
+     * @since 1.1.0
+     */
+    public static <T> T inputStreamToBean(InputStream in, TypeReference<T> typeReference) {
+        return inputStreamToBean(in, typeReference, null);
+    }
+
+    /**
+     * 从输入流中读取json数据并转换成Bean，不需要先将输入流读取为字符串
+     *
+     * @param in            json输入流，由调用方负责关闭
+     * @param typeReference {@link TypeReference}
+     * @param optionalJM    用于处理数据转换的JsonMapper，如果为空，使用默认的JsonMapper
+     * @param <T>           待转换的bean类型
+     * @return 转换后的Bean对象
+     * @throws JacksonApiException json数据格式错误
+     * @throws WrappedIOException  读取输入流失败
+     * @since 1.1.0
+     */
+    public static <T> T inputStreamToBean(InputStream in, TypeReference<T> typeReference, @Nullable JsonMapper optionalJM) {
+        try {
+            if (optionalJM == null) {
+                return jsonMapper.readValue(in, typeReference);
+            }
+            return optionalJM.readValue(in, typeReference);
+        } catch (JsonProcessingException e) {
+            log.error("json deserialization exception", e);
+            throw new JacksonApiException("json输入流转换成bean对象失败");
+        } catch (IOException e) {
+            throw new WrappedIOException("读取json输入流失败, " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 开启SerializationFeature
      *
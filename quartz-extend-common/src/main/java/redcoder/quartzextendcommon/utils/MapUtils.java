@@ -4,9 +4,14 @@ import lombok.extern.slf4j.Slf4j;
 import redcoder.quartzextendcommon.exception.BeanToMapException;
 import org.springframework.util.Assert;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -18,6 +23,32 @@ import java.util.Map;
 @Slf4j
 public class MapUtils {
 
+    /**
+     * 类中声明的属性的读取方法，key: bean类型
+     */
+    private static final ClassValue<BeanAccessors> DECLARED_ACCESSORS = new ClassValue<BeanAccessors>() {
+        @Override
+        protected BeanAccessors computeValue(Class<?> type) {
+            return new BeanAccessors(type.getDeclaredFields());
+        }
+    };
+
+    /**
+     * 类及其父类中声明的属性的读取方法，key: bean类型
+     */
+    private static final ClassValue<BeanAccessors> HIERARCHY_ACCESSORS = new ClassValue<BeanAccessors>() {
+        @Override
+        protected BeanAccessors computeValue(Class<?> type) {
+            Map<String, Field> fields = new LinkedHashMap<>();
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    fields.putIfAbsent(field.getName(), field);
+                }
+            }
+            return new BeanAccessors(fields.values().toArray(new Field[0]));
+        }
+    };
+
     private MapUtils() {
     }
 
@@ -77,7 +108,7 @@ public class MapUtils {
 
     /**
      * 将bean转换成Map，key：属性名，value：属性值。
-     * 注意：转换后的Map对象，不会包含bean父类中的属性！
+     * 注意：转换后的Map对象，不会包含bean父类中的属性！需要时使用{@link #beanToMap(Object, Class, boolean, boolean)}
      *
      * @param bean           要转换的bean
      * @param beanClass      bean类型
@@ -86,27 +117,81 @@ public class MapUtils {
      * @throws BeanToMapException bean转map失败
      */
     public static Map<String, Object> beanToMap(Object bean, Class<?> beanClass, boolean filterNullProp) {
+        return beanToMap(bean, beanClass, filterNullProp, false);
+    }
+
+    /**
+     * 将bean转换成Map，key：属性名，value：属性值。
+     * <p>
+     * 每个类的属性和读取属性的MethodHandle只在第一次转换时解析，之后直接使用缓存，不再调用<code>getDeclaredFields</code>
+     * 和<code>setAccessible</code>。
+     *
+     * @param bean              要转换的bean
+     * @param beanClass         bean类型
+     * @param filterNullProp    如果为true，bean中的null值属性不会被处理
+     * @param includeSuperclass 如果为true，同时包含父类中的属性，与子类属性同名时以子类的为准
+     * @return 包含bean属性值的map对象，key：属性名，value：属性值
+     * @throws BeanToMapException bean转map失败
+     * @since 1.1.0
+     */
+    public static Map<String, Object> beanToMap(Object bean, Class<?> beanClass, boolean filterNullProp,
+                                                boolean includeSuperclass) {
         Assert.notNull(bean, "parameter 'bean' must not be null");
 
         try {
-            Field[] fields = beanClass.getDeclaredFields();
-            if (fields.length == 0) {
+            BeanAccessors accessors = includeSuperclass ? HIERARCHY_ACCESSORS.get(beanClass)
+                    : DECLARED_ACCESSORS.get(beanClass);
+            if (accessors.names.length == 0) {
                 return Collections.emptyMap();
             }
-            Map<String, Object> map = new HashMap<>(fields.length);
-            for (Field field : fields) {
-                field.setAccessible(true);
-                String name = field.getName();
-                Object value = field.get(bean);
+            Map<String, Object> map = new HashMap<>(accessors.capacity);
+            for (int i = 0; i < accessors.names.length; i++) {
+                Object value = accessors.getters[i].invokeExact(bean);
                 if (value == null && filterNullProp) {
                     continue;
                 }
-                map.put(name, value);
+                map.put(accessors.names[i], value);
             }
             return map;
-        } catch (Exception e) {
+        } catch (Throwable e) {
             log.error(e.getMessage(), e);
             throw new BeanToMapException(e.getMessage(), e);
         }
     }
+
+    /**
+     * 读取一组属性的MethodHandle，类型均为<code>(Object)Object</code>
+     */
+    private static class BeanAccessors {
+
+        private final String[] names;
+        private final MethodHandle[] getters;
+        /**
+         * 放入所有属性也不需要扩容的HashMap初始容量
+         */
+        private final int capacity;
+
+        BeanAccessors(Field[] fields) {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType getterType = MethodType.methodType(Object.class, Object.class);
+            names = new String[fields.length];
+            getters = new MethodHandle[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                Field field = fields[i];
+                field.setAccessible(true);
+                names[i] = field.getName();
+                try {
+                    MethodHandle getter = lookup.unreflectGetter(field);
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        // 与实例属性保持相同的调用方式，忽略传入的bean
+                        getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                    }
+                    getters[i] = getter.asType(getterType);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }
+            capacity = (int) (fields.length / 0.75f) + 1;
+        }
+    }
 }
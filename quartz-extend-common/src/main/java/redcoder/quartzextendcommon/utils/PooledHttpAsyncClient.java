@@ -0,0 +1,331 @@
+package redcoder.quartzextendcommon.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import redcoder.quartzextendcommon.exception.HttpExecutionFailException;
+import redcoder.quartzextendcommon.exception.WrappedIOException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于连接池的异步http客户端，连接池大小、超时时间等由{@link HttpClientProfile}配置，与{@link PooledHttpClient}相同。
+ * 每个实例拥有独立的连接池和I/O线程，I/O线程在第一次发送请求时才启动，不再使用时需要调用{@link #close()}释放资源。
+ * <p>
+ * 请求过程中不占用调用方线程，少量I/O线程即可同时处理大量请求；调用{@link CompletableFuture#cancel(boolean)}会中止对应的http请求。
+ * 响应体的读取和转换（比如json反序列化）在独立的有界线程池中执行，不占用I/O线程；线程池的队列已满时，在I/O线程中执行。
+ * 空闲连接由I/O线程在服务端关闭连接时感知并释放，{@link HttpClientProfile#getMaxIdleTime()}不生效。
+ * <p>
+ * {@link HttpAsyncUtils}的静态方法使用的是按默认配置创建的实例，参见{@link HttpAsyncUtils#getDefaultClient()}。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class PooledHttpAsyncClient implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledHttpAsyncClient.class);
+
+    private final String name;
+    private final HttpClientProfile profile;
+    private final PoolingNHttpClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient httpAsyncClient;
+    private final ThreadPoolExecutor decodeExecutor;
+
+    /**
+     * @param name    客户端名称，用于日志、线程名称和监控指标
+     * @param profile 客户端配置
+     */
+    public PooledHttpAsyncClient(String name, HttpClientProfile profile) {
+        this.name = name;
+        this.profile = profile;
+
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(Runtime.getRuntime().availableProcessors())
+                .build();
+        try {
+            // 配置连接管理器
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("创建IOReactor失败", e);
+        }
+        connectionManager.setMaxTotal(profile.getMaxTotal());//设置最大连接数
+        connectionManager.setDefaultMaxPerRoute(profile.getDefaultMaxPerRoute());//设置单个路由最大的连接数
+        profile.getMaxPerRoute().forEach((route, max) -> connectionManager.setMaxPerRoute(PooledHttpClient.toHttpRoute(route), max));
+
+        long keepAlive = profile.getKeepAlive().toMillis();
+        httpAsyncClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager) // 连接管理器
+                .setDefaultRequestConfig(HttpUtils.buildRequestConfig((int) profile.getConnectTimeout().toMillis(),
+                        (int) profile.getSocketTimeout().toMillis(),
+                        (int) profile.getConnectionRequestTimeout().toMillis())) // 超时配置
+                .setKeepAliveStrategy((response, context) -> {  // 设置空闲连接存活时间策略
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    if (duration <= 0) {
+                        // 默认策略返回的值小于0，使用配置的存活时间，避免空闲连接无限期存活
+                        return keepAlive;
+                    }
+                    return duration;
+                })
+                .setThreadFactory(r -> {
+                    Thread thread = new Thread(r, "HttpAsyncClient-" + name);
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                .build();
+
+        // 读取响应体的线程池，队列长度与最大连接数相同，空闲的线程会被回收
+        AtomicInteger threadNumber = new AtomicInteger();
+        int decodeThreads = Runtime.getRuntime().availableProcessors();
+        decodeExecutor = new ThreadPoolExecutor(decodeThreads, decodeThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(profile.getMaxTotal()),
+                r -> {
+                    Thread thread = new Thread(r, "HttpAsyncClient-" + name + "-decode-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 队列已满或线程池已关闭时，在I/O线程中读取，保证CompletableFuture一定会完成
+                (r, executor) -> r.run());
+        decodeExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HttpClientProfile getProfile() {
+        return profile;
+    }
+
+    public CloseableHttpAsyncClient getHttpAsyncClient() {
+        return httpAsyncClient;
+    }
+
+    public PoolingNHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * 连接池的统计信息：已借出、等待中、空闲可用的连接数，以及最大连接数
+     */
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * 异步get请求，响应体为json，转换成指定类型
+     *
+     * @param url         请求地址
+     * @param queryParams 请求参数
+     * @param <T>         返回类型
+     * @return 转换后的响应体。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     */
+    public <T> CompletableFuture<T> getJson(String url, @Nullable Map<String, String> queryParams, TypeReference<T> typeReference) {
+        return doGet(url, queryParams, null, null, HttpBodyReader.json(typeReference));
+    }
+
+    /**
+     * 异步post请求，Content-Type：application/json，响应体为json，转换成指定类型
+     *
+     * @param url         请求地址
+     * @param requestBody 请求体
+     * @param <T>         返回类型
+     * @return 转换后的响应体。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     */
+    public <T> CompletableFuture<T> postJson(String url, String requestBody, TypeReference<T> typeReference) {
+        return doPost(url, "application/json", null, null, requestBody, null, HttpBodyReader.json(typeReference));
+    }
+
+    /**
+     * 异步get请求，通过{@link HttpBodyReader}从响应流中读取响应体
+     *
+     * @param url           请求地址
+     * @param queryParams   请求参数
+     * @param headers       header头信息
+     * @param requestConfig 本次请求使用的RequestConfig，为null时使用{@link HttpClientProfile}中的配置
+     * @param bodyReader    响应体读取方式
+     * @param <T>           返回类型
+     * @return 读取到的响应体。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     */
+    public <T> CompletableFuture<T> doGet(String url,
+                                          @Nullable Map<String, String> queryParams,
+                                          @Nullable Map<String, String> headers,
+                                          @Nullable RequestConfig requestConfig,
+                                          HttpBodyReader<T> bodyReader) {
+        LogContext logContext = LogContext.createInstance(true, Level.INFO);
+        logContext.append("http async get请求，", url);
+        Optional.ofNullable(queryParams).ifPresent(map -> logContext.append("queryParams: ", queryParams));
+        Optional.ofNullable(headers).ifPresent(map -> logContext.append("headers: ", headers));
+
+        HttpGet httpGet;
+        try {
+            URIBuilder uriBuilder = new URIBuilder(url);
+            // 设置参数
+            if (queryParams != null && !queryParams.isEmpty()) {
+                queryParams.forEach(uriBuilder::setParameter);
+            }
+            httpGet = new HttpGet(uriBuilder.build());
+        } catch (URISyntaxException e) {
+            log.error("无效的uri, " + url, e);
+            logContext.append(Level.ERROR, "error: 无效的uri, " + url);
+            logContext.print(false);
+            throw new IllegalArgumentException("无效的uri, " + url);
+        }
+        // 添加header
+        if (headers != null && !headers.isEmpty()) {
+            headers.forEach(httpGet::setHeader);
+        }
+        Optional.ofNullable(requestConfig).ifPresent(httpGet::setConfig);
+
+        return executeHttpRequest(httpGet, logContext, bodyReader);
+    }
+
+    /**
+     * 异步post请求，通过{@link HttpBodyReader}从响应流中读取响应体
+     *
+     * @param url           请求地址
+     * @param contentType   Content-Type
+     * @param headers       header信息
+     * @param formParams    请求参数
+     * @param requestBody   请求体
+     * @param requestConfig 本次请求使用的RequestConfig，为null时使用{@link HttpClientProfile}中的配置
+     * @param bodyReader    响应体读取方式
+     * @param <T>           返回类型
+     * @return 读取到的响应体。http status != 200时，以{@link HttpExecutionFailException}异常完成；
+     * 发生io异常时，以{@link WrappedIOException}异常完成
+     */
+    public <T> CompletableFuture<T> doPost(String url,
+                                           String contentType,
+                                           @Nullable Map<String, String> headers,
+                                           @Nullable Map<String, String> formParams,
+                                           @Nullable String requestBody,
+                                           @Nullable RequestConfig requestConfig,
+                                           HttpBodyReader<T> bodyReader) {
+        LogContext logContext = LogContext.createInstance(true, Level.INFO);
+        logContext.append("http async post请求，", url);
+        logContext.append("Content-Type: ", contentType);
+        Optional.ofNullable(headers).ifPresent(map -> logContext.append("headers: ", headers));
+        Optional.ofNullable(formParams).ifPresent(map -> logContext.append("formParams: ", formParams));
+        Optional.ofNullable(requestBody).ifPresent(str -> logContext.append("请求体: ", requestBody));
+
+        HttpPost httpPost = new HttpPost(url);
+        // 添加header
+        if (headers != null && !headers.isEmpty()) {
+            headers.forEach(httpPost::setHeader);
+        }
+        if (!httpPost.containsHeader("Content-Type")) {
+            httpPost.addHeader("Content-Type", contentType);
+        }
+        // 设置form表单类型参数
+        if (formParams != null && !formParams.isEmpty()) {
+            List<BasicNameValuePair> pairs = new ArrayList<>();
+            formParams.forEach((k, v) -> pairs.add(new BasicNameValuePair(k, v)));
+            httpPost.setEntity(new UrlEncodedFormEntity(pairs, StandardCharsets.UTF_8));
+        }
+        // 设置application/json类型的body参数
+        if (StringUtils.hasText(requestBody)) {
+            httpPost.setEntity(new StringEntity(requestBody, "UTF-8"));
+        }
+        Optional.ofNullable(requestConfig).ifPresent(httpPost::setConfig);
+
+        return executeHttpRequest(httpPost, logContext, bodyReader);
+    }
+
+    private <T> CompletableFuture<T> executeHttpRequest(HttpRequestBase request,
+                                                        LogContext logContext,
+                                                        HttpBodyReader<T> bodyReader) {
+        // 第一次发送请求时启动I/O线程，已启动时不做任何操作
+        httpAsyncClient.start();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long start = System.currentTimeMillis();
+        Future<HttpResponse> future = httpAsyncClient.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                logContext.append("http请求耗时：", (System.currentTimeMillis() - start), "ms");
+                decodeExecutor.execute(() -> readResponse(response, logContext, bodyReader, result));
+            }
+
+            @Override
+            public void failed(Exception e) {
+                log.error("http request exception", e);
+                logContext.append(Level.ERROR, "http请求异常：", e.getMessage());
+                logContext.print(false);
+                result.completeExceptionally(e instanceof IOException
+                        ? new WrappedIOException("http请求异常, " + e.getMessage(), (IOException) e) : e);
+            }
+
+            @Override
+            public void cancelled() {
+                result.completeExceptionally(new CancellationException("http请求已取消"));
+            }
+        });
+        // 取消CompletableFuture时，中止http请求
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static <T> void readResponse(HttpResponse response,
+                                         LogContext logContext,
+                                         HttpBodyReader<T> bodyReader,
+                                         CompletableFuture<T> result) {
+        try {
+            result.complete(HttpUtils.readResponse(response, logContext, bodyReader));
+        } catch (IOException e) {
+            log.error("http request exception", e);
+            logContext.append(Level.ERROR, "http请求异常：", e.getMessage());
+            result.completeExceptionally(new WrappedIOException("http请求异常, " + e.getMessage(), e));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        } finally {
+            logContext.print(false);
+        }
+    }
+
+    /**
+     * 关闭客户端，释放连接池中的所有连接，停止I/O线程和读取响应体的线程
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            httpAsyncClient.close();
+        } finally {
+            decodeExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package redcoder.quartzextendcommon.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.http.Consts;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultClientConnectionReuseStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import redcoder.quartzextendcommon.exception.HttpExecutionFailException;
+import redcoder.quartzextendcommon.exception.WrappedIOException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于连接池的http客户端，连接池大小、超时时间等由{@link HttpClientProfile}配置，
+ * 每个实例拥有独立的连接池和空闲连接回收线程，不再使用时需要调用{@link #close()}释放资源。
+ * <p>
+ * {@link HttpUtils}的静态方法使用的是按默认配置创建的实例，参见{@link HttpUtils#getDefaultClient()}。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class PooledHttpClient implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledHttpClient.class);
+
+    private final String name;
+    private final HttpClientProfile profile;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * @param name    客户端名称，用于日志和监控指标
+     * @param profile 客户端配置
+     */
+    public PooledHttpClient(String name, HttpClientProfile profile) {
+        this.name = name;
+        this.profile = profile;
+
+        // 配置连接管理器
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(profile.getMaxTotal());//设置最大连接数
+        connectionManager.setDefaultMaxPerRoute(profile.getDefaultMaxPerRoute());//设置单个路由最大的连接数
+        profile.getMaxPerRoute().forEach((route, max) -> connectionManager.setMaxPerRoute(toHttpRoute(route), max));
+
+        long keepAlive = profile.getKeepAlive().toMillis();
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager) // 连接管理器
+                .setDefaultRequestConfig(HttpUtils.buildRequestConfig((int) profile.getConnectTimeout().toMillis(),
+                        (int) profile.getSocketTimeout().toMillis(),
+                        (int) profile.getConnectionRequestTimeout().toMillis())) // 超时配置
+                .setConnectionReuseStrategy(DefaultClientConnectionReuseStrategy.INSTANCE) // 使用默认的连接重用策略
+                .setKeepAliveStrategy((response, context) -> {  // 设置空闲连接存活时间策略
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    if (duration <= 0) {
+                        // 默认策略返回的值小于0，使用配置的存活时间，避免空闲连接无限期存活
+                        return keepAlive;
+                    }
+                    return duration;
+                })
+                // 后台线程定期关闭过期和空闲的连接，close时停止
+                .evictExpiredConnections()
+                .evictIdleConnections(profile.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    static HttpRoute toHttpRoute(String route) {
+        HttpHost host = HttpHost.create(route);
+        if (host.getPort() < 0) {
+            // 与DefaultRoutePlanner保持一致，使用协议的默认端口
+            int port = "https".equalsIgnoreCase(host.getSchemeName()) ? 443 : 80;
+            host = new HttpHost(host.getHostName(), port, host.getSchemeName());
+        }
+        return new HttpRoute(host);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HttpClientProfile getProfile() {
+        return profile;
+    }
+
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * 连接池的统计信息：已借出、等待中、空闲可用的连接数，以及最大连接数
+     */
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * get请求，响应体为json，转换成指定类型
+     *
+     * @param url         请求地址
+     * @param queryParams 请求参数
+     * @param <T>         返回类型
+     * @return 转换后的响应体
+     * @throws HttpExecutionFailException http请求执行失败，http status != 200
+     * @throws WrappedIOException         封装的io异常，将checked io exception转换为 unchecked exception
+     */
+    public <T> T getJson(String url, @Nullable Map<String, String> queryParams, TypeReference<T> typeReference) {
+        return doGet(url, queryParams, null, null, HttpBodyReader.json(typeReference));
+    }
+
+    /**
+     * post请求，Content-Type：application/json，响应体为json，转换成指定类型
+     *
+     * @param url         请求地址
+     * @param requestBody 请求体
+     * @param <T>         返回类型
+     * @return 转换后的响应体
+     * @throws HttpExecutionFailException http请求执行失败，http status != 200
+     * @throws WrappedIOException         封装的io异常，将checked io exception转换为 unchecked exception
+     */
+    public <T> T postJson(String url, String requestBody, TypeReference<T> typeReference) {
+        return doPost(url, "application/json", null, null, requestBody, null, HttpBodyReader.json(typeReference));
+    }
+
+    /**
+     * post请求，Content-Type：application/x-www-form-urlencoded，响应体为json，转换成指定类型
+     *
+     * @param url        请求地址
+     * @param formParams 表单参数
+     * @param <T>        返回类型
+     * @return 转换后的响应体
+     * @throws HttpExecutionFailException http请求执行失败，http status != 200
+     * @throws WrappedIOException         封装的io异常，将checked io exception转换为 unchecked exception
+     */
+    public <T> T postForm(String url, Map<String, String> formParams, TypeReference<T> typeReference) {
+        return doPost(url, "application/x-www-form-urlencoded", null, formParams, null, null,
+                HttpBodyReader.json(typeReference));
+    }
+
+    /**
+     * get请求
+     *
+     * @param url           请求地址
+     * @param queryParams   请求参数
+     * @param headers       header头信息
+     * @param requestConfig 本次请求使用的RequestConfig，为null时使用{@link HttpClientProfile}中的配置
+     * @param bodyReader    响应体读取方式
+     * @param <T>           返回类型
+     * @return 读取到的响应体
+     * @throws HttpExecutionFailException http请求执行失败，http status != 200
+     * @throws WrappedIOException         封装的io异常，将checked io exception转换为 unchecked exception
+     */
+    public <T> T doGet(String url,
+                       @Nullable Map<String, String> queryParams,
+                       @Nullable Map<String, String> headers,
+                       @Nullable RequestConfig requestConfig,
+                       HttpBodyReader<T> bodyReader) {
+        LogContext logContext = LogContext.createInstance(true, Level.INFO);
+        try {
+            logContext.append("http get请求，", url);
+            Optional.ofNullable(queryParams).ifPresent(map -> logContext.append("queryParams: ", queryParams));
+            Optional.ofNullable(headers).ifPresent(map -> logContext.append("headers: ", headers));
+
+            // http httpGet
+            HttpGet httpGet;
+            try {
+                URIBuilder uriBuilder = new URIBuilder(url);
+                // 设置参数
+                if (queryParams != null && !queryParams.isEmpty()) {
+                    queryParams.forEach(uriBuilder::setParameter);
+                }
+                // 创建httpGet
+                httpGet = new HttpGet(uriBuilder.build());
+            } catch (URISyntaxException e) {
+                log.error("无效的uri, " + url, e);
+                logContext.append(Level.ERROR, "error: 无效的uri, " + url);
+                throw new IllegalArgumentException("无效的uri, " + url);
+            }
+            // 添加header
+            if (headers != null && !headers.isEmpty()) {
+                headers.forEach(httpGet::setHeader);
+            }
+            // set RequestConfig
+            Optional.ofNullable(requestConfig).ifPresent(httpGet::setConfig);
+
+            return executeHttpRequest(httpGet, logContext, bodyReader);
+        } finally {
+            logContext.print(false);
+        }
+    }
+
+    /**
+     * post请求
+     *
+     * @param url           请求地址
+     * @param contentType   Content-Type
+     * @param headers       header信息
+     * @param formParams    请求参数
+     * @param requestBody   请求体
+     * @param requestConfig 本次请求使用的RequestConfig，为null时使用{@link HttpClientProfile}中的配置
+     * @param bodyReader    响应体读取方式
+     * @param <T>           返回类型
+     * @return 读取到的响应体
+     * @throws HttpExecutionFailException http请求执行失败，http status != 200
+     * @throws WrappedIOException         封装的io异常，将checked io exception转换为 unchecked exception
+     */
+    public <T> T doPost(String url,
+                        String contentType,
+                        @Nullable Map<String, String> headers,
+                        @Nullable Map<String, String> formParams,
+                        @Nullable String requestBody,
+                        @Nullable RequestConfig requestConfig,
+                        HttpBodyReader<T> bodyReader) {
+        LogContext logContext = LogContext.createInstance(true, Level.INFO);
+        try {
+            logContext.append("http post请求，", url);
+            logContext.append("Content-Type: ", contentType);
+            Optional.ofNullable(headers).ifPresent(map -> logContext.append("headers: ", headers));
+            Optional.ofNullable(formParams).ifPresent(map -> logContext.append("formParams: ", formParams));
+            Optional.ofNullable(requestBody).ifPresent(str -> logContext.append("请求体: ", requestBody));
+
+            // http httpPost
+            HttpPost httpPost = new HttpPost(url);
+            // 添加header
+            if (headers != null && !headers.isEmpty()) {
+                headers.forEach(httpPost::setHeader);
+            }
+            if (!httpPost.containsHeader("Content-Type")) {
+                httpPost.addHeader("Content-Type", contentType);
+            }
+            // 设置form表单类型参数
+            if (formParams != null && !formParams.isEmpty()) {
+                List<BasicNameValuePair> pairs = new ArrayList<>();
+                formParams.forEach((k, v) -> pairs.add(new BasicNameValuePair(k, v)));
+                httpPost.setEntity(new UrlEncodedFormEntity(pairs, StandardCharsets.UTF_8));
+            }
+            // 设置application/json类型的body参数
+            if (StringUtils.hasText(requestBody)) {
+                StringEntity entity = new StringEntity(requestBody, "UTF-8");
+                httpPost.setEntity(entity);
+            }
+            // set RequestConfig
+            Optional.ofNullable(requestConfig).ifPresent(httpPost::setConfig);
+
+            return executeHttpRequest(httpPost, logContext, bodyReader);
+        } finally {
+            logContext.print(false);
+        }
+    }
+
+    /**
+     * 传输文件，支持<code>File</code>，<code>InputStream</code>，<code>byte[]</code>，<code>String</code>
+     *
+     * @param url           url
+     * @param formParams    表单参数，key-参数名称，value-参数值（支持<code>File</code>，<code>InputStream</code>，
+     *                      <code>byte[]</code>，<code>String</code>）。注意：暂时不支持设置fileName，会把key作为fileName
+     * @param headers       header，可选参数
+     * @param requestConfig 本次请求使用的RequestConfig，为null时使用{@link HttpClientProfile}中的配置
+     * @param bodyReader    响应体读取方式
+     * @return 读取到的响应体
+     */
+    public <T> T transferFiles(String url,
+                               Map<String, Object> formParams,
+                               @Nullable Map<String, String> headers,
+                               @Nullable RequestConfig requestConfig,
+                               HttpBodyReader<T> bodyReader) {
+        LogContext logContext = LogContext.createInstance();
+        logContext.append("transferFiles, url: ", url);
+        try {
+            Optional.ofNullable(headers).ifPresent(map -> logContext.append("headers: ", headers));
+            Optional.ofNullable(formParams).ifPresent(map -> logContext.append("formParams: ", formParams));
+
+            HttpPost post = new HttpPost(url);
+            // build MultipartEntity
+            MultipartEntityBuilder entityBuilder = MultipartEntityBuilder.create()
+                    .setCharset(StandardCharsets.UTF_8)
+                    .setLaxMode();
+            Optional.ofNullable(formParams).ifPresent(map -> map.forEach((k, v) -> {
+                if (v instanceof String) {
+                    entityBuilder.addTextBody(k, (String) v, ContentType.create("text/plain", Consts.UTF_8));
+                }
+                if (v instanceof File) {
+                    File file = (File) v;
+                    entityBuilder.addBinaryBody(k, file, ContentType.create("application/octet-stream", Consts.UTF_8), file.getName());
+                }
+                if (v instanceof byte[]) {
+                    entityBuilder.addBinaryBody(k, (byte[]) v, ContentType.create("application/octet-stream", Consts.UTF_8), k);
+                }
+                if (v instanceof InputStream) {
+                    entityBuilder.addBinaryBody(k, (InputStream) v, ContentType.create("application/octet-stream", Consts.UTF_8), k);
+                }
+            }));
+            // add headers
+            Optional.ofNullable(headers).ifPresent(map -> map.forEach(post::addHeader));
+            // set entity
+            post.setEntity(entityBuilder.build());
+            // set RequestConfig
+            Optional.ofNullable(requestConfig).ifPresent(post::setConfig);
+
+            return executeHttpRequest(post, logContext, bodyReader);
+        } finally {
+            logContext.print(false);
+        }
+    }
+
+    private <T> T executeHttpRequest(HttpRequestBase request, LogContext logContext, HttpBodyReader<T> bodyReader) {
+        CloseableHttpResponse response = null;
+        try {
+            long start = System.currentTimeMillis();
+            response = httpClient.execute(request);
+            long end = System.currentTimeMillis();
+            logContext.append("http请求耗时：", (end - start), "ms");
+
+            return HttpUtils.readResponse(response, logContext, bodyReader);
+        } catch (IOException e) {
+            if (HttpUtils.isErrorLogDisabled()) {
+                log.warn("http request exception", e);
+                logContext.append(Level.WARN, "http请求异常：", e.getMessage());
+            } else {
+                log.error("http request exception", e);
+                logContext.append(Level.ERROR, "http请求异常：", e.getMessage());
+            }
+            throw new WrappedIOException("http请求异常, " + e.getMessage(), e);
+        } finally {
+            Optional.ofNullable(response).ifPresent(PooledHttpClient::releaseConn);
+        }
+    }
+
+    /**
+     * 释放http connection
+     *
+     * @param response CloseableHttpResponse
+     */
+    private static void releaseConn(CloseableHttpResponse response) {
+        try {
+            EntityUtils.consume(response.getEntity());
+        } catch (IOException e) {
+            log.error("关闭io流异常", e);
+        }
+    }
+
+    /**
+     * 关闭客户端，释放连接池中的所有连接，并停止空闲连接回收线程
+     */
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
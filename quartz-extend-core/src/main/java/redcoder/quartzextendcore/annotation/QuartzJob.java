@@ -1,7 +1,7 @@
 package redcoder.quartzextendcore.annotation;
 
 import redcoder.quartzextendcore.core.DefaultQuartzKeyNameGenerator;
-import redcoder.quartzextendcore.core.QuartzJobBeanPostProcessor;
+import redcoder.quartzextendcore.core.QuartzJobDefinitions;
 import org.quartz.JobDetail;
 import org.quartz.Scheduler;
 import org.quartz.Trigger;
@@ -13,7 +13,7 @@ import java.lang.annotation.*;
  * 用于定义quartz job
  *
  * @author redcoder54
- * @see QuartzJobBeanPostProcessor
+ * @see QuartzJobDefinitions
  * @since 1.0.0
  */
 @Retention(RetentionPolicy.RUNTIME)
@@ -44,6 +44,54 @@ public @interface QuartzJob {
      */
     boolean storeDurably() default true;
 
+    /**
+     * JobDetail的JobDataMap，由job的所有trigger共享
+     *
+     * @since 1.1.0
+     */
+    QuartzJobData[] jobData() default {};
+
+    /**
+     * 分片数，大于1时每次触发会拆分为多个分片执行，分片由集群中有空闲线程的节点执行，所有分片执行完成后本次触发才结束。
+     * job通过{@link redcoder.quartzextendcore.core.JobShards}获取当前的分片序号和分片总数；
+     * 不允许并发执行（{@link org.quartz.DisallowConcurrentExecution}）的job不会分片。default value: 1
+     *
+     * @since 1.1.0
+     */
+    int shards() default 1;
+
+    /**
+     * 等待所有分片执行完成的最长时间，单位毫秒，超时后本次触发以失败结束，未完成的分片继续执行；小于等于0时一直等待。
+     * default value: 1小时
+     *
+     * @since 1.1.0
+     */
+    long shardTimeout() default 60 * 60 * 1000L;
+
+    /**
+     * 当前实例上同时执行该job的最大数量，达到上限时的触发在{@link #maxWaitMillis()}内等待，超时后放弃执行；
+     * 小于等于0时不限制。default value: 0
+     *
+     * @since 1.1.0
+     */
+    int maxConcurrentExecutions() default 0;
+
+    /**
+     * 舱壁名称，同一个舱壁中的job共享同时执行数的上限，上限通过<code>quartz-job-scheduler.bulkhead.limits.{name}</code>配置，
+     * 可以把执行慢的job隔离到单独的舱壁中，避免占满线程池；为空时不加入任何舱壁。default value: 空字符串
+     *
+     * @since 1.1.0
+     */
+    String bulkhead() default "";
+
+    /**
+     * 达到{@link #maxConcurrentExecutions()}或舱壁的上限时，等待的最长时间，单位毫秒，等待期间占用一个执行job的线程；
+     * 为0时立即放弃执行。被放弃的分片视为执行失败，分发分片的触发以失败结束。default value: 0
+     *
+     * @since 1.1.0
+     */
+    long maxWaitMillis() default 0;
+
     /**
      * Specifies the strategy indicates how to generate Quartz JobKey name and Trigger name.
      */
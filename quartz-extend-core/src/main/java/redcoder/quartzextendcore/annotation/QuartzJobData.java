@@ -0,0 +1,19 @@
+package redcoder.quartzextendcore.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * JobDataMap中的一个键值对，用于{@link QuartzJob#jobData()}和{@link QuartzTrigger#jobData()}
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+@Documented
+public @interface QuartzJobData {
+
+    String key();
+
+    String value();
+}
@@ -3,6 +3,11 @@ package redcoder.quartzextendcore.annotation;
 import redcoder.quartzextendcore.core.QuartzExtendConfig;
 import redcoder.quartzextendcore.core.QuartzJobBeanPostProcessor;
 import redcoder.quartzextendcore.core.QuartzJobRegistrar;
+import redcoder.quartzextendcore.scheduler.HttpClientProperties;
+import redcoder.quartzextendcore.scheduler.JobBootstrapProperties;
+import redcoder.quartzextendcore.scheduler.JobBulkheadProperties;
+import redcoder.quartzextendcore.scheduler.JobExecutionHistoryProperties;
+import redcoder.quartzextendcore.scheduler.JobThreadPoolProperties;
 import redcoder.quartzextendcore.scheduler.QuartzJobSchedulerProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Import;
@@ -20,7 +25,9 @@ import java.lang.annotation.*;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 @Documented
-@EnableConfigurationProperties(QuartzJobSchedulerProperties.class)
+@EnableConfigurationProperties({QuartzJobSchedulerProperties.class, HttpClientProperties.class,
+        JobExecutionHistoryProperties.class, JobThreadPoolProperties.class, JobBulkheadProperties.class,
+        JobBootstrapProperties.class})
 @Import({QuartzJobRegistrar.class, QuartzExtendConfig.class})
 public @interface QuartzJobScan {
 
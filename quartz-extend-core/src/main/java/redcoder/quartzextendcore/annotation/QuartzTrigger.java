@@ -1,26 +1,30 @@
 package redcoder.quartzextendcore.annotation;
 
 import redcoder.quartzextendcore.core.DefaultQuartzKeyNameGenerator;
-import redcoder.quartzextendcore.core.QuartzJobBeanPostProcessor;
+import redcoder.quartzextendcore.core.QuartzJobDefinitions;
+import org.quartz.DateBuilder.IntervalUnit;
 import org.quartz.Scheduler;
+import org.quartz.Trigger;
 import redcoder.quartzextendcore.core.QuartzKeyNameGenerator;
 
 import java.lang.annotation.*;
 
 /**
- * 用于定义quartz job's trigger
+ * 用于定义quartz job's trigger，一个job类上可以添加多个，每个注解创建一个trigger
  *
  * @author redcoder54
- * @see QuartzJobBeanPostProcessor
+ * @see QuartzJobDefinitions
  * @since 1.0.0
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 @Documented
+@Repeatable(QuartzTriggers.class)
 public @interface QuartzTrigger {
 
     /**
-     * the name of Trigger's TriggerKey
+     * the name of Trigger's TriggerKey。
+     * 为空时由{@link #quartzKeyNameGenerator()}生成，同一个job类上的第2个及之后的trigger会追加序号，比如HelloWorldJobTrigger_1
      */
     String triggerKeyName() default "";
 
@@ -35,12 +39,133 @@ public @interface QuartzTrigger {
     String triggerDescription() default "";
 
     /**
-     * the cron expression string to base the schedule on
+     * trigger的类型，default value: CRON
+     *
+     * @since 1.1.0
      */
-    String cron();
+    ScheduleType scheduleType() default ScheduleType.CRON;
+
+    /**
+     * the cron expression string to base the schedule on，scheduleType为CRON时必填
+     */
+    String cron() default "";
+
+    /**
+     * 触发间隔，scheduleType为SIMPLE、CALENDAR_INTERVAL、DAILY_TIME_INTERVAL时必填，单位为{@link #intervalUnit()}
+     *
+     * @since 1.1.0
+     */
+    long interval() default 0;
+
+    /**
+     * 触发间隔的单位，default value: SECOND。
+     * SIMPLE支持MILLISECOND至WEEK，CALENDAR_INTERVAL支持SECOND至YEAR，DAILY_TIME_INTERVAL支持SECOND至HOUR
+     *
+     * @since 1.1.0
+     */
+    IntervalUnit intervalUnit() default IntervalUnit.SECOND;
+
+    /**
+     * 重复次数（不包括第一次触发），小于0时无限重复，仅适用于SIMPLE和DAILY_TIME_INTERVAL，default value: -1
+     *
+     * @since 1.1.0
+     */
+    int repeatCount() default -1;
+
+    /**
+     * 每天开始触发的时间，格式：HH:mm:ss，仅适用于DAILY_TIME_INTERVAL，default value: 00:00:00
+     *
+     * @since 1.1.0
+     */
+    String dailyStartTime() default "";
+
+    /**
+     * 每天结束触发的时间，格式：HH:mm:ss，仅适用于DAILY_TIME_INTERVAL，default value: 23:59:59
+     *
+     * @since 1.1.0
+     */
+    String dailyEndTime() default "";
+
+    /**
+     * 在星期几触发，取值为{@link java.util.Calendar#SUNDAY}至{@link java.util.Calendar#SATURDAY}，
+     * 仅适用于DAILY_TIME_INTERVAL，为空时每天触发
+     *
+     * @since 1.1.0
+     */
+    int[] daysOfWeek() default {};
+
+    /**
+     * 计算触发时间和解析{@link #endTime()}使用的时区，比如Asia/Shanghai，为空时使用系统默认时区；
+     * 适用于CRON和CALENDAR_INTERVAL，SIMPLE和DAILY_TIME_INTERVAL使用系统默认时区
+     *
+     * @since 1.1.0
+     */
+    String timeZone() default "";
+
+    /**
+     * 延迟多少毫秒后开始触发，default value: 0
+     *
+     * @since 1.1.0
+     */
+    long startDelay() default 0;
+
+    /**
+     * 结束时间，格式：yyyy-MM-dd HH:mm:ss，按{@link #timeZone()}解析，为空时不结束
+     *
+     * @since 1.1.0
+     */
+    String endTime() default "";
+
+    /**
+     * trigger的优先级，多个trigger同时触发而线程不足时，优先级高的先执行，default value: 5
+     *
+     * @since 1.1.0
+     */
+    int priority() default Trigger.DEFAULT_PRIORITY;
+
+    /**
+     * 错过触发时的处理策略，取值为{@link Trigger}及其子接口（比如{@link org.quartz.CronTrigger}、
+     * {@link org.quartz.SimpleTrigger}）中定义的MISFIRE_INSTRUCTION_*常量，default value: MISFIRE_INSTRUCTION_SMART_POLICY
+     *
+     * @since 1.1.0
+     */
+    int misfireInstruction() default Trigger.MISFIRE_INSTRUCTION_SMART_POLICY;
+
+    /**
+     * trigger的JobDataMap，job执行时与JobDetail的JobDataMap合并，同名的key以trigger的为准。
+     * 同一个job的多个trigger可以携带不同的数据，从而共用一个JobDetail
+     *
+     * @see org.quartz.JobExecutionContext#getMergedJobDataMap()
+     * @since 1.1.0
+     */
+    QuartzJobData[] jobData() default {};
 
     /**
      * Specifies the strategy indicates how to generate Quartz JobKey name and Trigger name.
      */
     Class<? extends QuartzKeyNameGenerator> quartzKeyNameGenerator() default DefaultQuartzKeyNameGenerator.class;
+
+    /**
+     * trigger的类型
+     *
+     * @since 1.1.0
+     */
+    enum ScheduleType {
+        /**
+         * 按cron表达式触发，{@link org.quartz.CronTrigger}
+         */
+        CRON,
+        /**
+         * 按固定的毫秒间隔触发，不需要计算cron表达式，开销最小，{@link org.quartz.SimpleTrigger}
+         */
+        SIMPLE,
+        /**
+         * 按日历间隔触发，比如每个月的同一天，{@link org.quartz.CalendarIntervalTrigger}
+         */
+        CALENDAR_INTERVAL,
+        /**
+         * 在每天的固定时间段内按间隔触发，{@link org.quartz.DailyTimeIntervalTrigger}
+         */
+        DAILY_TIME_INTERVAL
+    }
 }
@@ -0,0 +1,17 @@
+package redcoder.quartzextendcore.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * {@link QuartzTrigger}的容器注解，一个job类上可以添加多个{@link QuartzTrigger}
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface QuartzTriggers {
+
+    QuartzTrigger[] value();
+}
@@ -1,23 +1,163 @@
 package redcoder.quartzextendcore.core;
 
+import lombok.extern.slf4j.Slf4j;
 import redcoder.quartzextendcore.annotation.QuartzJob;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.context.annotation.ScannedGenericBeanDefinition;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.*;
 
 /**
- * 扫描指定包下的class，将{@link QuartzJob}注解的类注册到spring容器中
+ * 扫描指定包下的class，将{@link QuartzJob}注解的类注册到spring容器中。
+ * <p>
+ * 设置了{@link QuartzJobIndex}时，包所在的类路径根目录（目录或jar包）中存在索引的，读取索引中的类，不再扫描；
+ * 没有索引的根目录仍然扫描，以兼容未使用quartz-extend-indexer编译的jar。
  *
  * @author redcoder54
  * @since 1.0.0
  */
+@Slf4j
 public class ClassPathQuartzJobScanner extends ClassPathBeanDefinitionScanner {
 
+    @Nullable
+    private QuartzJobIndex index;
+    /**
+     * 找到的job，key: 类名
+     */
+    private final Map<String, QuartzJobIndex.Entry> candidates = new LinkedHashMap<>();
+
     public ClassPathQuartzJobScanner(BeanDefinitionRegistry registry) {
         super(registry);
     }
 
+    /**
+     * 设置job的索引，为null时扫描类路径
+     *
+     * @since 1.1.0
+     */
+    public void setIndex(@Nullable QuartzJobIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * 获取找到的job，来自索引的job包含索引中的注解属性
+     *
+     * @since 1.1.0
+     */
+    public Collection<QuartzJobIndex.Entry> getCandidates() {
+        return candidates.values();
+    }
+
+    @Override
+    public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+        if (index == null) {
+            return addCandidates(super.findCandidateComponents(basePackage));
+        }
+        String packagePath = ClassUtils.convertClassNameToResourcePath(getEnvironment().resolveRequiredPlaceholders(basePackage));
+        List<String> packageLocations = new ArrayList<>();
+        boolean indexed = false;
+        try {
+            Enumeration<URL> urls = getResourceLoader().getClassLoader() != null
+                    ? getResourceLoader().getClassLoader().getResources(packagePath) : ClassLoader.getSystemResources(packagePath);
+            while (urls.hasMoreElements()) {
+                String location = StringUtils.trimTrailingCharacter(urls.nextElement().toString(), '/');
+                String root = location.substring(0, location.length() - packagePath.length());
+                if (index.isIndexed(root)) {
+                    indexed = true;
+                } else {
+                    packageLocations.add(location);
+                }
+            }
+        } catch (IOException e) {
+            throw new BeanDefinitionStoreException("I/O failure during classpath scanning", e);
+        }
+        if (!indexed) {
+            return addCandidates(super.findCandidateComponents(basePackage));
+        }
+
+        // 存在索引的根目录读取索引，其他根目录仍然扫描
+        Set<BeanDefinition> beanDefinitions = new LinkedHashSet<>();
+        for (QuartzJobIndex.Entry entry : index.getEntries(ClassUtils.convertResourcePathToClassName(packagePath))) {
+            try {
+                MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(entry.getClassName());
+                ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(metadataReader);
+                beanDefinition.setSource(metadataReader.getResource());
+                if (isCandidateComponent(beanDefinition)) {
+                    beanDefinitions.add(beanDefinition);
+                    candidates.put(entry.getClassName(), entry);
+                } else {
+                    log.warn("{}中的类没有@QuartzJob注解，索引可能已过期: {}", QuartzJobIndex.INDEX_LOCATION, entry.getClassName());
+                }
+            } catch (IOException e) {
+                // 索引中的类已不存在
+                log.warn("{}中的类不存在，索引可能已过期: {}", QuartzJobIndex.INDEX_LOCATION, entry.getClassName());
+            } catch (Throwable e) {
+                throw new BeanDefinitionStoreException("Failed to read candidate component class: " + entry.getClassName(), e);
+            }
+        }
+        for (String packageLocation : packageLocations) {
+            beanDefinitions.addAll(addCandidates(scanCandidateComponents(packageLocation)));
+        }
+        return beanDefinitions;
+    }
+
+    /**
+     * 扫描类路径的一个根目录下的包
+     *
+     * @param packageLocation 包在根目录下的URL
+     */
+    private Set<BeanDefinition> scanCandidateComponents(String packageLocation) {
+        Set<BeanDefinition> beanDefinitions = new LinkedHashSet<>();
+        try {
+            Resource[] resources = ((ResourcePatternResolver) getResourceLoader()).getResources(packageLocation + "/**/*.class");
+            for (Resource resource : resources) {
+                if (!resource.isReadable()) {
+                    continue;
+                }
+                try {
+                    MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+                    if (isCandidateComponent(metadataReader)) {
+                        ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(metadataReader);
+                        beanDefinition.setSource(resource);
+                        if (isCandidateComponent(beanDefinition)) {
+                            beanDefinitions.add(beanDefinition);
+                        }
+                    }
+                } catch (Throwable e) {
+                    throw new BeanDefinitionStoreException("Failed to read candidate component class: " + resource, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new BeanDefinitionStoreException("I/O failure during classpath scanning", e);
+        }
+        return beanDefinitions;
+    }
+
+    /**
+     * 记录扫描到的job，同一个类在索引中存在时使用索引
+     */
+    private Set<BeanDefinition> addCandidates(Set<BeanDefinition> beanDefinitions) {
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            String className = beanDefinition.getBeanClassName();
+            QuartzJobIndex.Entry entry = index != null ? index.getEntry(className) : null;
+            candidates.putIfAbsent(className, entry != null ? entry : new QuartzJobIndex.Entry(className));
+        }
+        return beanDefinitions;
+    }
+
     @Override
     protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
         AnnotationMetadata metadata = beanDefinition.getMetadata();
@@ -0,0 +1,197 @@
+package redcoder.quartzextendcore.core;
+
+import org.quartz.*;
+import org.quartz.spi.JobFactory;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.quartz.SchedulerContextAware;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.scheduler.JobBulkheadProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 限制job同时执行数的JobFactory，包装另一个JobFactory。
+ * <p>
+ * 配置了{@link QuartzJob#maxConcurrentExecutions()}或{@link QuartzJob#bulkhead()}的job，执行前需要获取job和舱壁的许可，
+ * 在{@link QuartzJob#maxWaitMillis()}内获取不到时放弃本次执行。被放弃和等待后才执行的触发，
+ * 分别在JobExecutionContext中记录{@link #OUTCOME_REJECTED}和{@link #OUTCOME_DEFERRED}，参见{@link #LIMIT_OUTCOME}。
+ * 分片trigger触发的执行被放弃时抛出{@link JobExecutionException}，由{@link ShardJob}记录分片失败，
+ * 避免被放弃的分片与执行完成的分片一样被删除、分发分片的触发误以为所有分片都已执行成功。
+ * <p>
+ * 许可只在当前实例内有效；等待许可时会占用一个执行job的线程，等待时间应尽量短。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class ConcurrencyLimitingJobFactory implements JobFactory, SchedulerContextAware, ApplicationContextAware {
+
+    /**
+     * JobExecutionContext中记录限流结果的key，未被限流时没有该key
+     */
+    public static final String LIMIT_OUTCOME = "quartzExtendLimitOutcome";
+    /**
+     * 达到同时执行数上限，放弃了本次执行
+     */
+    public static final String OUTCOME_REJECTED = "rejected";
+    /**
+     * 达到同时执行数上限，等待许可后才执行
+     */
+    public static final String OUTCOME_DEFERRED = "deferred";
+    /**
+     * JobExecutionContext中正在执行的job实例数（AtomicInteger），由JobListener在job执行前计入；
+     * 等待许可期间减去，获取到许可后再计入，被放弃时不再计入
+     */
+    public static final String ACTIVE_EXECUTIONS = "quartzExtendActiveExecutions";
+
+    private final JobFactory delegate;
+    private final JobBulkheadProperties bulkheadProperties;
+    /**
+     * job的许可，key: JobKey
+     */
+    private final Map<JobKey, Semaphore> jobPermits = new ConcurrentHashMap<>();
+    /**
+     * 舱壁的许可，key: 舱壁名称
+     */
+    private final Map<String, Semaphore> bulkheadPermits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitingJobFactory(JobFactory delegate, JobBulkheadProperties bulkheadProperties) {
+        this.delegate = delegate;
+        this.bulkheadProperties = bulkheadProperties;
+    }
+
+    public JobFactory getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Job newJob(TriggerFiredBundle bundle, Scheduler scheduler) throws SchedulerException {
+        Job job = delegate.newJob(bundle, scheduler);
+        JobDetail jobDetail = bundle.getJobDetail();
+        QuartzJob quartzJob = AnnotationUtils.findAnnotation(jobDetail.getJobClass(), QuartzJob.class);
+        if (quartzJob == null || (quartzJob.maxConcurrentExecutions() <= 0 && quartzJob.bulkhead().isEmpty())) {
+            return job;
+        }
+        Semaphore jobPermit = quartzJob.maxConcurrentExecutions() <= 0 ? null
+                : jobPermits.computeIfAbsent(jobDetail.getKey(), k -> new Semaphore(quartzJob.maxConcurrentExecutions()));
+        Semaphore bulkheadPermit = quartzJob.bulkhead().isEmpty() ? null
+                : bulkheadPermits.computeIfAbsent(quartzJob.bulkhead(), k -> new Semaphore(bulkheadProperties.getLimit(k)));
+        return new ConcurrencyLimitedJob(job, jobPermit, bulkheadPermit, quartzJob.maxWaitMillis());
+    }
+
+    @Override
+    public void setSchedulerContext(SchedulerContext schedulerContext) {
+        if (delegate instanceof SchedulerContextAware) {
+            ((SchedulerContextAware) delegate).setSchedulerContext(schedulerContext);
+        }
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        if (delegate instanceof ApplicationContextAware) {
+            ((ApplicationContextAware) delegate).setApplicationContext(applicationContext);
+        }
+    }
+
+    /**
+     * 获取许可后才执行的job
+     */
+    static class ConcurrencyLimitedJob implements InterruptableJob {
+
+        private final Job job;
+        @Nullable
+        private final Semaphore jobPermit;
+        @Nullable
+        private final Semaphore bulkheadPermit;
+        private final long maxWaitMillis;
+
+        ConcurrencyLimitedJob(Job job, @Nullable Semaphore jobPermit, @Nullable Semaphore bulkheadPermit, long maxWaitMillis) {
+            this.job = job;
+            this.jobPermit = jobPermit;
+            this.bulkheadPermit = bulkheadPermit;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        @Override
+        public void execute(JobExecutionContext context) throws JobExecutionException {
+            long deadline = System.currentTimeMillis() + maxWaitMillis;
+            if (!acquire(jobPermit, deadline, context)) {
+                rejected(context, "job");
+                return;
+            }
+            try {
+                if (!acquire(bulkheadPermit, deadline, context)) {
+                    rejected(context, "舱壁");
+                    return;
+                }
+                try {
+                    job.execute(context);
+                } finally {
+                    release(bulkheadPermit);
+                }
+            } finally {
+                release(jobPermit);
+            }
+        }
+
+        @Override
+        public void interrupt() throws UnableToInterruptJobException {
+            if (!(job instanceof InterruptableJob)) {
+                throw new UnableToInterruptJobException("Job " + job.getClass().getName() + " can not be interrupted");
+            }
+            ((InterruptableJob) job).interrupt();
+        }
+
+        /**
+         * 获取许可，没有空闲的许可时等待到deadline，获取不到时记录{@link #OUTCOME_REJECTED}
+         */
+        private static boolean acquire(@Nullable Semaphore permit, long deadline, JobExecutionContext context) {
+            if (permit == null || permit.tryAcquire()) {
+                return true;
+            }
+            Object active = context.get(ACTIVE_EXECUTIONS);
+            if (active instanceof AtomicInteger) {
+                ((AtomicInteger) active).decrementAndGet();
+            }
+            try {
+                long timeout = deadline - System.currentTimeMillis();
+                if (timeout > 0 && permit.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                    context.put(LIMIT_OUTCOME, OUTCOME_DEFERRED);
+                    if (active instanceof AtomicInteger) {
+                        ((AtomicInteger) active).incrementAndGet();
+                    }
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            context.put(LIMIT_OUTCOME, OUTCOME_REJECTED);
+            return false;
+        }
+
+        /**
+         * 放弃本次执行，分片trigger触发时抛出异常，使分发分片的触发以失败结束
+         *
+         * @param limit 达到上限的是job还是舱壁
+         */
+        private static void rejected(JobExecutionContext context, String limit) throws JobExecutionException {
+            if (JobShards.isShardTrigger(context.getTrigger().getKey())) {
+                throw new JobExecutionException("达到" + limit + "的同时执行数上限，放弃执行分片: " + context.getTrigger().getKey());
+            }
+        }
+
+        private static void release(@Nullable Semaphore permit) {
+            if (permit != null) {
+                permit.release();
+            }
+        }
+    }
+}
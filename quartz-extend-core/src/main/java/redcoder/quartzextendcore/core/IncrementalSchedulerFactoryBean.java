@@ -0,0 +1,183 @@
+package redcoder.quartzextendcore.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.quartz.listeners.JobListenerSupport;
+import org.quartz.spi.JobFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 增量注册job和trigger的{@link SchedulerFactoryBean}。
+ * <p>
+ * {@link #setOverwriteExistingJobs(boolean)}为true时，{@link SchedulerFactoryBean}每次启动都会重写所有的job和trigger，
+ * 集群中的每个节点重启时都要获取JobStore的锁、更新所有的QRTZ_表记录，并重新计算trigger的下次触发时间。
+ * 开启{@link #setIncremental(boolean) incremental}后，启动时先计算每个定义的{@link JobDefinitionFingerprint 指纹}，
+ * 与JobStore中已有定义保存的指纹比较，只写入新增或有变化的定义；所有定义都没有变化时不会获取任何锁。
+ * 设置了{@link #setTransactionManager transactionManager}时，有变化的定义在同一个事务中写入。
+ * <p>
+ * 没有变化的trigger保持原有的状态（比如暂停）和下次触发时间，处于ERROR状态的trigger仍然会被重写。
+ * 指纹保存在JobDataMap中，job执行前会从{@link JobExecutionContext#getMergedJobDataMap()}中去掉。
+ * <p>
+ * 此外提供了读取jobFactory、job和trigger以及追加job和trigger的方法，供{@link QuartzJobSchedulerFactoryBeanCustomizer}
+ * 等customizer使用，不需要通过反射读取{@link SchedulerFactoryBean}的私有字段。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Slf4j
+public class IncrementalSchedulerFactoryBean extends SchedulerFactoryBean {
+
+    private boolean incremental = true;
+    private boolean overwriteExistingJobs = false;
+    private List<JobDetail> jobDetails = Collections.emptyList();
+    private List<Trigger> triggers = Collections.emptyList();
+    private JobFactory jobFactory;
+
+    /**
+     * 是否只写入有变化的job和trigger，default value: true
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    @Override
+    public void setOverwriteExistingJobs(boolean overwriteExistingJobs) {
+        super.setOverwriteExistingJobs(overwriteExistingJobs);
+        this.overwriteExistingJobs = overwriteExistingJobs;
+    }
+
+    @Override
+    public void setJobDetails(JobDetail... jobDetails) {
+        super.setJobDetails(jobDetails);
+        this.jobDetails = new ArrayList<>(Arrays.asList(jobDetails));
+    }
+
+    @Override
+    public void setTriggers(Trigger... triggers) {
+        super.setTriggers(triggers);
+        this.triggers = new ArrayList<>(Arrays.asList(triggers));
+    }
+
+    @Override
+    public void setJobFactory(JobFactory jobFactory) {
+        super.setJobFactory(jobFactory);
+        this.jobFactory = jobFactory;
+    }
+
+    /**
+     * 获取设置的jobFactory
+     *
+     * @return jobFactory，没有设置时为null
+     */
+    @Nullable
+    public JobFactory getJobFactory() {
+        return jobFactory;
+    }
+
+    /**
+     * 在已有的JobDetail之后追加JobDetail
+     */
+    public void addJobDetails(JobDetail... jobDetails) {
+        List<JobDetail> merged = new ArrayList<>(this.jobDetails);
+        merged.addAll(Arrays.asList(jobDetails));
+        setJobDetails(merged.toArray(new JobDetail[0]));
+    }
+
+    /**
+     * 在已有的trigger之后追加trigger
+     */
+    public void addTriggers(Trigger... triggers) {
+        List<Trigger> merged = new ArrayList<>(this.triggers);
+        merged.addAll(Arrays.asList(triggers));
+        setTriggers(merged.toArray(new Trigger[0]));
+    }
+
+    /**
+     * 获取设置的JobDetail
+     */
+    public List<JobDetail> getJobDetails() {
+        return Collections.unmodifiableList(jobDetails);
+    }
+
+    /**
+     * 获取设置的trigger
+     */
+    public List<Trigger> getTriggers() {
+        return Collections.unmodifiableList(triggers);
+    }
+
+    @Override
+    protected void registerJobsAndTriggers() throws SchedulerException {
+        if (!incremental) {
+            super.registerJobsAndTriggers();
+            return;
+        }
+        getScheduler().getListenerManager().addJobListener(new FingerprintHidingJobListener());
+        // 新增的定义也保存指纹，下次启动时用于比较
+        for (JobDetail jobDetail : jobDetails) {
+            jobDetail.getJobDataMap().put(JobDefinitionFingerprint.FINGERPRINT_KEY, JobDefinitionFingerprint.of(jobDetail));
+        }
+        for (Trigger trigger : triggers) {
+            trigger.getJobDataMap().put(JobDefinitionFingerprint.FINGERPRINT_KEY, JobDefinitionFingerprint.of(trigger));
+        }
+        if (!overwriteExistingJobs) {
+            // 不覆盖已有的定义，SchedulerFactoryBean本身就只会写入新增的定义
+            super.registerJobsAndTriggers();
+            return;
+        }
+
+        Scheduler scheduler = getScheduler();
+        List<JobDetail> changedJobDetails = new ArrayList<>();
+        for (JobDetail jobDetail : jobDetails) {
+            JobDetail existing = scheduler.getJobDetail(jobDetail.getKey());
+            if (existing == null || !Objects.equals(JobDefinitionFingerprint.get(existing.getJobDataMap()),
+                    JobDefinitionFingerprint.get(jobDetail.getJobDataMap()))) {
+                changedJobDetails.add(jobDetail);
+            }
+        }
+        List<Trigger> changedTriggers = new ArrayList<>();
+        for (Trigger trigger : triggers) {
+            Trigger existing = scheduler.getTrigger(trigger.getKey());
+            if (existing == null || !Objects.equals(JobDefinitionFingerprint.get(existing.getJobDataMap()),
+                    JobDefinitionFingerprint.get(trigger.getJobDataMap()))
+                    || scheduler.getTriggerState(trigger.getKey()) == Trigger.TriggerState.ERROR) {
+                changedTriggers.add(trigger);
+            }
+        }
+        log.info("注册job和trigger，job: {}个（有变化{}个），trigger: {}个（有变化{}个）", jobDetails.size(),
+                changedJobDetails.size(), triggers.size(), changedTriggers.size());
+
+        // 只把有变化的定义交给SchedulerFactoryBean写入，完成后恢复
+        super.setJobDetails(changedJobDetails.toArray(new JobDetail[0]));
+        super.setTriggers(changedTriggers.toArray(new Trigger[0]));
+        try {
+            super.registerJobsAndTriggers();
+        } finally {
+            super.setJobDetails(jobDetails.toArray(new JobDetail[0]));
+            super.setTriggers(triggers.toArray(new Trigger[0]));
+        }
+    }
+
+    /**
+     * job执行前从合并后的JobDataMap中去掉指纹，该JobDataMap是每次执行时新建的，不会写回JobStore
+     */
+    private static class FingerprintHidingJobListener extends JobListenerSupport {
+
+        @Override
+        public String getName() {
+            return FingerprintHidingJobListener.class.getName();
+        }
+
+        @Override
+        public void jobToBeExecuted(JobExecutionContext context) {
+            context.getMergedJobDataMap().remove(JobDefinitionFingerprint.FINGERPRINT_KEY);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package redcoder.quartzextendcore.core;
+
+import org.quartz.*;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * job和trigger定义的指纹，用于判断JobStore中已有的定义与当前的定义是否一致。
+ * <p>
+ * 指纹保存在JobDetail和trigger的JobDataMap中（key为{@link #FINGERPRINT_KEY}），与定义本身存储在同一行，
+ * 删除job或trigger时随之删除。trigger的开始时间（每次启动时根据当前时间计算）不参与计算。
+ * <p>
+ * {@link #FINGERPRINT_KEY}是保留的key，job不应使用。job执行时指纹不可见：{@link ShardingJobFactory}创建job时使用去掉指纹的副本，
+ * 不会绑定到job的属性上；{@link IncrementalSchedulerFactoryBean}在job执行前从{@link JobExecutionContext#getMergedJobDataMap()}中去掉指纹。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public final class JobDefinitionFingerprint {
+
+    /**
+     * 指纹在JobDataMap中的key，保留给框架使用
+     */
+    public static final String FINGERPRINT_KEY = "quartzExtendFingerprint";
+
+    private JobDefinitionFingerprint() {
+    }
+
+    /**
+     * 计算JobDetail的指纹：job类、描述、持久化和并发相关的属性、JobDataMap
+     */
+    public static String of(JobDetail jobDetail) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, "key", jobDetail.getKey());
+        append(sb, "class", jobDetail.getJobClass().getName());
+        append(sb, "description", jobDetail.getDescription());
+        append(sb, "durable", jobDetail.isDurable());
+        append(sb, "requestsRecovery", jobDetail.requestsRecovery());
+        append(sb, "concurrentExecutionDisallowed", jobDetail.isConcurrentExectionDisallowed());
+        append(sb, "persistJobDataAfterExecution", jobDetail.isPersistJobDataAfterExecution());
+        appendJobData(sb, jobDetail.getJobDataMap());
+        return digest(sb);
+    }
+
+    /**
+     * 计算trigger的指纹：trigger类型、关联的job、描述、优先级、misfire策略、结束时间、调度属性、JobDataMap
+     */
+    public static String of(Trigger trigger) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, "key", trigger.getKey());
+        append(sb, "class", trigger.getClass().getName());
+        append(sb, "jobKey", trigger.getJobKey());
+        append(sb, "description", trigger.getDescription());
+        append(sb, "priority", trigger.getPriority());
+        append(sb, "misfireInstruction", trigger.getMisfireInstruction());
+        append(sb, "calendarName", trigger.getCalendarName());
+        Date endTime = trigger.getEndTime();
+        append(sb, "endTime", endTime == null ? null : endTime.getTime());
+        if (trigger instanceof CronTrigger) {
+            CronTrigger cronTrigger = (CronTrigger) trigger;
+            append(sb, "cron", cronTrigger.getCronExpression());
+            append(sb, "timeZone", cronTrigger.getTimeZone().getID());
+        } else if (trigger instanceof SimpleTrigger) {
+            SimpleTrigger simpleTrigger = (SimpleTrigger) trigger;
+            append(sb, "repeatInterval", simpleTrigger.getRepeatInterval());
+            append(sb, "repeatCount", simpleTrigger.getRepeatCount());
+        } else if (trigger instanceof CalendarIntervalTrigger) {
+            CalendarIntervalTrigger calendarIntervalTrigger = (CalendarIntervalTrigger) trigger;
+            append(sb, "repeatInterval", calendarIntervalTrigger.getRepeatInterval());
+            append(sb, "repeatIntervalUnit", calendarIntervalTrigger.getRepeatIntervalUnit());
+            append(sb, "timeZone", calendarIntervalTrigger.getTimeZone().getID());
+            append(sb, "preserveHourOfDay", calendarIntervalTrigger.isPreserveHourOfDayAcrossDaylightSavings());
+            append(sb, "skipDayIfHourDoesNotExist", calendarIntervalTrigger.isSkipDayIfHourDoesNotExist());
+        } else if (trigger instanceof DailyTimeIntervalTrigger) {
+            DailyTimeIntervalTrigger dailyTrigger = (DailyTimeIntervalTrigger) trigger;
+            append(sb, "repeatInterval", dailyTrigger.getRepeatInterval());
+            append(sb, "repeatIntervalUnit", dailyTrigger.getRepeatIntervalUnit());
+            append(sb, "repeatCount", dailyTrigger.getRepeatCount());
+            append(sb, "startTimeOfDay", toString(dailyTrigger.getStartTimeOfDay()));
+            append(sb, "endTimeOfDay", toString(dailyTrigger.getEndTimeOfDay()));
+            append(sb, "daysOfWeek", new TreeSet<>(dailyTrigger.getDaysOfWeek()));
+        } else {
+            // 其他类型的trigger无法比较调度属性，每次都视为有变化
+            append(sb, "identity", System.identityHashCode(trigger));
+        }
+        appendJobData(sb, trigger.getJobDataMap());
+        return digest(sb);
+    }
+
+    /**
+     * 获取JobDataMap中保存的指纹
+     *
+     * @return 指纹，没有保存时为null
+     */
+    @Nullable
+    public static String get(JobDataMap jobDataMap) {
+        Object fingerprint = jobDataMap.get(FINGERPRINT_KEY);
+        return fingerprint instanceof String ? (String) fingerprint : null;
+    }
+
+    /**
+     * 去掉JobDetail和trigger的JobDataMap中的指纹，JobDataMap中没有指纹时直接返回原对象。
+     * JobDetail和trigger会被复制，不影响JobStore中保存的定义（比如{@link PersistJobDataAfterExecution}的job执行后写回的JobDataMap）
+     */
+    public static TriggerFiredBundle strip(TriggerFiredBundle bundle) {
+        JobDetail jobDetail = bundle.getJobDetail();
+        OperableTrigger trigger = bundle.getTrigger();
+        if (!jobDetail.getJobDataMap().containsKey(FINGERPRINT_KEY) && !trigger.getJobDataMap().containsKey(FINGERPRINT_KEY)) {
+            return bundle;
+        }
+        JobDetail strippedJobDetail = (JobDetail) jobDetail.clone();
+        strippedJobDetail.getJobDataMap().remove(FINGERPRINT_KEY);
+        OperableTrigger strippedTrigger = (OperableTrigger) trigger.clone();
+        strippedTrigger.getJobDataMap().remove(FINGERPRINT_KEY);
+        return new TriggerFiredBundle(strippedJobDetail, strippedTrigger, bundle.getCalendar(), bundle.isRecovering(),
+                bundle.getFireTime(), bundle.getScheduledFireTime(), bundle.getPrevFireTime(), bundle.getNextFireTime());
+    }
+
+    /**
+     * 复制JobDataMap，去掉其中的指纹
+     */
+    public static JobDataMap strip(JobDataMap jobDataMap) {
+        JobDataMap stripped = new JobDataMap(jobDataMap.getWrappedMap());
+        stripped.remove(FINGERPRINT_KEY);
+        return stripped;
+    }
+
+    private static void appendJobData(StringBuilder sb, JobDataMap jobDataMap) {
+        Map<String, Object> sorted = new TreeMap<>(jobDataMap.getWrappedMap());
+        sorted.remove(FINGERPRINT_KEY);
+        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+            append(sb, "data." + entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void append(StringBuilder sb, String name, @Nullable Object value) {
+        sb.append(name).append('=').append(value).append('\n');
+    }
+
+    @Nullable
+    private static String toString(@Nullable TimeOfDay timeOfDay) {
+        return timeOfDay == null ? null
+                : timeOfDay.getHour() + ":" + timeOfDay.getMinute() + ":" + timeOfDay.getSecond();
+    }
+
+    private static String digest(StringBuilder sb) {
+        return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package redcoder.quartzextendcore.core;
+
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.TriggerKey;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 分片执行job的常量和工具方法，参见{@link QuartzJob#shards()}。
+ * <p>
+ * 分片的序号、分片总数和父触发标识保存在分片trigger的JobDataMap中，job可以通过{@link #getShardIndex(JobExecutionContext)}、
+ * {@link #getShardCount(JobExecutionContext)}获取，使用{@link org.springframework.scheduling.quartz.SpringBeanJobFactory}时，
+ * 也可以通过setShardIndex、setShardCount方法注入。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public final class JobShards {
+
+    /**
+     * 分片trigger所在的组
+     */
+    public static final String SHARD_TRIGGER_GROUP = "QUARTZ_EXTEND_SHARDS";
+    /**
+     * JobDataMap中分片序号的key，从0开始
+     */
+    public static final String SHARD_INDEX = "shardIndex";
+    /**
+     * JobDataMap中分片总数的key
+     */
+    public static final String SHARD_COUNT = "shardCount";
+    /**
+     * JobDataMap中父触发标识（分发分片的那次触发的fireInstanceId）的key
+     */
+    public static final String SHARD_PARENT_ID = "shardParentId";
+
+    /**
+     * QRTZ_TRIGGERS.TRIGGER_NAME的最大长度（MySQL为190，其他数据库为200，取较小值）
+     */
+    static final int MAX_TRIGGER_NAME_LENGTH = 190;
+
+    private JobShards() {
+    }
+
+    /**
+     * 生成分片trigger的名称：jobName#parentId#index。加上{@link ShardJob#FAILURE_SUFFIX}后超过{@link #MAX_TRIGGER_NAME_LENGTH}时，
+     * 截断jobName并追加其md5，保证名称唯一
+     */
+    static String shardTriggerName(String jobName, String parentId, int index) {
+        String suffix = "#" + parentId + "#" + index;
+        int maxJobNameLength = MAX_TRIGGER_NAME_LENGTH - ShardJob.FAILURE_SUFFIX.length() - suffix.length();
+        if (jobName.length() <= maxJobNameLength) {
+            return jobName + suffix;
+        }
+        String digest = DigestUtils.md5DigestAsHex(jobName.getBytes(StandardCharsets.UTF_8));
+        return jobName.substring(0, Math.max(maxJobNameLength - digest.length() - 1, 0)) + "~" + digest + suffix;
+    }
+
+    /**
+     * 是否为分片trigger
+     */
+    public static boolean isShardTrigger(TriggerKey triggerKey) {
+        return SHARD_TRIGGER_GROUP.equals(triggerKey.getGroup());
+    }
+
+    /**
+     * 获取当前执行的分片序号，未分片时返回0
+     */
+    public static int getShardIndex(JobExecutionContext context) {
+        JobDataMap jobDataMap = context.getTrigger().getJobDataMap();
+        return jobDataMap.containsKey(SHARD_INDEX) ? jobDataMap.getInt(SHARD_INDEX) : 0;
+    }
+
+    /**
+     * 获取分片总数，未分片时返回1
+     */
+    public static int getShardCount(JobExecutionContext context) {
+        JobDataMap jobDataMap = context.getTrigger().getJobDataMap();
+        return jobDataMap.containsKey(SHARD_COUNT) ? jobDataMap.getInt(SHARD_COUNT) : 1;
+    }
+
+    /**
+     * 获取父触发标识，未分片时返回null
+     */
+    @Nullable
+    public static String getShardParentId(JobExecutionContext context) {
+        return context.getTrigger().getJobDataMap().getString(SHARD_PARENT_ID);
+    }
+}
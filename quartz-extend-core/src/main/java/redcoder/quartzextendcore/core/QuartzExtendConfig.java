@@ -1,18 +1,39 @@
 package redcoder.quartzextendcore.core;
 
+import redcoder.quartzextendcore.scheduler.HttpClientPoolMetrics;
+import redcoder.quartzextendcore.scheduler.HttpClientProperties;
+import redcoder.quartzextendcore.scheduler.HttpClientRegistry;
+import redcoder.quartzextendcore.scheduler.JdbcJobTriggerInfoReader;
+import redcoder.quartzextendcore.scheduler.JobBootstrapProperties;
+import redcoder.quartzextendcore.scheduler.JobBulkheadProperties;
+import redcoder.quartzextendcore.scheduler.JobExecutionHistory;
+import redcoder.quartzextendcore.scheduler.JobExecutionHistoryProperties;
+import redcoder.quartzextendcore.scheduler.JobExecutionHistoryPusher;
+import redcoder.quartzextendcore.scheduler.JobTaskExecutor;
+import redcoder.quartzextendcore.scheduler.JobTaskExecutorMetrics;
+import redcoder.quartzextendcore.scheduler.JobTaskExecutorThreadPool;
+import redcoder.quartzextendcore.scheduler.JobThreadPoolProperties;
 import redcoder.quartzextendcore.scheduler.QuartzController;
+import redcoder.quartzextendcore.scheduler.QuartzJobMetrics;
 import redcoder.quartzextendcore.scheduler.QuartzJobSchedulerProperties;
 import redcoder.quartzextendcore.scheduler.QuartzService;
 import org.quartz.Scheduler;
+import org.quartz.impl.StdSchedulerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.scheduling.quartz.SpringBeanJobFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.ResourceTransactionManager;
 
 import javax.sql.DataSource;
 import java.util.Properties;
@@ -28,6 +49,9 @@ import java.util.Properties;
 @EnableConfigurationProperties(QuartzProperties.class)
 public class QuartzExtendConfig {
 
+    private static final String PROP_TABLE_PREFIX = "org.quartz.jobStore.tablePrefix";
+    private static final String PROP_THREAD_POOL_PREFIX = StdSchedulerFactory.PROP_THREAD_POOL_PREFIX + ".";
+
     @Bean
     @ConditionalOnMissingBean(SpringBeanJobFactory.class)
     public SpringBeanJobFactory springBeanJobFactory() {
@@ -38,30 +62,106 @@ public class QuartzExtendConfig {
     @ConditionalOnMissingBean(SchedulerFactoryBean.class)
     public SchedulerFactoryBean schedulerFactoryBean(QuartzProperties quartzProperties,
                                                      DataSource dataSource,
-                                                     SpringBeanJobFactory jobFactory) {
-        SchedulerFactoryBean schedulerFactoryBean = new SchedulerFactoryBean();
+                                                     SpringBeanJobFactory jobFactory,
+                                                     ObjectProvider<JobTaskExecutor> jobTaskExecutor,
+                                                     JobBootstrapProperties bootstrapProperties,
+                                                     ObjectProvider<PlatformTransactionManager> transactionManager,
+                                                     ObjectProvider<SchedulerFactoryBeanCustomizer> customizers,
+                                                     HttpClientRegistry httpClientRegistry) {
+        // 依赖HttpClientRegistry，使http客户端在调度器之后关闭，调度器关闭时仍可以推送剩余的执行记录
+        IncrementalSchedulerFactoryBean schedulerFactoryBean = new IncrementalSchedulerFactoryBean();
         // add properties
         Properties properties = new Properties();
         properties.putAll(quartzProperties.getProperties());
+        // 使用JobTaskExecutor执行job时，quartz自身线程池的配置不再生效
+        jobTaskExecutor.ifAvailable(taskExecutor -> {
+            properties.stringPropertyNames().stream()
+                    .filter(name -> name.startsWith(PROP_THREAD_POOL_PREFIX))
+                    .forEach(properties::remove);
+            properties.setProperty(StdSchedulerFactory.PROP_THREAD_POOL_CLASS, JobTaskExecutorThreadPool.class.getName());
+            schedulerFactoryBean.setTaskExecutor(taskExecutor);
+        });
         // auto startup
         schedulerFactoryBean.setAutoStartup(quartzProperties.isAutoStartup());
         // delay startup
         schedulerFactoryBean.setStartupDelay((int) quartzProperties.getStartupDelay().getSeconds());
         // overwrite existing jobs
         schedulerFactoryBean.setOverwriteExistingJobs(quartzProperties.isOverwriteExistingJobs());
+        // 只写入有变化的job和trigger，事务管理器管理的正是JobStore的DataSource时，在同一个事务中写入
+        schedulerFactoryBean.setIncremental(bootstrapProperties.isIncremental());
+        transactionManager.ifUnique(tm -> {
+            if (bootstrapProperties.isIncremental() && tm instanceof ResourceTransactionManager
+                    && ((ResourceTransactionManager) tm).getResourceFactory() == dataSource) {
+                schedulerFactoryBean.setTransactionManager(tm);
+            }
+        });
         // set properties
         schedulerFactoryBean.setQuartzProperties(properties);
         // set job factory
         schedulerFactoryBean.setJobFactory(jobFactory);
         // set datasource
         schedulerFactoryBean.setDataSource(dataSource);
+        // 依次执行customizer，QuartzJobSchedulerFactoryBeanCustomizer在最后添加@QuartzJob定义的job和trigger
+        customizers.orderedStream().forEach(customizer -> customizer.customize(schedulerFactoryBean));
 
         return schedulerFactoryBean;
     }
 
     @Bean
-    public QuartzService quartzService(Scheduler scheduler, Environment env, QuartzJobSchedulerProperties properties) {
-        return new QuartzService(scheduler, env, properties);
+    @ConditionalOnMissingBean(QuartzJobDefinitions.class)
+    public QuartzJobDefinitions quartzJobDefinitions(ListableBeanFactory beanFactory) {
+        return new QuartzJobDefinitions(beanFactory);
+    }
+
+    @Bean
+    public QuartzJobSchedulerFactoryBeanCustomizer quartzJobSchedulerFactoryBeanCustomizer(
+            QuartzJobDefinitions definitions, SpringBeanJobFactory jobFactory,
+            ObjectProvider<JobBulkheadProperties> bulkheadProperties) {
+        return new QuartzJobSchedulerFactoryBeanCustomizer(definitions, jobFactory,
+                bulkheadProperties.getIfAvailable(JobBulkheadProperties::new));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(JobTaskExecutor.class)
+    @ConditionalOnProperty("quartz-job-scheduler.thread-pool.type")
+    public JobTaskExecutor jobTaskExecutor(JobThreadPoolProperties properties) {
+        return JobTaskExecutor.create(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(HttpClientRegistry.class)
+    public HttpClientRegistry httpClientRegistry(HttpClientProperties httpClientProperties) {
+        return new HttpClientRegistry(httpClientProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(JobExecutionHistory.class)
+    public JobExecutionHistory jobExecutionHistory(Scheduler scheduler, JobExecutionHistoryProperties properties) {
+        return new JobExecutionHistory(scheduler, properties.getCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty("quartz-job-scheduler.history.push-url")
+    public JobExecutionHistoryPusher jobExecutionHistoryPusher(Scheduler scheduler,
+                                                               JobExecutionHistory jobExecutionHistory,
+                                                               JobExecutionHistoryProperties properties,
+                                                               HttpClientRegistry httpClientRegistry) {
+        return new JobExecutionHistoryPusher(scheduler, jobExecutionHistory, properties,
+                httpClientRegistry.get(HttpClientRegistry.PROFILE_REGISTRY));
+    }
+
+    @Bean
+    public QuartzService quartzService(Scheduler scheduler, Environment env, QuartzJobSchedulerProperties properties,
+                                       QuartzProperties quartzProperties, DataSource dataSource,
+                                       HttpClientRegistry httpClientRegistry, JobExecutionHistory jobExecutionHistory) {
+        // SchedulerFactoryBean设置了DataSource后，JobStore使用的就是这个DataSource
+        String tablePrefix = quartzProperties.getProperties()
+                .getOrDefault(PROP_TABLE_PREFIX, JdbcJobTriggerInfoReader.DEFAULT_TABLE_PREFIX);
+        JdbcJobTriggerInfoReader jobTriggerInfoReader = new JdbcJobTriggerInfoReader(dataSource, tablePrefix);
+        QuartzService quartzService = new QuartzService(scheduler, env, properties, jobTriggerInfoReader);
+        quartzService.setRegistryClient(httpClientRegistry.get(HttpClientRegistry.PROFILE_REGISTRY));
+        quartzService.setJobExecutionHistory(jobExecutionHistory);
+        return quartzService;
     }
 
     @Bean
@@ -73,4 +173,29 @@ public class QuartzExtendConfig {
     public static QuartzJobBeanPostProcessor quartzJobBeanPostProcessor() {
         return new QuartzJobBeanPostProcessor();
     }
+
+    /**
+     * 存在micrometer时，暴露job执行情况、线程池和http连接池的统计信息；不存在时，不会加载任何相关的类
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class MetricsConfig {
+
+        @Bean
+        @ConditionalOnMissingBean(QuartzJobMetrics.class)
+        public QuartzJobMetrics quartzJobMetrics(Scheduler scheduler) {
+            return new QuartzJobMetrics(scheduler);
+        }
+
+        @Bean
+        public HttpClientPoolMetrics httpClientPoolMetrics(HttpClientRegistry httpClientRegistry) {
+            return new HttpClientPoolMetrics(httpClientRegistry);
+        }
+
+        @Bean
+        @ConditionalOnProperty("quartz-job-scheduler.thread-pool.type")
+        public JobTaskExecutorMetrics jobTaskExecutorMetrics(JobTaskExecutor jobTaskExecutor) {
+            return new JobTaskExecutorMetrics(jobTaskExecutor);
+        }
+    }
 }
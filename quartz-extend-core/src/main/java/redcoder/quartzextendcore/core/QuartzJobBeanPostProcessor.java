@@ -1,39 +1,40 @@
 package redcoder.quartzextendcore.core;
 
 import lombok.extern.slf4j.Slf4j;
-import redcoder.quartzextendcore.annotation.QuartzJob;
-import redcoder.quartzextendcore.annotation.QuartzTrigger;
-import org.quartz.*;
+import redcoder.quartzextendcore.scheduler.JobBulkheadProperties;
+import org.quartz.JobDetail;
+import org.quartz.Trigger;
 import org.quartz.spi.JobFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.scheduling.quartz.SchedulerAccessor;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.scheduling.quartz.SpringBeanJobFactory;
-import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * 处理{@link SchedulerFactoryBean}的BeanPostProcessor，存在{@link QuartzJob}注解的类都会被添加到QuartzScheduler中，
- * 如果类上同时存在{@link QuartzTrigger}，也会创建一个trigger，关联到job上。
+ * 处理其他的{@link SchedulerFactoryBean}（比如应用自己定义的）的BeanPostProcessor，把{@link QuartzJobDefinitions}中的job和trigger
+ * 添加到QuartzScheduler中。{@link SchedulerFactoryBean}没有提供读取已有job、trigger和jobFactory的方法，只能通过反射读取。
+ * <p>
+ * {@link QuartzExtendConfig}创建的{@link IncrementalSchedulerFactoryBean}由{@link QuartzJobSchedulerFactoryBeanCustomizer}处理，
+ * 不会使用反射。
  *
  * @author redcoder54
  * @since 1.0.0
  */
 @Slf4j
-public class QuartzJobBeanPostProcessor extends QuartzJobProcessorSupport implements BeanPostProcessor, ApplicationContextAware {
+public class QuartzJobBeanPostProcessor implements BeanPostProcessor, ApplicationContextAware {
 
     private ApplicationContext applicationContext;
 
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-        if (!(bean instanceof SchedulerFactoryBean)) {
+        if (!(bean instanceof SchedulerFactoryBean) || bean instanceof IncrementalSchedulerFactoryBean) {
             return bean;
         }
         try {
@@ -48,41 +49,10 @@ public class QuartzJobBeanPostProcessor extends QuartzJobProcessorSupport implem
             // 获取已有的Trigger
             List<Trigger> triggers = getExistingTriggers(schedulerAccessorClass, schedulerFactoryBean);
 
-            String[] jobBeanNames = applicationContext.getBeanNamesForType(Job.class);
-            for (String jobBeanName : jobBeanNames) {
-                @SuppressWarnings("unchecked")
-                Class<? extends Job> jobType = (Class<? extends Job>) applicationContext.getType(jobBeanName);
-                if (jobType == null) {
-                    continue;
-                }
-                QuartzJob quartzJob = AnnotationUtils.findAnnotation(jobType, QuartzJob.class);
-                QuartzTrigger quartzTrigger = AnnotationUtils.findAnnotation(jobType, QuartzTrigger.class);
-                if (quartzJob != null) {
-                    // 创建JobDetail并添加到列表中
-                    JobDetail jobDetail = JobBuilder.newJob(jobType)
-                            .withIdentity(createJobKeyName(quartzJob, jobType), quartzJob.jobKeyGroup())
-                            .withDescription(quartzJob.jobDescription())
-                            .storeDurably(quartzJob.storeDurably())
-                            .build();
-                    jobDetails.add(jobDetail);
-
-                    if (quartzTrigger != null) {
-                        // 创建job对应的trigger并添加到列表中
-                        String cron = quartzTrigger.cron();
-                        if (StringUtils.hasText(cron)) {
-                            CronTrigger trigger = TriggerBuilder.newTrigger()
-                                    .forJob(jobDetail.getKey())
-                                    .withIdentity(createTriggerKeyName(quartzTrigger, jobType), quartzTrigger.triggerKeyGroup())
-                                    .withDescription(quartzTrigger.triggerDescription())
-                                    .withSchedule(CronScheduleBuilder.cronSchedule(cron))
-                                    .build();
-                            triggers.add(trigger);
-                        } else {
-                            log.warn("未指定cronExpress，不会创建job相关联的trigger");
-                        }
-                    }
-                }
-            }
+            QuartzJobDefinitions definitions = applicationContext.getBeanProvider(QuartzJobDefinitions.class)
+                    .getIfAvailable(() -> new QuartzJobDefinitions(applicationContext));
+            jobDetails.addAll(definitions.getJobDetails());
+            triggers.addAll(definitions.getTriggers());
 
             // 重新设置JobDetails和Triggers
             schedulerFactoryBean.setJobDetails(jobDetails.toArray(new JobDetail[0]));
@@ -94,7 +64,8 @@ public class QuartzJobBeanPostProcessor extends QuartzJobProcessorSupport implem
     }
 
     /**
-     * 如果{@link SchedulerFactoryBean#jobFactory}为null，则将其设置为{@link SpringBeanJobFactory}
+     * 如果{@link SchedulerFactoryBean#jobFactory}为null，则将其设置为{@link SpringBeanJobFactory}，
+     * 再用{@link QuartzJobSchedulerFactoryBeanCustomizer#decorate}包装，以支持限制同时执行数和分片执行job。
      */
     private void setJobFactoryIfNull(SchedulerFactoryBean schedulerFactoryBean) {
         try {
@@ -103,7 +74,12 @@ public class QuartzJobBeanPostProcessor extends QuartzJobProcessorSupport implem
             field.setAccessible(true);
             JobFactory jobFactory = (JobFactory) field.get(schedulerFactoryBean);
             if (jobFactory == null) {
-                schedulerFactoryBean.setJobFactory(applicationContext.getBean(SpringBeanJobFactory.class));
+                jobFactory = applicationContext.getBean(SpringBeanJobFactory.class);
+            }
+            if (!(jobFactory instanceof ShardingJobFactory)) {
+                JobBulkheadProperties bulkheadProperties = applicationContext.getBeanProvider(JobBulkheadProperties.class)
+                        .getIfAvailable(JobBulkheadProperties::new);
+                schedulerFactoryBean.setJobFactory(QuartzJobSchedulerFactoryBeanCustomizer.decorate(jobFactory, bulkheadProperties));
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -0,0 +1,158 @@
+package redcoder.quartzextendcore.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+
+import java.util.*;
+
+/**
+ * 根据{@link QuartzJob}、{@link QuartzTrigger}注解创建的JobDetail和trigger，第一次获取时创建，之后直接返回。
+ * <p>
+ * 存在{@link QuartzJob}注解的类都会创建一个JobDetail，类上的每个{@link QuartzTrigger}都会创建一个trigger，关联到job上。
+ * {@link QuartzJobIndex}中包含注解属性的job，直接使用索引中的属性，不再反射解析注解。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Slf4j
+public class QuartzJobDefinitions extends QuartzJobProcessorSupport {
+
+    private final ListableBeanFactory beanFactory;
+
+    private volatile List<JobDetail> jobDetails;
+    private volatile List<Trigger> triggers;
+
+    public QuartzJobDefinitions(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * 获取所有的JobDetail
+     */
+    public List<JobDetail> getJobDetails() {
+        init();
+        return jobDetails;
+    }
+
+    /**
+     * 获取所有的trigger
+     */
+    public List<Trigger> getTriggers() {
+        init();
+        return triggers;
+    }
+
+    private void init() {
+        if (jobDetails != null) {
+            return;
+        }
+        synchronized (this) {
+            if (jobDetails == null) {
+                List<JobDetail> jobDetailList = new ArrayList<>();
+                List<Trigger> triggerList = new ArrayList<>();
+                create(jobDetailList, triggerList);
+                triggers = Collections.unmodifiableList(triggerList);
+                jobDetails = Collections.unmodifiableList(jobDetailList);
+            }
+        }
+    }
+
+    private void create(List<JobDetail> jobDetails, List<Trigger> triggers) {
+        for (Map.Entry<Class<? extends Job>, QuartzJobIndex.Entry> entry : getJobTypes().entrySet()) {
+            Class<? extends Job> jobType = entry.getKey();
+            QuartzJob quartzJob = null;
+            Collection<QuartzTrigger> quartzTriggers = null;
+            if (entry.getValue() != null && entry.getValue().hasAttributes()) {
+                try {
+                    quartzJob = entry.getValue().getQuartzJob(jobType);
+                    quartzTriggers = entry.getValue().getQuartzTriggers(jobType);
+                } catch (IllegalArgumentException e) {
+                    log.warn("{}中的注解属性无效，索引可能已过期，改为解析job类上的注解: {}", QuartzJobIndex.INDEX_LOCATION, e.getMessage());
+                }
+            }
+            if (quartzTriggers == null) {
+                quartzJob = AnnotationUtils.findAnnotation(jobType, QuartzJob.class);
+                quartzTriggers = AnnotatedElementUtils.findMergedRepeatableAnnotations(jobType, QuartzTrigger.class);
+            }
+            if (quartzJob != null) {
+                // 创建JobDetail并添加到列表中
+                JobDetail jobDetail = JobBuilder.newJob(jobType)
+                        .withIdentity(createJobKeyName(quartzJob, jobType), quartzJob.jobKeyGroup())
+                        .withDescription(quartzJob.jobDescription())
+                        .storeDurably(quartzJob.storeDurably())
+                        .usingJobData(createJobDataMap(quartzJob.jobData()))
+                        .build();
+                jobDetails.add(jobDetail);
+
+                // 每个@QuartzTrigger创建一个trigger，关联到同一个JobDetail
+                Set<TriggerKey> triggerKeys = new HashSet<>();
+                int index = 0;
+                for (QuartzTrigger quartzTrigger : quartzTriggers) {
+                    try {
+                        Trigger trigger = createTrigger(quartzTrigger, jobType, jobDetail.getKey(), index++);
+                        if (triggerKeys.add(trigger.getKey())) {
+                            triggers.add(trigger);
+                        } else {
+                            log.error("trigger名称重复，不会创建job相关联的trigger: {}, {}", jobType.getName(), trigger.getKey());
+                        }
+                    } catch (RuntimeException e) {
+                        log.error("@QuartzTrigger配置错误，不会创建job相关联的trigger: " + jobType.getName(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取需要创建的job。存在{@link QuartzJobIndex}时，先使用索引中的job，再合并容器中不在索引里的Job类型的bean，
+     * 比如来自未生成索引的jar包、或者通过@Bean方法注册的job，这些job通过反射解析注解
+     *
+     * @return key: job类，value: job的索引，不是来自索引时为null
+     */
+    private Map<Class<? extends Job>, QuartzJobIndex.Entry> getJobTypes() {
+        Map<Class<? extends Job>, QuartzJobIndex.Entry> jobTypes = new LinkedHashMap<>();
+        boolean indexed = beanFactory.containsBeanDefinition(QuartzJobIndex.BEAN_NAME);
+        if (indexed) {
+            QuartzJobIndex index = beanFactory.getBean(QuartzJobIndex.BEAN_NAME, QuartzJobIndex.class);
+            ClassLoader classLoader = beanFactory instanceof ConfigurableBeanFactory
+                    ? ((ConfigurableBeanFactory) beanFactory).getBeanClassLoader() : ClassUtils.getDefaultClassLoader();
+            for (QuartzJobIndex.Entry entry : index.getEntries()) {
+                try {
+                    Class<?> jobType = ClassUtils.forName(entry.getClassName(), classLoader);
+                    if (Job.class.isAssignableFrom(jobType)) {
+                        @SuppressWarnings("unchecked")
+                        Class<? extends Job> type = (Class<? extends Job>) jobType;
+                        jobTypes.put(type, entry);
+                    }
+                } catch (ClassNotFoundException | LinkageError e) {
+                    log.warn("加载job类失败: " + entry.getClassName(), e);
+                }
+            }
+        }
+
+        String[] jobBeanNames = beanFactory.getBeanNamesForType(Job.class);
+        for (String jobBeanName : jobBeanNames) {
+            Class<?> beanType = beanFactory.getType(jobBeanName);
+            if (beanType == null) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            Class<? extends Job> jobType = (Class<? extends Job>) ClassUtils.getUserClass(beanType);
+            if (jobTypes.containsKey(jobType)) {
+                continue;
+            }
+            if (indexed) {
+                log.debug("{}中没有job: {}，使用容器中的bean", QuartzJobIndex.INDEX_LOCATION, jobType.getName());
+            }
+            jobTypes.put(jobType, null);
+        }
+        return jobTypes;
+    }
+}
@@ -0,0 +1,303 @@
+package redcoder.quartzextendcore.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * {@link QuartzJob}类的索引，由quartz-extend-indexer在编译时生成，保存在{@value #INDEX_LOCATION}中，
+ * 包含job类名和类上{@link QuartzJob}、{@link QuartzTrigger}注解的属性。
+ * 类路径的根目录（目录或jar包）存在索引时，启动时不再扫描该根目录，参见{@link ClassPathQuartzJobScanner}；
+ * 索引中包含注解属性时，不再通过反射解析注解，参见{@link QuartzJobDefinitions}。
+ * <p>
+ * 可以通过系统属性或spring.properties中的{@value #IGNORE_INDEX}=true忽略索引。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Slf4j
+public class QuartzJobIndex {
+
+    /**
+     * 索引文件的位置
+     */
+    public static final String INDEX_LOCATION = "META-INF/quartz-extend/jobs.index";
+    /**
+     * 忽略索引的配置项
+     */
+    public static final String IGNORE_INDEX = "quartz.extend.index.ignore";
+    /**
+     * 注册到spring容器中的索引的bean名称，只包含注册到容器中的job
+     */
+    public static final String BEAN_NAME = "redcoder.quartzextendcore.core.quartzJobIndex";
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    /**
+     * 存在索引文件的类路径根目录的URL，以/结尾
+     */
+    private final Set<String> roots = new HashSet<>();
+
+    public QuartzJobIndex() {
+    }
+
+    public QuartzJobIndex(Collection<Entry> entries) {
+        addEntries(entries);
+    }
+
+    /**
+     * 加载类路径下所有的索引文件
+     *
+     * @return 索引，没有索引文件或忽略索引时返回null
+     */
+    @Nullable
+    public static QuartzJobIndex load(@Nullable ClassLoader classLoader) {
+        if (SpringProperties.getFlag(IGNORE_INDEX)) {
+            return null;
+        }
+        try {
+            Enumeration<URL> urls = classLoader != null ? classLoader.getResources(INDEX_LOCATION)
+                    : ClassLoader.getSystemResources(INDEX_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+            QuartzJobIndex index = new QuartzJobIndex();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        Entry entry = Entry.parse(line);
+                        if (entry != null) {
+                            index.entries.put(entry.getClassName(), entry);
+                        }
+                    }
+                }
+                String location = url.toString();
+                index.roots.add(location.substring(0, location.length() - INDEX_LOCATION.length()));
+            }
+            return index;
+        } catch (IOException e) {
+            log.warn("读取" + INDEX_LOCATION + "失败，改为扫描类路径", e);
+            return null;
+        }
+    }
+
+    public void addEntries(Collection<Entry> entries) {
+        for (Entry entry : entries) {
+            this.entries.put(entry.getClassName(), entry);
+        }
+    }
+
+    public Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    @Nullable
+    public Entry getEntry(String className) {
+        return entries.get(className);
+    }
+
+    /**
+     * 类路径的根目录下是否存在索引文件
+     *
+     * @param root 根目录的URL，以/结尾
+     */
+    public boolean isIndexed(String root) {
+        return roots.contains(root);
+    }
+
+    /**
+     * 获取指定包及其子包下的job
+     */
+    public List<Entry> getEntries(String basePackage) {
+        String prefix = basePackage.endsWith(".") ? basePackage : basePackage + ".";
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.getClassName().startsWith(prefix)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 一个job类的索引
+     */
+    public static class Entry {
+
+        private static final String TRIGGERS = "triggers=";
+        private static final String JOB_PREFIX = "job.";
+        private static final String TRIGGER_PREFIX = "trigger.";
+
+        private final String className;
+        /**
+         * {@link QuartzJob}中显式指定的属性，索引中没有注解属性时为null
+         */
+        @Nullable
+        private final Map<String, String> jobAttributes;
+        /**
+         * 各个{@link QuartzTrigger}中显式指定的属性
+         */
+        private final List<Map<String, String>> triggerAttributes;
+
+        /**
+         * 只有类名的索引，用于扫描类路径得到的job
+         */
+        public Entry(String className) {
+            this(className, null, Collections.emptyList());
+        }
+
+        Entry(String className, @Nullable Map<String, String> jobAttributes, List<Map<String, String>> triggerAttributes) {
+            this.className = className;
+            this.jobAttributes = jobAttributes;
+            this.triggerAttributes = triggerAttributes;
+        }
+
+        @Nullable
+        static Entry parse(String line) {
+            if (!StringUtils.hasText(line) || line.startsWith("#")) {
+                return null;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length < 2 || !fields[1].startsWith(TRIGGERS)) {
+                return new Entry(fields[0].trim());
+            }
+            int triggerCount = Integer.parseInt(fields[1].substring(TRIGGERS.length()));
+            Map<String, String> jobAttributes = new LinkedHashMap<>();
+            List<Map<String, String>> triggerAttributes = new ArrayList<>();
+            for (int i = 0; i < triggerCount; i++) {
+                triggerAttributes.add(new LinkedHashMap<>());
+            }
+            for (int i = 2; i < fields.length; i++) {
+                int separator = fields[i].indexOf('=');
+                String name = fields[i].substring(0, separator);
+                String value = fields[i].substring(separator + 1);
+                if (name.startsWith(JOB_PREFIX)) {
+                    jobAttributes.put(name.substring(JOB_PREFIX.length()), value);
+                } else if (name.startsWith(TRIGGER_PREFIX)) {
+                    int dot = name.indexOf('.', TRIGGER_PREFIX.length());
+                    int triggerIndex = Integer.parseInt(name.substring(TRIGGER_PREFIX.length(), dot));
+                    triggerAttributes.get(triggerIndex).put(name.substring(dot + 1), value);
+                }
+            }
+            return new Entry(fields[0], jobAttributes, triggerAttributes);
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * 索引中是否包含注解的属性，不包含时需要通过反射解析注解
+         */
+        public boolean hasAttributes() {
+            return jobAttributes != null;
+        }
+
+        /**
+         * 根据索引中的属性创建job类上的{@link QuartzJob}注解
+         *
+         * @throws IllegalArgumentException 索引中的属性与注解不匹配，索引已过期
+         */
+        public QuartzJob getQuartzJob(Class<?> jobType) {
+            Assert.state(jobAttributes != null, "No attributes in index: " + className);
+            return synthesize(QuartzJob.class, jobAttributes, jobType);
+        }
+
+        /**
+         * 根据索引中的属性创建job类上的{@link QuartzTrigger}注解，顺序与类上声明的顺序一致
+         *
+         * @throws IllegalArgumentException 索引中的属性与注解不匹配，索引已过期
+         */
+        public List<QuartzTrigger> getQuartzTriggers(Class<?> jobType) {
+            List<QuartzTrigger> quartzTriggers = new ArrayList<>();
+            for (Map<String, String> attributes : triggerAttributes) {
+                quartzTriggers.add(synthesize(QuartzTrigger.class, attributes, jobType));
+            }
+            return quartzTriggers;
+        }
+
+        private static <A extends Annotation> A synthesize(Class<A> annotationType, Map<String, String> attributes,
+                                                           Class<?> jobType) {
+            Map<String, Object> values = new HashMap<>();
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                try {
+                    Class<?> attributeType = annotationType.getMethod(attribute.getKey()).getReturnType();
+                    values.put(attribute.getKey(), convert(attribute.getValue(), attributeType, jobType.getClassLoader()));
+                } catch (NoSuchMethodException | ClassNotFoundException | RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid attribute " + attribute.getKey() + " of @"
+                            + annotationType.getSimpleName() + " in index: " + jobType.getName(), e);
+                }
+            }
+            return AnnotationUtils.synthesizeAnnotation(values, annotationType, jobType);
+        }
+
+        /**
+         * 将索引中的属性值转换为注解属性的类型，编码方式参见quartz-extend-indexer
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object convert(String value, Class<?> type, @Nullable ClassLoader classLoader)
+                throws ClassNotFoundException {
+            if (type.isArray()) {
+                String[] elements = value.isEmpty() ? new String[0] : value.split(",");
+                Object array = Array.newInstance(type.getComponentType(), elements.length);
+                for (int i = 0; i < elements.length; i++) {
+                    Array.set(array, i, convert(elements[i], type.getComponentType(), classLoader));
+                }
+                return array;
+            }
+            if (type == String.class) {
+                return decode(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+            if (type == Class.class) {
+                return ClassUtils.forName(value, classLoader);
+            }
+            if (type.isAnnotation()) {
+                // @QuartzJobData: key:value
+                int separator = value.indexOf(':');
+                Map<String, Object> values = new HashMap<>();
+                values.put("key", decode(value.substring(0, separator)));
+                values.put("value", decode(value.substring(separator + 1)));
+                return AnnotationUtils.synthesizeAnnotation(values, (Class<? extends Annotation>) type, null);
+            }
+            if (type == boolean.class) {
+                return Boolean.parseBoolean(value);
+            }
+            if (type == int.class) {
+                return Integer.parseInt(value);
+            }
+            if (type == long.class) {
+                return Long.parseLong(value);
+            }
+            throw new IllegalArgumentException("Unsupported attribute type: " + type.getName());
+        }
+
+        private static String decode(String value) {
+            try {
+                return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
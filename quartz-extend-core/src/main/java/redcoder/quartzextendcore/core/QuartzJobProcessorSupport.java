@@ -1,11 +1,22 @@
 package redcoder.quartzextendcore.core;
 
 import lombok.extern.slf4j.Slf4j;
-import org.quartz.Job;
+import org.quartz.*;
+import org.quartz.DateBuilder.IntervalUnit;
+import org.quartz.spi.MutableTrigger;
 import org.springframework.util.StringUtils;
 import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzJobData;
 import redcoder.quartzextendcore.annotation.QuartzTrigger;
 
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.TimeZone;
+
 /**
  * @author wxy
  * @since 2022-06-21
@@ -31,6 +42,160 @@ public class QuartzJobProcessorSupport {
         return createGenerator(quartzTrigger.quartzKeyNameGenerator()).generateTriggerKeyName(jobClass);
     }
 
+    /**
+     * 生成job类上第index个（从0开始）{@link QuartzTrigger}的trigger名称，第1个之后的生成名称会追加序号
+     *
+     * @since 1.1.0
+     */
+    public String createTriggerKeyName(QuartzTrigger quartzTrigger, Class<? extends Job> jobClass, int index) {
+        if (StringUtils.hasText(quartzTrigger.triggerKeyName()) || index == 0) {
+            return createTriggerKeyName(quartzTrigger, jobClass);
+        }
+        return createTriggerKeyName(quartzTrigger, jobClass) + "_" + index;
+    }
+
+    /**
+     * 将{@link QuartzJobData}转换为JobDataMap
+     *
+     * @since 1.1.0
+     */
+    public JobDataMap createJobDataMap(QuartzJobData[] jobData) {
+        JobDataMap jobDataMap = new JobDataMap();
+        for (QuartzJobData data : jobData) {
+            jobDataMap.put(data.key(), data.value());
+        }
+        return jobDataMap;
+    }
+
+    /**
+     * 根据{@link QuartzTrigger}创建job的trigger
+     *
+     * @param quartzTrigger trigger的定义
+     * @param jobClass      job类
+     * @param jobKey        trigger关联的job
+     * @param index         quartzTrigger是job类上的第几个（从0开始）{@link QuartzTrigger}
+     * @return trigger
+     * @throws IllegalArgumentException trigger的定义不合法
+     * @since 1.1.0
+     */
+    public Trigger createTrigger(QuartzTrigger quartzTrigger, Class<? extends Job> jobClass, JobKey jobKey, int index) {
+        TimeZone timeZone = StringUtils.hasText(quartzTrigger.timeZone())
+                ? TimeZone.getTimeZone(ZoneId.of(quartzTrigger.timeZone())) : TimeZone.getDefault();
+        TriggerBuilder<Trigger> builder = TriggerBuilder.newTrigger()
+                .forJob(jobKey)
+                .withIdentity(createTriggerKeyName(quartzTrigger, jobClass, index), quartzTrigger.triggerKeyGroup())
+                .withDescription(quartzTrigger.triggerDescription())
+                .withPriority(quartzTrigger.priority());
+        if (quartzTrigger.jobData().length > 0) {
+            builder.usingJobData(createJobDataMap(quartzTrigger.jobData()));
+        }
+        if (quartzTrigger.startDelay() > 0) {
+            builder.startAt(new Date(System.currentTimeMillis() + quartzTrigger.startDelay()));
+        }
+        if (StringUtils.hasText(quartzTrigger.endTime())) {
+            builder.endAt(parseEndTime(quartzTrigger.endTime(), timeZone));
+        }
+        Trigger trigger = builder.withSchedule(createScheduleBuilder(quartzTrigger, timeZone)).build();
+        if (quartzTrigger.misfireInstruction() != Trigger.MISFIRE_INSTRUCTION_SMART_POLICY) {
+            // 不同类型的trigger支持的策略不同，由trigger校验
+            ((MutableTrigger) trigger).setMisfireInstruction(quartzTrigger.misfireInstruction());
+        }
+        return trigger;
+    }
+
+    private ScheduleBuilder<? extends Trigger> createScheduleBuilder(QuartzTrigger quartzTrigger, TimeZone timeZone) {
+        IntervalUnit unit = quartzTrigger.intervalUnit();
+        switch (quartzTrigger.scheduleType()) {
+            case SIMPLE:
+                SimpleScheduleBuilder simpleSchedule = SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMilliseconds(toMillis(quartzTrigger.interval(), unit));
+                return quartzTrigger.repeatCount() < 0 ? simpleSchedule.repeatForever()
+                        : simpleSchedule.withRepeatCount(quartzTrigger.repeatCount());
+            case CALENDAR_INTERVAL:
+                if (unit == IntervalUnit.MILLISECOND) {
+                    throw new IllegalArgumentException("CALENDAR_INTERVAL does not support interval unit: " + unit);
+                }
+                return CalendarIntervalScheduleBuilder.calendarIntervalSchedule()
+                        .withInterval(toIntInterval(quartzTrigger.interval()), unit)
+                        .inTimeZone(timeZone);
+            case DAILY_TIME_INTERVAL:
+                DailyTimeIntervalScheduleBuilder dailySchedule = DailyTimeIntervalScheduleBuilder.dailyTimeIntervalSchedule()
+                        .withInterval(toIntInterval(quartzTrigger.interval()), unit);
+                if (StringUtils.hasText(quartzTrigger.dailyStartTime())) {
+                    dailySchedule.startingDailyAt(parseTimeOfDay(quartzTrigger.dailyStartTime()));
+                }
+                if (StringUtils.hasText(quartzTrigger.dailyEndTime())) {
+                    dailySchedule.endingDailyAt(parseTimeOfDay(quartzTrigger.dailyEndTime()));
+                }
+                if (quartzTrigger.daysOfWeek().length > 0) {
+                    Integer[] daysOfWeek = new Integer[quartzTrigger.daysOfWeek().length];
+                    for (int i = 0; i < daysOfWeek.length; i++) {
+                        daysOfWeek[i] = quartzTrigger.daysOfWeek()[i];
+                    }
+                    dailySchedule.onDaysOfTheWeek(daysOfWeek);
+                }
+                if (quartzTrigger.repeatCount() >= 0) {
+                    dailySchedule.withRepeatCount(quartzTrigger.repeatCount());
+                }
+                return dailySchedule;
+            case CRON:
+            default:
+                if (!StringUtils.hasText(quartzTrigger.cron())) {
+                    throw new IllegalArgumentException("cron must not be empty");
+                }
+                return CronScheduleBuilder.cronSchedule(quartzTrigger.cron()).inTimeZone(timeZone);
+        }
+    }
+
+    private static long toMillis(long interval, IntervalUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be > 0");
+        }
+        switch (unit) {
+            case MILLISECOND:
+                return interval;
+            case SECOND:
+                return interval * 1000L;
+            case MINUTE:
+                return interval * DateBuilder.MILLISECONDS_IN_MINUTE;
+            case HOUR:
+                return interval * DateBuilder.MILLISECONDS_IN_HOUR;
+            case DAY:
+                return interval * DateBuilder.MILLISECONDS_IN_DAY;
+            case WEEK:
+                return interval * DateBuilder.MILLISECONDS_IN_DAY * 7;
+            default:
+                throw new IllegalArgumentException("SIMPLE does not support interval unit: " + unit);
+        }
+    }
+
+    private static int toIntInterval(long interval) {
+        if (interval <= 0 || interval > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("interval must be > 0 and <= " + Integer.MAX_VALUE);
+        }
+        return (int) interval;
+    }
+
+    private static TimeOfDay parseTimeOfDay(String time) {
+        try {
+            LocalTime localTime = LocalTime.parse(time);
+            return TimeOfDay.hourMinuteAndSecondOfDay(localTime.getHour(), localTime.getMinute(), localTime.getSecond());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid time of day, expected format is HH:mm:ss: " + time);
+        }
+    }
+
+    private static Date parseEndTime(String endTime, TimeZone timeZone) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        dateFormat.setTimeZone(timeZone);
+        dateFormat.setLenient(false);
+        try {
+            return dateFormat.parse(endTime);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("invalid endTime, expected format is yyyy-MM-dd HH:mm:ss: " + endTime);
+        }
+    }
+
     private QuartzKeyNameGenerator createGenerator(Class<? extends QuartzKeyNameGenerator> clazz) {
         try {
             return clazz.newInstance();
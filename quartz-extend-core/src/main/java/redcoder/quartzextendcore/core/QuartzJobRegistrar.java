@@ -3,7 +3,10 @@ package redcoder.quartzextendcore.core;
 import lombok.extern.slf4j.Slf4j;
 import redcoder.quartzextendcore.annotation.QuartzJob;
 import redcoder.quartzextendcore.annotation.QuartzJobScan;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
@@ -14,10 +17,13 @@ import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
- * 启动{@link ClassPathQuartzJobScanner}，扫描指定包下的class，将{@link QuartzJob}注解的类注册到spring容器中
+ * 启动{@link ClassPathQuartzJobScanner}，扫描指定包下的class，将{@link QuartzJob}注解的类注册到spring容器中。
+ * 类路径下存在{@link QuartzJobIndex}时，从索引中读取job类，并将注册的job以{@link QuartzJobIndex#BEAN_NAME}注册到容器中，
+ * {@link QuartzJobDefinitions}直接使用索引中的注解属性创建job；容器中不在索引里的Job类型的bean仍然会通过反射解析注解。
  *
  * @author redcoder54
  * @since 1.0.0
@@ -42,7 +48,9 @@ public class QuartzJobRegistrar implements ImportBeanDefinitionRegistrar, Resour
                 basePackages.add(pkg);
             }
         }
+        QuartzJobIndex index = QuartzJobIndex.load(resourceLoader.getClassLoader());
         ClassPathQuartzJobScanner jobScanner = new ClassPathQuartzJobScanner(registry);
+        jobScanner.setIndex(index);
         jobScanner.setResourceLoader(resourceLoader);
         jobScanner.setEnvironment(environment);
         jobScanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> {
@@ -54,6 +62,27 @@ public class QuartzJobRegistrar implements ImportBeanDefinitionRegistrar, Resour
         if (!basePackages.isEmpty()) {
             jobScanner.scan(StringUtils.toStringArray(basePackages));
         }
+        if (index != null) {
+            registerIndex(registry, jobScanner.getCandidates());
+        }
+    }
+
+    /**
+     * 注册已注册到容器中的job的索引，存在多个{@link QuartzJobScan}时合并到同一个索引中
+     */
+    private void registerIndex(BeanDefinitionRegistry registry, Collection<QuartzJobIndex.Entry> entries) {
+        if (registry.containsBeanDefinition(QuartzJobIndex.BEAN_NAME)) {
+            BeanDefinition beanDefinition = registry.getBeanDefinition(QuartzJobIndex.BEAN_NAME);
+            if (beanDefinition instanceof AbstractBeanDefinition
+                    && ((AbstractBeanDefinition) beanDefinition).getInstanceSupplier() != null) {
+                ((QuartzJobIndex) ((AbstractBeanDefinition) beanDefinition).getInstanceSupplier().get()).addEntries(entries);
+                return;
+            }
+        }
+        QuartzJobIndex registered = new QuartzJobIndex(entries);
+        RootBeanDefinition beanDefinition = new RootBeanDefinition(QuartzJobIndex.class, () -> registered);
+        beanDefinition.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        registry.registerBeanDefinition(QuartzJobIndex.BEAN_NAME, beanDefinition);
     }
 
     @Override
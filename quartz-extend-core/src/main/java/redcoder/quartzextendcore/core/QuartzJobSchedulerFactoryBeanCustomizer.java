@@ -0,0 +1,73 @@
+package redcoder.quartzextendcore.core;
+
+import org.quartz.JobDetail;
+import org.quartz.Trigger;
+import org.quartz.spi.JobFactory;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.scheduler.JobBulkheadProperties;
+
+/**
+ * 把{@link QuartzJobDefinitions}中的job和trigger添加到{@link IncrementalSchedulerFactoryBean}中，
+ * 并用{@link ConcurrencyLimitingJobFactory}、{@link ShardingJobFactory}包装jobFactory，以支持限制同时执行数和分片执行job。
+ * <p>
+ * 只通过公开的方法读写{@link IncrementalSchedulerFactoryBean}，不使用反射。在其他的customizer之后执行，
+ * 以便包装它们设置的jobFactory、保留它们添加的job和trigger。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class QuartzJobSchedulerFactoryBeanCustomizer implements SchedulerFactoryBeanCustomizer, Ordered {
+
+    private final QuartzJobDefinitions definitions;
+    private final JobFactory defaultJobFactory;
+    private final JobBulkheadProperties bulkheadProperties;
+
+    /**
+     * @param definitions        需要添加的job和trigger
+     * @param defaultJobFactory  没有设置jobFactory时使用的jobFactory
+     * @param bulkheadProperties 舱壁的配置
+     */
+    public QuartzJobSchedulerFactoryBeanCustomizer(QuartzJobDefinitions definitions, JobFactory defaultJobFactory,
+                                                   JobBulkheadProperties bulkheadProperties) {
+        this.definitions = definitions;
+        this.defaultJobFactory = defaultJobFactory;
+        this.bulkheadProperties = bulkheadProperties;
+    }
+
+    /**
+     * 只处理{@link IncrementalSchedulerFactoryBean}，其他的{@link SchedulerFactoryBean}由{@link QuartzJobBeanPostProcessor}处理
+     */
+    @Override
+    public void customize(SchedulerFactoryBean schedulerFactoryBean) {
+        if (!(schedulerFactoryBean instanceof IncrementalSchedulerFactoryBean)) {
+            return;
+        }
+        IncrementalSchedulerFactoryBean factoryBean = (IncrementalSchedulerFactoryBean) schedulerFactoryBean;
+        JobFactory jobFactory = factoryBean.getJobFactory();
+        factoryBean.setJobFactory(decorate(jobFactory == null ? defaultJobFactory : jobFactory, bulkheadProperties));
+        factoryBean.addJobDetails(definitions.getJobDetails().toArray(new JobDetail[0]));
+        factoryBean.addTriggers(definitions.getTriggers().toArray(new Trigger[0]));
+    }
+
+    /**
+     * 依次用{@link ConcurrencyLimitingJobFactory}、{@link ShardingJobFactory}包装jobFactory。
+     * 分发分片的job不受{@link QuartzJob#maxConcurrentExecutions()}的限制，各个分片受限制。
+     *
+     * @param jobFactory         被包装的jobFactory，已经包装过时直接返回
+     * @param bulkheadProperties 舱壁的配置
+     */
+    public static JobFactory decorate(JobFactory jobFactory, JobBulkheadProperties bulkheadProperties) {
+        if (jobFactory instanceof ShardingJobFactory) {
+            return jobFactory;
+        }
+        return new ShardingJobFactory(new ConcurrencyLimitingJobFactory(jobFactory, bulkheadProperties));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
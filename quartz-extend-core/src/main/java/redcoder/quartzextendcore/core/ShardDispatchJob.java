@@ -0,0 +1,211 @@
+package redcoder.quartzextendcore.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分片job每次触发时实际执行的job：为每个分片创建一个立即触发的一次性trigger，再等待所有分片执行完成。
+ * <p>
+ * 分片trigger和普通trigger一样由集群中有空闲线程的节点获取并执行，因此分片会分布到集群中存活的节点上。
+ * 分片trigger执行完成后会被quartz删除，所以当分片trigger全部不存在时，所有分片都已执行完成。
+ * 执行失败的分片会由{@link ShardJob}在JobStore中留下失败标记，存在失败标记时本次触发以失败结束。
+ * <p>
+ * 等待期间占用当前节点的一个线程。为了避免线程全部被等待中的分发job占用、分片无法执行，分发前检查当前节点的空闲线程数，
+ * 少于分片数（线程池小于等于分片数时为线程池大小减1）时本次触发以失败结束。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Slf4j
+class ShardDispatchJob implements InterruptableJob {
+
+    /**
+     * 检查分片是否执行完成的间隔，单位毫秒
+     */
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+    /**
+     * 清理过期失败标记的最小间隔，单位毫秒
+     */
+    private static final long SWEEP_INTERVAL_MILLIS = 60 * 1000;
+    /**
+     * 分片trigger的JobDataMap中截止时间的key，超过截止时间后分发分片的job不再等待
+     */
+    static final String SHARD_DEADLINE = "shardDeadline";
+
+    /**
+     * 当前节点上一次清理过期失败标记的时间
+     */
+    private static final AtomicLong lastSweepTime = new AtomicLong();
+
+    private final int shardCount;
+    private final long shardTimeout;
+    private volatile boolean interrupted;
+
+    /**
+     * @param shardCount   分片总数
+     * @param shardTimeout 等待所有分片执行完成的最长时间，单位毫秒，小于等于0时一直等待
+     */
+    ShardDispatchJob(int shardCount, long shardTimeout) {
+        this.shardCount = shardCount;
+        this.shardTimeout = shardTimeout;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        Scheduler scheduler = context.getScheduler();
+        JobKey jobKey = context.getJobDetail().getKey();
+        String parentId = context.getFireInstanceId();
+        context.put(JobShards.SHARD_COUNT, shardCount);
+        long start = System.currentTimeMillis();
+        long deadline = shardTimeout > 0 ? start + shardTimeout : Long.MAX_VALUE;
+        sweepExpiredFailureMarkers(scheduler, start);
+        checkAvailableThreads(scheduler);
+
+        Set<TriggerKey> shardTriggerKeys = new LinkedHashSet<>();
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                Trigger shardTrigger = TriggerBuilder.newTrigger()
+                        .withIdentity(JobShards.shardTriggerName(jobKey.getName(), parentId, i), JobShards.SHARD_TRIGGER_GROUP)
+                        .forJob(jobKey)
+                        .usingJobData(JobDefinitionFingerprint.strip(context.getTrigger().getJobDataMap()))
+                        .usingJobData(JobShards.SHARD_INDEX, i)
+                        .usingJobData(JobShards.SHARD_COUNT, shardCount)
+                        .usingJobData(JobShards.SHARD_PARENT_ID, parentId)
+                        .usingJobData(SHARD_DEADLINE, shardTimeout > 0 ? deadline : 0L)
+                        .withPriority(context.getTrigger().getPriority())
+                        .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                        .startNow()
+                        .build();
+                scheduler.scheduleJob(shardTrigger);
+                shardTriggerKeys.add(shardTrigger.getKey());
+            }
+        } catch (SchedulerException e) {
+            // 已创建的分片照常执行
+            throw new JobExecutionException("创建分片失败，已创建" + shardTriggerKeys.size() + "/" + shardCount + "个分片", e);
+        }
+
+        // 等待所有分片执行完成
+        Set<TriggerKey> pendingKeys = new LinkedHashSet<>(shardTriggerKeys);
+        List<String> failures;
+        try {
+            while (true) {
+                pendingKeys.retainAll(scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(JobShards.SHARD_TRIGGER_GROUP)));
+                if (pendingKeys.isEmpty()) {
+                    break;
+                }
+                if (interrupted || System.currentTimeMillis() >= deadline) {
+                    throw new JobExecutionException(String.format("分片未在%dms内执行完成，未完成的分片数：%d/%d",
+                            System.currentTimeMillis() - start, pendingKeys.size(), shardCount));
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            failures = getFailures(scheduler, shardTriggerKeys);
+        } catch (SchedulerException e) {
+            throw new JobExecutionException("检查分片执行状态失败", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobExecutionException("等待分片执行完成时被中断", e);
+        } finally {
+            removeFailureMarkers(scheduler, shardTriggerKeys);
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        if (!failures.isEmpty()) {
+            log.warn("分片job执行失败: {}, parentId: {}, 失败的分片数: {}/{}, 耗时: {}ms, 失败原因: {}", jobKey, parentId,
+                    failures.size(), shardCount, elapsed, failures);
+            throw new JobExecutionException(String.format("%d/%d个分片执行失败：%s", failures.size(), shardCount, failures.get(0)));
+        }
+        context.setResult(shardCount + " shards completed in " + elapsed + "ms");
+        log.info("分片job执行完成: {}, parentId: {}, 分片数: {}, 耗时: {}ms", jobKey, parentId, shardCount, elapsed);
+    }
+
+    /**
+     * 检查当前节点的空闲线程是否足够执行分片，不够时分片可能因为线程全部被等待中的分发job占用而无法执行
+     */
+    private void checkAvailableThreads(Scheduler scheduler) throws JobExecutionException {
+        try {
+            int poolSize = scheduler.getMetaData().getThreadPoolSize();
+            // 包括当前的分发job
+            int executing = scheduler.getCurrentlyExecutingJobs().size();
+            int required = Math.max(Math.min(shardCount, poolSize - 1), 1);
+            if (poolSize - executing < required) {
+                throw new JobExecutionException(String.format("空闲线程数不足，放弃分发分片，线程池大小：%d，正在执行的job数：%d，需要的空闲线程数：%d",
+                        poolSize, executing, required));
+            }
+        } catch (SchedulerException e) {
+            throw new JobExecutionException("获取线程池状态失败", e);
+        }
+    }
+
+    /**
+     * 清理已过期的失败标记：分发分片的job超时或被中断后，仍在执行的分片失败时写入的标记。每个节点每分钟最多清理一次
+     */
+    static void sweepExpiredFailureMarkers(Scheduler scheduler, long now) {
+        long last = lastSweepTime.get();
+        if (now - last < SWEEP_INTERVAL_MILLIS || !lastSweepTime.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            List<TriggerKey> expiredKeys = new ArrayList<>();
+            for (TriggerKey triggerKey : scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(JobShards.SHARD_TRIGGER_GROUP))) {
+                if (!triggerKey.getName().endsWith(ShardJob.FAILURE_SUFFIX)) {
+                    continue;
+                }
+                Trigger marker = scheduler.getTrigger(triggerKey);
+                // 没有过期时间的标记由旧版本写入
+                if (marker != null && (!marker.getJobDataMap().containsKey(ShardJob.EXPIRE_TIME)
+                        || marker.getJobDataMap().getLong(ShardJob.EXPIRE_TIME) < now)) {
+                    expiredKeys.add(triggerKey);
+                }
+            }
+            if (!expiredKeys.isEmpty()) {
+                scheduler.unscheduleJobs(expiredKeys);
+                log.info("清理过期的分片失败标记: {}个", expiredKeys.size());
+            }
+        } catch (SchedulerException e) {
+            log.warn("清理过期的分片失败标记失败", e);
+        }
+    }
+
+    /**
+     * 读取分片的失败标记
+     *
+     * @return 失败的分片及失败原因
+     */
+    private static List<String> getFailures(Scheduler scheduler, Set<TriggerKey> shardTriggerKeys) throws SchedulerException {
+        List<String> failures = new ArrayList<>();
+        for (TriggerKey shardTriggerKey : shardTriggerKeys) {
+            Trigger marker = scheduler.getTrigger(ShardJob.failureKey(shardTriggerKey));
+            if (marker != null) {
+                failures.add(shardTriggerKey.getName() + " " + marker.getDescription());
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * 删除分片的失败标记，超时或被中断时仍在执行的分片之后写入的标记由{@link #sweepExpiredFailureMarkers}清理
+     */
+    private static void removeFailureMarkers(Scheduler scheduler, Set<TriggerKey> shardTriggerKeys) {
+        List<TriggerKey> markerKeys = new ArrayList<>();
+        for (TriggerKey shardTriggerKey : shardTriggerKeys) {
+            markerKeys.add(ShardJob.failureKey(shardTriggerKey));
+        }
+        try {
+            scheduler.unscheduleJobs(markerKeys);
+        } catch (SchedulerException e) {
+            log.warn("删除分片的失败标记失败", e);
+        }
+    }
+
+    @Override
+    public void interrupt() {
+        interrupted = true;
+    }
+}
@@ -0,0 +1,96 @@
+package redcoder.quartzextendcore.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+
+import java.util.Date;
+
+/**
+ * 由分片trigger触发时实际执行的job，包装job本身，执行失败时在JobStore中记录失败标记，供{@link ShardDispatchJob}判断本次触发是否成功。
+ * <p>
+ * 分片可能在集群中的任意节点上执行，因此失败标记保存在JobStore中：与分片trigger同组、名称加上{@link #FAILURE_SUFFIX}后缀的trigger，
+ * 开始时间为{@link #NEVER}，不会被触发，描述为失败原因。失败标记在分片trigger被删除之前写入，由分发分片的job读取后删除。
+ * 分发分片的job超时或被中断后才写入的标记，在过期时间（{@link #EXPIRE_TIME}）之后由{@link ShardDispatchJob}清理。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Slf4j
+class ShardJob implements InterruptableJob {
+
+    /**
+     * 失败标记的trigger名称后缀
+     */
+    static final String FAILURE_SUFFIX = "#failed";
+    /**
+     * 失败标记的开始时间：9999-12-31 00:00:00 UTC
+     */
+    static final long NEVER = 253402214400000L;
+    /**
+     * 失败标记JobDataMap中过期时间的key，过期后分发分片的job已不再等待该分片，可以删除
+     */
+    static final String EXPIRE_TIME = "expireTime";
+    /**
+     * 分片trigger没有截止时间（一直等待）时，失败标记的保留时间：1天
+     */
+    private static final long DEFAULT_RETENTION_MILLIS = 24 * 60 * 60 * 1000L;
+    /**
+     * 失败原因的最大长度，QRTZ_TRIGGERS.DESCRIPTION的长度为250
+     */
+    private static final int MAX_REASON_LENGTH = 200;
+
+    private final Job job;
+
+    ShardJob(Job job) {
+        this.job = job;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        try {
+            job.execute(context);
+        } catch (JobExecutionException | RuntimeException e) {
+            recordFailure(context, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void interrupt() throws UnableToInterruptJobException {
+        if (!(job instanceof InterruptableJob)) {
+            throw new UnableToInterruptJobException("Job " + job.getClass().getName() + " can not be interrupted");
+        }
+        ((InterruptableJob) job).interrupt();
+    }
+
+    /**
+     * 获取分片的失败标记
+     */
+    static TriggerKey failureKey(TriggerKey shardTriggerKey) {
+        return TriggerKey.triggerKey(shardTriggerKey.getName() + FAILURE_SUFFIX, shardTriggerKey.getGroup());
+    }
+
+    private static void recordFailure(JobExecutionContext context, Exception e) {
+        Throwable cause = e instanceof JobExecutionException && e.getCause() != null ? e.getCause() : e;
+        String reason = cause.getClass().getName() + (cause.getMessage() == null ? "" : ": " + cause.getMessage());
+        if (reason.length() > MAX_REASON_LENGTH) {
+            reason = reason.substring(0, MAX_REASON_LENGTH);
+        }
+        JobDataMap shardData = context.getTrigger().getJobDataMap();
+        long deadline = shardData.containsKey(ShardDispatchJob.SHARD_DEADLINE) ? shardData.getLong(ShardDispatchJob.SHARD_DEADLINE) : 0;
+        Trigger marker = TriggerBuilder.newTrigger()
+                .withIdentity(failureKey(context.getTrigger().getKey()))
+                .forJob(context.getJobDetail().getKey())
+                .withDescription(reason)
+                .usingJobData(EXPIRE_TIME, deadline > 0 ? deadline : System.currentTimeMillis() + DEFAULT_RETENTION_MILLIS)
+                .startAt(new Date(NEVER))
+                .build();
+        try {
+            context.getScheduler().scheduleJob(marker);
+        } catch (ObjectAlreadyExistsException ignored) {
+            // 分片被恢复执行（requestsRecovery）时，之前的失败标记仍然有效
+        } catch (SchedulerException ex) {
+            log.warn("记录分片执行失败时出错，分发分片的job无法感知该分片的失败: " + context.getTrigger().getKey(), ex);
+        }
+    }
+}
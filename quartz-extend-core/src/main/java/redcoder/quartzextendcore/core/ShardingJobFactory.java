@@ -0,0 +1,70 @@
+package redcoder.quartzextendcore.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.quartz.spi.JobFactory;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.quartz.SchedulerContextAware;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+
+/**
+ * 支持分片执行的JobFactory，包装另一个JobFactory。
+ * <p>
+ * {@link QuartzJob#shards()}大于1的job，由普通trigger触发时，创建{@link ShardDispatchJob}分发分片；
+ * 由分片trigger触发时，用{@link ShardJob}包装被包装的JobFactory创建的job，以记录分片的执行结果；未分片的job，交给被包装的JobFactory创建。
+ * <p>
+ * 交给被包装的JobFactory的JobDetail和trigger去掉了{@link JobDefinitionFingerprint 指纹}，指纹不会绑定到job的属性上。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Slf4j
+public class ShardingJobFactory implements JobFactory, SchedulerContextAware, ApplicationContextAware {
+
+    private final JobFactory delegate;
+
+    public ShardingJobFactory(JobFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    public JobFactory getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Job newJob(TriggerFiredBundle firedBundle, Scheduler scheduler) throws SchedulerException {
+        TriggerFiredBundle bundle = JobDefinitionFingerprint.strip(firedBundle);
+        if (JobShards.isShardTrigger(bundle.getTrigger().getKey())) {
+            return new ShardJob(delegate.newJob(bundle, scheduler));
+        }
+        Class<? extends Job> jobClass = bundle.getJobDetail().getJobClass();
+        QuartzJob quartzJob = AnnotationUtils.findAnnotation(jobClass, QuartzJob.class);
+        if (quartzJob == null || quartzJob.shards() <= 1) {
+            return delegate.newJob(bundle, scheduler);
+        }
+        if (bundle.getJobDetail().isConcurrentExectionDisallowed()) {
+            // 分发分片时job正在执行，分片会一直等待分发结束，导致死锁
+            log.warn("job不允许并发执行，不会分片执行: {}", jobClass.getName());
+            return delegate.newJob(bundle, scheduler);
+        }
+        return new ShardDispatchJob(quartzJob.shards(), quartzJob.shardTimeout());
+    }
+
+    @Override
+    public void setSchedulerContext(SchedulerContext schedulerContext) {
+        if (delegate instanceof SchedulerContextAware) {
+            ((SchedulerContextAware) delegate).setSchedulerContext(schedulerContext);
+        }
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        if (delegate instanceof ApplicationContextAware) {
+            ((ApplicationContextAware) delegate).setApplicationContext(applicationContext);
+        }
+    }
+}
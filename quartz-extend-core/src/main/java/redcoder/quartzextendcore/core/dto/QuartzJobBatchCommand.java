@@ -0,0 +1,29 @@
+package redcoder.quartzextendcore.core.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量操作job的请求，jobKeys和jobGroups可以同时指定
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ToString
+public class QuartzJobBatchCommand {
+
+    /**
+     * 待操作的job
+     */
+    private List<QuartzJobKey> jobKeys = new ArrayList<>();
+    /**
+     * 待操作的job组，组内的所有job都会被操作
+     */
+    private List<String> jobGroups = new ArrayList<>();
+}
@@ -0,0 +1,51 @@
+package redcoder.quartzextendcore.core.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 批量操作job时，单个job的操作结果
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ToString
+public class QuartzJobCommandResult {
+
+    /**
+     * job名称
+     */
+    private String jobName;
+    /**
+     * job所在组名称
+     */
+    private String jobGroup;
+    /**
+     * 是否操作成功
+     */
+    private boolean success;
+    /**
+     * 操作失败的原因
+     */
+    private String message;
+
+    public static QuartzJobCommandResult success(String jobName, String jobGroup) {
+        QuartzJobCommandResult result = new QuartzJobCommandResult();
+        result.setJobName(jobName);
+        result.setJobGroup(jobGroup);
+        result.setSuccess(true);
+        return result;
+    }
+
+    public static QuartzJobCommandResult failure(String jobName, String jobGroup, String message) {
+        QuartzJobCommandResult result = new QuartzJobCommandResult();
+        result.setJobName(jobName);
+        result.setJobGroup(jobGroup);
+        result.setSuccess(false);
+        result.setMessage(message);
+        return result;
+    }
+}
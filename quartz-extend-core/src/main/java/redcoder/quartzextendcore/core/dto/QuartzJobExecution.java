@@ -0,0 +1,86 @@
+package redcoder.quartzextendcore.core.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * job的一次执行记录
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ToString
+public class QuartzJobExecution {
+
+    /**
+     * 执行记录的序号，同一个实例内单调递增
+     */
+    private long sequence;
+    /**
+     * the name of scheduler
+     */
+    private String schedName;
+    /**
+     * the id of scheduler instance
+     */
+    private String instanceId;
+    /**
+     * 本次触发的唯一标识
+     */
+    private String fireInstanceId;
+    /**
+     * job名称
+     */
+    private String jobName;
+    /**
+     * job所在组名称
+     */
+    private String jobGroup;
+    /**
+     * 触发器名称
+     */
+    private String triggerName;
+    /**
+     * 触发器所在组名称
+     */
+    private String triggerGroup;
+    /**
+     * 计划触发时间
+     */
+    private long scheduledFireTime;
+    /**
+     * 开始执行时间
+     */
+    private long startTime;
+    /**
+     * 结束执行时间
+     */
+    private long endTime;
+    /**
+     * 执行耗时，单位毫秒
+     */
+    private long duration;
+    /**
+     * true - 执行成功，false - 执行失败
+     */
+    private boolean success;
+    /**
+     * 执行失败时的异常类名
+     */
+    private String exceptionClass;
+    /**
+     * 分片执行时，所属的分发记录的fireInstanceId；分发记录本身也设置为自己的fireInstanceId。未分片执行时为null
+     */
+    private String shardParentId;
+    /**
+     * 分片序号，从0开始；分发记录和未分片执行时为null
+     */
+    private Integer shardIndex;
+    /**
+     * 分片总数，未分片执行时为null
+     */
+    private Integer shardCount;
+}
@@ -0,0 +1,37 @@
+package redcoder.quartzextendcore.core.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 自某个序号之后的job执行记录
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ToString
+public class QuartzJobExecutions {
+
+    /**
+     * 序号所属的纪元，实例每次启动都会生成新的纪元，纪元不同时序号没有可比性
+     */
+    private String epoch;
+    /**
+     * 本次返回的最后一条记录的序号，下次请求时作为起始序号
+     */
+    private long sequence;
+    /**
+     * 已被覆盖、无法返回的记录数
+     */
+    private long lost;
+    /**
+     * 执行记录，按序号从小到大排列
+     */
+    private List<QuartzJobExecution> executions = new ArrayList<>();
+}
@@ -0,0 +1,36 @@
+package redcoder.quartzextendcore.core.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * job的标识
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+public class QuartzJobKey {
+
+    /**
+     * job名称
+     */
+    private String jobName;
+    /**
+     * job所在组名称
+     */
+    private String jobGroup;
+
+    public QuartzJobKey(String jobName, String jobGroup) {
+        this.jobName = jobName;
+        this.jobGroup = jobGroup;
+    }
+
+    public QuartzJobKey() {
+    }
+}
@@ -0,0 +1,41 @@
+package redcoder.quartzextendcore.core.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 自某个变更序号之后，quartz scheduler中发生变化的job和trigger信息
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ToString
+public class QuartzJobTriggerChanges {
+
+    /**
+     * 变更序号所属的纪元，实例每次启动都会生成新的纪元，纪元不同时变更序号没有可比性
+     */
+    private String epoch;
+    /**
+     * 本次返回的数据所对应的变更序号，下次请求时作为起始序号
+     */
+    private long sequence;
+    /**
+     * true - upserts中是全量数据，调用方应替换掉本地保存的全部数据；false - 仅包含变更的数据
+     */
+    private boolean fullSnapshot;
+    /**
+     * 新增或更新的job和trigger信息
+     */
+    private List<QuartzJobTriggerInfo> upserts = new ArrayList<>();
+    /**
+     * 已删除的trigger
+     */
+    private List<QuartzTriggerKey> deletes = new ArrayList<>();
+}
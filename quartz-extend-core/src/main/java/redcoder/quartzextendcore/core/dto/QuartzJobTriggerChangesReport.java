@@ -0,0 +1,38 @@
+package redcoder.quartzextendcore.core.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * quartz实例主动推送给任务调度管理平台的job和trigger变化
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ToString
+public class QuartzJobTriggerChangesReport {
+
+    /**
+     * the name of scheduler
+     */
+    private String schedName;
+    /**
+     * 实例主机地址
+     */
+    private String instanceHost;
+    /**
+     * 实例服务端口
+     */
+    private Integer instancePort;
+    /**
+     * 本次推送的起始变更序号，即上一次推送成功时的序号；changes不是全量数据时，接收方据此判断是否遗漏了变化
+     */
+    private long since;
+    /**
+     * 自since之后发生变化的job和trigger信息
+     */
+    private QuartzJobTriggerChanges changes;
+}
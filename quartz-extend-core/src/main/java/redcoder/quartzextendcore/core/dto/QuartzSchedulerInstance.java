@@ -23,6 +23,11 @@ public class QuartzSchedulerInstance {
      */
     private Integer instancePort;
 
+    /**
+     * 租约时长（秒），超过该时间没有收到心跳，实例视为已下线；为null时不会过期
+     */
+    private Integer leaseTtl;
+
     public QuartzSchedulerInstance(String schedName, String instanceHost, Integer instancePort) {
         this.schedName = schedName;
         this.instanceHost = instanceHost;
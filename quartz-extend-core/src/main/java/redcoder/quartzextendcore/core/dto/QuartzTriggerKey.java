@@ -0,0 +1,36 @@
+package redcoder.quartzextendcore.core.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * trigger的标识
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+public class QuartzTriggerKey {
+
+    /**
+     * 触发器名称
+     */
+    private String triggerName;
+    /**
+     * 触发器所在组名称
+     */
+    private String triggerGroup;
+
+    public QuartzTriggerKey(String triggerName, String triggerGroup) {
+        this.triggerName = triggerName;
+        this.triggerGroup = triggerGroup;
+    }
+
+    public QuartzTriggerKey() {
+    }
+}
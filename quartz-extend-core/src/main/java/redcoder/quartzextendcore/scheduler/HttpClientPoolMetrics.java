@@ -0,0 +1,62 @@
+package redcoder.quartzextendcore.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.pool.PoolStats;
+import redcoder.quartzextendcommon.utils.HttpAsyncUtils;
+import redcoder.quartzextendcommon.utils.HttpUtils;
+import redcoder.quartzextendcommon.utils.PooledHttpAsyncClient;
+import redcoder.quartzextendcommon.utils.PooledHttpClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 暴露http连接池的统计信息：已借出（leased）、等待获取（pending）、空闲可用（available）的连接数，以及最大连接数（max），
+ * 使用tag <code>profile</code>区分不同的http客户端。同步客户端的指标以<code>http.client.pool</code>开头，
+ * 异步客户端的指标以<code>http.client.async.pool</code>开头。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class HttpClientPoolMetrics implements MeterBinder {
+
+    private final HttpClientRegistry registry;
+
+    public HttpClientPoolMetrics(HttpClientRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        List<PooledHttpClient> clients = new ArrayList<>(registry.getClients());
+        clients.add(HttpUtils.getDefaultClient());
+        for (PooledHttpClient client : clients) {
+            bindPool(meterRegistry, "http.client.pool", client.getName(), client, PooledHttpClient::getTotalStats);
+        }
+        List<PooledHttpAsyncClient> asyncClients = new ArrayList<>(registry.getAsyncClients());
+        asyncClients.add(HttpAsyncUtils.getDefaultClient());
+        for (PooledHttpAsyncClient client : asyncClients) {
+            bindPool(meterRegistry, "http.client.async.pool", client.getName(), client, PooledHttpAsyncClient::getTotalStats);
+        }
+    }
+
+    private static <C> void bindPool(MeterRegistry meterRegistry, String prefix, String profile, C client,
+                                     Function<C, PoolStats> stats) {
+        gauge(meterRegistry, prefix + ".leased", "已借出的连接数", profile, client, c -> stats.apply(c).getLeased());
+        gauge(meterRegistry, prefix + ".pending", "等待获取连接的请求数", profile, client, c -> stats.apply(c).getPending());
+        gauge(meterRegistry, prefix + ".available", "空闲可用的连接数", profile, client, c -> stats.apply(c).getAvailable());
+        gauge(meterRegistry, prefix + ".max", "最大连接数", profile, client, c -> stats.apply(c).getMax());
+    }
+
+    private static <C> void gauge(MeterRegistry meterRegistry, String name, String description, String profile, C client,
+                                  ToDoubleFunction<C> f) {
+        Gauge.builder(name, client, f)
+                .description(description)
+                .tag("profile", profile)
+                .register(meterRegistry);
+    }
+}
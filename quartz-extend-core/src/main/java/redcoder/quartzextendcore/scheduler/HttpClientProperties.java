@@ -0,0 +1,42 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import redcoder.quartzextendcommon.utils.HttpClientProfile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * http客户端配置，按用途划分为多个profile，每个profile拥有独立的连接池和超时时间，参见{@link HttpClientRegistry}。
+ * <p>
+ * 配置示例：
+ * <pre>
+ * quartz-job-scheduler:
+ *   http:
+ *     profiles:
+ *       agent-control:
+ *         connect-timeout: 2s
+ *         socket-timeout: 5s
+ *         max-per-route:
+ *           "[http://127.0.0.1:8080]": 10
+ * </pre>
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@ConfigurationProperties(prefix = "quartz-job-scheduler.http")
+public class HttpClientProperties {
+
+    /**
+     * key: profile名称，value: http客户端配置
+     */
+    private Map<String, HttpClientProfile> profiles = new LinkedHashMap<>();
+
+    public Map<String, HttpClientProfile> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(Map<String, HttpClientProfile> profiles) {
+        this.profiles = profiles;
+    }
+}
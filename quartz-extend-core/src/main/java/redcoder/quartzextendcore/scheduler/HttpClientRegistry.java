@@ -0,0 +1,108 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import redcoder.quartzextendcommon.utils.HttpAsyncUtils;
+import redcoder.quartzextendcommon.utils.HttpClientProfile;
+import redcoder.quartzextendcommon.utils.HttpUtils;
+import redcoder.quartzextendcommon.utils.PooledHttpAsyncClient;
+import redcoder.quartzextendcommon.utils.PooledHttpClient;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按profile名称管理{@link PooledHttpClient}和{@link PooledHttpAsyncClient}，为{@link HttpClientProperties}中配置的每个profile
+ * 分别创建独立的同步和异步连接池，异步客户端的I/O线程在第一次发送请求时才启动。
+ * 未配置的profile使用{@link HttpUtils#getDefaultClient()}、{@link HttpAsyncUtils#getDefaultClient()}。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class HttpClientRegistry implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpClientRegistry.class);
+
+    /**
+     * 向任务调度管理平台注册、解除注册实例信息
+     */
+    public static final String PROFILE_REGISTRY = "registry";
+
+    /**
+     * 任务调度管理平台调用quartz实例的控制接口，比如暂停、恢复、执行job
+     */
+    public static final String PROFILE_AGENT_CONTROL = "agent-control";
+
+    /**
+     * 任务调度管理平台并发采集quartz实例的job和trigger信息
+     */
+    public static final String PROFILE_COLLECTOR = "collector";
+
+    private final Map<String, PooledHttpClient> clients = new LinkedHashMap<>();
+    private final Map<String, PooledHttpAsyncClient> asyncClients = new LinkedHashMap<>();
+
+    public HttpClientRegistry(HttpClientProperties properties) {
+        for (Map.Entry<String, HttpClientProfile> entry : properties.getProfiles().entrySet()) {
+            clients.put(entry.getKey(), new PooledHttpClient(entry.getKey(), entry.getValue()));
+            asyncClients.put(entry.getKey(), new PooledHttpAsyncClient(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * 获取指定profile的http客户端，如果未配置该profile，返回默认的http客户端
+     *
+     * @param profile profile名称
+     * @return http客户端
+     */
+    public PooledHttpClient get(String profile) {
+        PooledHttpClient client = clients.get(profile);
+        return client != null ? client : HttpUtils.getDefaultClient();
+    }
+
+    /**
+     * 获取指定profile的异步http客户端，如果未配置该profile，返回默认的异步http客户端
+     *
+     * @param profile profile名称
+     * @return 异步http客户端
+     */
+    public PooledHttpAsyncClient getAsync(String profile) {
+        PooledHttpAsyncClient client = asyncClients.get(profile);
+        return client != null ? client : HttpAsyncUtils.getDefaultClient();
+    }
+
+    /**
+     * 获取所有已配置profile的http客户端，不包括默认的http客户端
+     */
+    public Collection<PooledHttpClient> getClients() {
+        return Collections.unmodifiableCollection(clients.values());
+    }
+
+    /**
+     * 获取所有已配置profile的异步http客户端，不包括默认的异步http客户端
+     */
+    public Collection<PooledHttpAsyncClient> getAsyncClients() {
+        return Collections.unmodifiableCollection(asyncClients.values());
+    }
+
+    @Override
+    public void destroy() {
+        for (PooledHttpClient client : clients.values()) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("关闭http客户端失败：" + client.getName(), e);
+            }
+        }
+        for (PooledHttpAsyncClient client : asyncClients.values()) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("关闭异步http客户端失败：" + client.getName(), e);
+            }
+        }
+    }
+}
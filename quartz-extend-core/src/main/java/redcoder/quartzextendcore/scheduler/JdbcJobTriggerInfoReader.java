@@ -0,0 +1,110 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.quartz.Trigger.TriggerState;
+import org.quartz.impl.jdbcjobstore.Constants;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 通过JDBC JobStore所使用的DataSource，用一条关联查询批量读取scheduler中的job和trigger信息。
+ * <p>
+ * 与逐个trigger调用<code>scheduler.getTrigger</code>、<code>getTriggerState</code>、<code>getJobDetail</code>相比，
+ * 无论trigger数量多少，都只需要一次数据库往返。仅适用于JDBC JobStore（RAMJobStore没有可查询的表）。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class JdbcJobTriggerInfoReader {
+
+    /**
+     * quartz默认的表名前缀
+     */
+    public static final String DEFAULT_TABLE_PREFIX = "QRTZ_";
+
+    private static final String SELECT_JOB_TRIGGER_INFO = "SELECT t.TRIGGER_NAME, t.TRIGGER_GROUP, t.DESCRIPTION,"
+            + " t.PREV_FIRE_TIME, t.NEXT_FIRE_TIME, t.TRIGGER_STATE, j.JOB_NAME, j.JOB_GROUP, j.DESCRIPTION"
+            + " FROM %1$sTRIGGERS t LEFT JOIN %1$sJOB_DETAILS j"
+            + " ON t.SCHED_NAME = j.SCHED_NAME AND t.JOB_NAME = j.JOB_NAME AND t.JOB_GROUP = j.JOB_GROUP"
+            + " WHERE t.SCHED_NAME = ?";
+
+    private final DataSource dataSource;
+    private final String selectSql;
+
+    /**
+     * @param dataSource  JDBC JobStore使用的DataSource
+     * @param tablePrefix quartz表名前缀，对应配置项<code>org.quartz.jobStore.tablePrefix</code>
+     */
+    public JdbcJobTriggerInfoReader(DataSource dataSource, String tablePrefix) {
+        this.dataSource = dataSource;
+        this.selectSql = String.format(SELECT_JOB_TRIGGER_INFO, tablePrefix);
+    }
+
+    /**
+     * 读取指定scheduler中所有的job和trigger信息
+     *
+     * @param schedName the name of scheduler
+     * @return 包含job和trigger信息 {@link QuartzJobTriggerInfo} 的集合
+     * @throws SQLException 查询失败
+     */
+    public List<QuartzJobTriggerInfo> read(String schedName) throws SQLException {
+        List<QuartzJobTriggerInfo> quartzJobTriggerInfos = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(selectSql)) {
+            ps.setString(1, schedName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    QuartzJobTriggerInfo quartzJobTriggerInfo = new QuartzJobTriggerInfo();
+                    quartzJobTriggerInfo.setSchedName(schedName);
+                    // 设置触发器相关属性
+                    quartzJobTriggerInfo.setTriggerName(rs.getString(1));
+                    quartzJobTriggerInfo.setTriggerGroup(rs.getString(2));
+                    quartzJobTriggerInfo.setTriggerDesc(rs.getString(3));
+                    long prevFireTime = rs.getLong(4);
+                    if (prevFireTime > 0) {
+                        quartzJobTriggerInfo.setPrevFireTime(prevFireTime);
+                    }
+                    long nextFireTime = rs.getLong(5);
+                    if (nextFireTime > 0) {
+                        quartzJobTriggerInfo.setNextFireTime(nextFireTime);
+                    }
+                    quartzJobTriggerInfo.setTriggerState(toTriggerState(rs.getString(6)).name());
+                    // 设置job相关属性
+                    quartzJobTriggerInfo.setJobName(rs.getString(7));
+                    quartzJobTriggerInfo.setJobGroup(rs.getString(8));
+                    quartzJobTriggerInfo.setJobDesc(rs.getString(9));
+                    quartzJobTriggerInfos.add(quartzJobTriggerInfo);
+                }
+            }
+        }
+        return quartzJobTriggerInfos;
+    }
+
+    /**
+     * 将表中存储的trigger状态转换成{@link TriggerState}，与JobStoreSupport#getTriggerState的转换规则保持一致
+     */
+    private static TriggerState toTriggerState(String state) {
+        if (state == null || Constants.STATE_DELETED.equals(state)) {
+            return TriggerState.NONE;
+        }
+        switch (state) {
+            case Constants.STATE_COMPLETE:
+                return TriggerState.COMPLETE;
+            case Constants.STATE_PAUSED:
+            case Constants.STATE_PAUSED_BLOCKED:
+                return TriggerState.PAUSED;
+            case Constants.STATE_ERROR:
+                return TriggerState.ERROR;
+            case Constants.STATE_BLOCKED:
+                return TriggerState.BLOCKED;
+            default:
+                return TriggerState.NORMAL;
+        }
+    }
+}
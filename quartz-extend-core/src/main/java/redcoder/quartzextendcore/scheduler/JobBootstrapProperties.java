@@ -0,0 +1,28 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 启动时注册job和trigger的配置属性
+ *
+ * @author redcoder54
+ * @see redcoder.quartzextendcore.core.IncrementalSchedulerFactoryBean
+ * @since 1.1.0
+ */
+@ConfigurationProperties(prefix = "quartz-job-scheduler.bootstrap")
+public class JobBootstrapProperties {
+
+    /**
+     * 是否只写入有变化的job和trigger（通过比较定义的指纹），default value: true。
+     * 仅在<code>spring.quartz.overwrite-existing-jobs</code>为true时有效果
+     */
+    private boolean incremental = true;
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+}
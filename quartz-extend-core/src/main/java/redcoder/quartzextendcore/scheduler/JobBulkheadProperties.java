@@ -0,0 +1,52 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 舱壁（bulkhead）的配置属性，job通过{@link redcoder.quartzextendcore.annotation.QuartzJob#bulkhead()}加入舱壁，
+ * 同一个舱壁中的job共享同时执行数的上限。上限只对当前实例有效，不是整个集群的上限。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@ConfigurationProperties(prefix = "quartz-job-scheduler.bulkhead")
+public class JobBulkheadProperties {
+
+    /**
+     * 各个舱壁同时执行的job数上限，key: 舱壁名称
+     */
+    private Map<String, Integer> limits = new HashMap<>();
+
+    /**
+     * 未在{@link #limits}中配置的舱壁同时执行的job数上限，default value: 10
+     */
+    private int defaultLimit = 10;
+
+    /**
+     * 获取舱壁同时执行的job数上限
+     *
+     * @param bulkhead 舱壁名称
+     */
+    public int getLimit(String bulkhead) {
+        return limits.getOrDefault(bulkhead, defaultLimit);
+    }
+
+    public Map<String, Integer> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<String, Integer> limits) {
+        this.limits = limits;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+}
@@ -0,0 +1,179 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.quartz.*;
+import org.springframework.beans.factory.InitializingBean;
+import redcoder.quartzextendcore.core.ConcurrencyLimitingJobFactory;
+import redcoder.quartzextendcore.core.JobShards;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecution;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecutions;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 记录job的执行情况，保存在固定大小的环形缓冲区中，写满后覆盖最早的记录。
+ * <p>
+ * 记录时只有一次原子递增和一次CAS写入，不加锁，不会阻塞job线程；读取时按序号返回连续的记录，
+ * 序号已分配但尚未写入的记录留到下一次读取。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class JobExecutionHistory implements JobListener, InitializingBean {
+
+    private static final String NAME = "QuartzExtendJobExecutionHistory";
+
+    /**
+     * 默认的缓冲区大小
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Scheduler scheduler;
+    private final String epoch = UUID.randomUUID().toString();
+    private final AtomicReferenceArray<QuartzJobExecution> buffer;
+    private final int mask;
+    /**
+     * 最近一次分配的序号
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    public JobExecutionHistory(Scheduler scheduler) {
+        this(scheduler, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 缓冲区大小，向上取整为2的幂
+     */
+    public JobExecutionHistory(Scheduler scheduler, int capacity) {
+        this.scheduler = scheduler;
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        scheduler.getListenerManager().addJobListener(this);
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * 获取序号大于since的执行记录
+     *
+     * @param since 调用方持有的序号，首次请求传0
+     * @param limit 最多返回的记录数
+     * @return 执行记录
+     */
+    public QuartzJobExecutions getSince(long since, int limit) {
+        QuartzJobExecutions result = new QuartzJobExecutions();
+        result.setEpoch(epoch);
+
+        long current = sequence.get();
+        long next = Math.max(since, 0) + 1;
+        // 早于缓冲区的记录已被覆盖
+        long oldest = current - buffer.length() + 1;
+        if (next < oldest) {
+            result.setLost(oldest - next);
+            next = oldest;
+        }
+        while (next <= current && result.getExecutions().size() < limit) {
+            QuartzJobExecution execution = buffer.get((int) (next & mask));
+            if (execution == null || execution.getSequence() < next) {
+                // 序号已分配，记录尚未写入
+                break;
+            }
+            if (execution.getSequence() > next) {
+                // 读取期间被覆盖
+                result.setLost(result.getLost() + 1);
+            } else {
+                result.getExecutions().add(execution);
+            }
+            next++;
+        }
+        result.setSequence(next - 1);
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        JobKey jobKey = context.getJobDetail().getKey();
+        TriggerKey triggerKey = context.getTrigger().getKey();
+        if (ConcurrencyLimitingJobFactory.OUTCOME_REJECTED.equals(context.get(ConcurrencyLimitingJobFactory.LIMIT_OUTCOME))
+                && !JobShards.isShardTrigger(triggerKey)) {
+            // 达到同时执行数上限，job没有执行；被放弃的分片记录为失败，以便查询分片执行进度
+            return;
+        }
+        long startTime = context.getFireTime().getTime();
+
+        QuartzJobExecution execution = new QuartzJobExecution();
+        try {
+            execution.setSchedName(context.getScheduler().getSchedulerName());
+            execution.setInstanceId(context.getScheduler().getSchedulerInstanceId());
+        } catch (SchedulerException e) {
+            // QuartzScheduler的实现不会抛出异常
+            throw new IllegalStateException(e);
+        }
+        execution.setFireInstanceId(context.getFireInstanceId());
+        execution.setJobName(jobKey.getName());
+        execution.setJobGroup(jobKey.getGroup());
+        execution.setTriggerName(triggerKey.getName());
+        execution.setTriggerGroup(triggerKey.getGroup());
+        execution.setScheduledFireTime(context.getScheduledFireTime().getTime());
+        execution.setStartTime(startTime);
+        execution.setEndTime(startTime + context.getJobRunTime());
+        execution.setDuration(context.getJobRunTime());
+        execution.setSuccess(jobException == null);
+        if (jobException != null) {
+            execution.setExceptionClass(unwrap(jobException).getClass().getName());
+        }
+        if (JobShards.isShardTrigger(triggerKey)) {
+            execution.setShardParentId(JobShards.getShardParentId(context));
+            execution.setShardIndex(JobShards.getShardIndex(context));
+            execution.setShardCount(JobShards.getShardCount(context));
+        } else if (context.get(JobShards.SHARD_COUNT) != null) {
+            // 分片的分发记录
+            execution.setShardParentId(context.getFireInstanceId());
+            execution.setShardCount((Integer) context.get(JobShards.SHARD_COUNT));
+        }
+
+        long seq = sequence.incrementAndGet();
+        execution.setSequence(seq);
+        int index = (int) (seq & mask);
+        QuartzJobExecution previous;
+        do {
+            previous = buffer.get(index);
+            if (previous != null && previous.getSequence() > seq) {
+                // 写入前已被更新的记录覆盖
+                return;
+            }
+        } while (!buffer.compareAndSet(index, previous, execution));
+    }
+
+    /**
+     * job抛出的非JobExecutionException异常，会被quartz包装为SchedulerException和JobExecutionException，取出原始异常
+     */
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof SchedulerException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,67 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * job执行记录的配置属性
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@ConfigurationProperties(prefix = "quartz-job-scheduler.history")
+public class JobExecutionHistoryProperties {
+
+    /**
+     * 环形缓冲区大小，最多保留的执行记录数，default value: 1024
+     */
+    private int capacity = JobExecutionHistory.DEFAULT_CAPACITY;
+
+    /**
+     * 推送执行记录的地址，未配置时不推送
+     */
+    private String pushUrl;
+
+    /**
+     * 推送间隔，default value: 10s
+     */
+    private Duration pushInterval = Duration.ofSeconds(10);
+
+    /**
+     * 每次推送的最大记录数，default value: 500
+     */
+    private int batchSize = 500;
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public String getPushUrl() {
+        return pushUrl;
+    }
+
+    public void setPushUrl(String pushUrl) {
+        this.pushUrl = pushUrl;
+    }
+
+    public Duration getPushInterval() {
+        return pushInterval;
+    }
+
+    public void setPushInterval(Duration pushInterval) {
+        this.pushInterval = pushInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,134 @@
+package redcoder.quartzextendcore.scheduler;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.listeners.SchedulerListenerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import redcoder.quartzextendcommon.utils.HttpUtils;
+import redcoder.quartzextendcommon.utils.JsonUtils;
+import redcoder.quartzextendcommon.utils.PooledHttpClient;
+import redcoder.quartzextendcore.core.dto.QuartzApiResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecutions;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 定期将{@link JobExecutionHistory}中新增的执行记录分批推送到任务调度管理平台。
+ * <p>
+ * 推送在独立的线程中进行，不影响job线程；推送失败时保留进度，下一次重试，期间被覆盖的记录会丢失。
+ * <p>
+ * 调度器关闭（正在执行的job完成）之后推送剩余的记录，因此调度器需要在推送使用的http客户端之前关闭。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class JobExecutionHistoryPusher extends SchedulerListenerSupport implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JobExecutionHistoryPusher.class);
+
+    private final Scheduler scheduler;
+    private final JobExecutionHistory history;
+    private final JobExecutionHistoryProperties properties;
+    private final PooledHttpClient httpClient;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Quartz-History-Pusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 已推送的最后一条记录的序号，只在推送线程中访问
+     */
+    private long pushedSequence;
+    private final AtomicBoolean flushed = new AtomicBoolean();
+
+    public JobExecutionHistoryPusher(Scheduler scheduler, JobExecutionHistory history,
+                                     JobExecutionHistoryProperties properties) {
+        this(scheduler, history, properties, HttpUtils.getDefaultClient());
+    }
+
+    public JobExecutionHistoryPusher(Scheduler scheduler, JobExecutionHistory history,
+                                     JobExecutionHistoryProperties properties, PooledHttpClient httpClient) {
+        this.scheduler = scheduler;
+        this.history = history;
+        this.properties = properties;
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SchedulerException {
+        scheduler.getListenerManager().addSchedulerListener(this);
+        long interval = properties.getPushInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::push, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 推送所有新增的执行记录
+     */
+    void push() {
+        try {
+            while (true) {
+                QuartzJobExecutions executions = history.getSince(pushedSequence, properties.getBatchSize());
+                if (executions.getLost() > 0) {
+                    log.warn("{}条job执行记录在推送前已被覆盖，可增大quartz-job-scheduler.history.capacity", executions.getLost());
+                }
+                if (!executions.getExecutions().isEmpty()) {
+                    QuartzApiResult<Boolean> apiResult = httpClient.postJson(properties.getPushUrl(),
+                            JsonUtils.beanToJsonString(executions.getExecutions()),
+                            new TypeReference<QuartzApiResult<Boolean>>() {
+                            });
+                    if (apiResult.getStatus() != 0) {
+                        log.warn("推送job执行记录失败：" + apiResult.getMessage());
+                        return;
+                    }
+                }
+                pushedSequence = executions.getSequence();
+                if (executions.getExecutions().size() < properties.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("推送job执行记录失败", e);
+        }
+    }
+
+    /**
+     * 调度器关闭时，正在执行的job已经完成，推送剩余的记录
+     */
+    @Override
+    public void schedulerShutdown() {
+        flush();
+    }
+
+    /**
+     * 依赖调度器的bean先于调度器销毁，此时调度器通常还没有关闭，由{@link #schedulerShutdown()}推送剩余的记录
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (scheduler.isShutdown()) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (!flushed.compareAndSet(false, true)) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                // 推送剩余的记录
+                push();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
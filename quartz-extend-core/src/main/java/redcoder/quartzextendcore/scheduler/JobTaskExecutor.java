@@ -0,0 +1,247 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 执行quartz job的有界TaskExecutor，通过{@link org.springframework.scheduling.quartz.SchedulerFactoryBean#setTaskExecutor}
+ * 替换quartz自身的线程池，参见{@link JobTaskExecutorThreadPool}。
+ * <p>
+ * 同时执行的job数不超过{@link #getMaxConcurrency()}，达到上限时{@link #execute(Runnable)}阻塞调用方（quartz的调度线程），
+ * 直到有job执行完成，不会拒绝任务，与quartz自身的线程池行为一致。
+ * <p>
+ * scheduler关闭时，如果需要等待job完成，由{@link JobTaskExecutorThreadPool#shutdown(boolean)}调用{@link #awaitCompletion()}；
+ * 容器关闭时最多等待{@link #setAwaitTerminationMillis(long) awaitTerminationMillis}。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class JobTaskExecutor implements TaskExecutor, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JobTaskExecutor.class);
+
+    /**
+     * 等待空闲线程时，检查是否已关闭的间隔，单位毫秒
+     */
+    private static final long WAIT_INTERVAL_MILLIS = 500;
+
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    /**
+     * 正在等待空闲线程的任务数
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile boolean shutdown;
+    private long awaitTerminationMillis;
+
+    private JobTaskExecutor(ExecutorService executor, int maxConcurrency) {
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * 根据配置创建JobTaskExecutor，配置为VIRTUAL但当前JDK不支持虚拟线程时，改用ELASTIC
+     */
+    public static JobTaskExecutor create(JobThreadPoolProperties properties) {
+        JobTaskExecutor taskExecutor = null;
+        if (properties.getType() == JobThreadPoolProperties.Type.VIRTUAL) {
+            if (isVirtualThreadSupported()) {
+                taskExecutor = virtual(properties.getMaxConcurrency(), properties.getThreadNamePrefix());
+            } else {
+                log.warn("当前JDK（{}）不支持虚拟线程，改用ELASTIC线程池", System.getProperty("java.version"));
+            }
+        }
+        if (taskExecutor == null) {
+            taskExecutor = elastic(properties.getCoreSize(), properties.getMaxSize(), properties.getKeepAlive().toMillis(),
+                    properties.getThreadNamePrefix());
+        }
+        taskExecutor.setAwaitTerminationMillis(properties.getAwaitTermination().toMillis());
+        return taskExecutor;
+    }
+
+    /**
+     * 创建有界的弹性线程池
+     *
+     * @param coreSize         核心线程数
+     * @param maxSize          最大线程数
+     * @param keepAliveMillis  超过核心线程数的线程的最长空闲时间，单位毫秒
+     * @param threadNamePrefix 线程名称前缀
+     */
+    public static JobTaskExecutor elastic(int coreSize, int maxSize, long keepAliveMillis, String threadNamePrefix) {
+        // 任务结束时先释放许可，工作线程稍后才会回到空闲状态，这期间提交的任务可能被拒绝，此时等待工作线程接收
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(coreSize, maxSize, keepAliveMillis, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory(threadNamePrefix), (r, e) -> {
+            if (e.isShutdown()) {
+                throw new RejectedExecutionException("JobTaskExecutor has been shut down");
+            }
+            try {
+                e.getQueue().put(r);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for an idle thread", ex);
+            }
+        });
+        return new JobTaskExecutor(executor, maxSize);
+    }
+
+    /**
+     * 创建每个任务使用一个虚拟线程的线程池，需要JDK 21及以上版本
+     *
+     * @param maxConcurrency   同时执行的任务数上限
+     * @param threadNamePrefix 线程名称前缀
+     * @throws IllegalStateException 当前JDK不支持虚拟线程
+     */
+    public static JobTaskExecutor virtual(int maxConcurrency, String threadNamePrefix) {
+        try {
+            // 编译目标为Java 8，通过反射调用：Thread.ofVirtual().name(prefix, 0).factory()
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return new JobTaskExecutor((ExecutorService) method.invoke(null, threadFactory), maxConcurrency);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not supported by the current JVM", e);
+        }
+    }
+
+    /**
+     * 当前JDK是否支持虚拟线程
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 执行任务，同时执行的任务数达到上限时阻塞，直到有任务执行完成
+     *
+     * @throws RejectedExecutionException 已关闭，或等待时被中断
+     */
+    @Override
+    public void execute(Runnable task) {
+        waiting.incrementAndGet();
+        try {
+            while (!permits.tryAcquire(WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (shutdown) {
+                    throw new RejectedExecutionException("JobTaskExecutor has been shut down");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for an available thread", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 阻塞直到可以执行新的任务，或已关闭
+     *
+     * @return 可以立即执行的任务数，已关闭时可能为0
+     */
+    public int awaitAvailable() {
+        try {
+            while (!permits.tryAcquire(WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (shutdown) {
+                    return 0;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        permits.release();
+        return Math.max(permits.availablePermits(), 1);
+    }
+
+    /**
+     * 阻塞直到所有正在执行的任务完成，等待期间不能执行新的任务
+     */
+    public void awaitCompletion() {
+        try {
+            permits.acquire(maxConcurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("等待job执行完成时被中断，正在执行的job数: {}", getActiveCount());
+            return;
+        }
+        permits.release(maxConcurrency);
+    }
+
+    /**
+     * 容器关闭时等待正在执行的任务完成的最长时间，单位毫秒，小于等于0时不等待
+     */
+    public void setAwaitTerminationMillis(long awaitTerminationMillis) {
+        this.awaitTerminationMillis = awaitTerminationMillis;
+    }
+
+    /**
+     * 同时执行的任务数上限
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 正在执行的任务数
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * 等待空闲线程的任务数
+     */
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    /**
+     * 当前的线程数，虚拟线程池中每个任务使用一个线程，等于正在执行的任务数
+     */
+    public int getPoolSize() {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getPoolSize() : getActiveCount();
+    }
+
+    @Override
+    public void destroy() {
+        shutdown = true;
+        executor.shutdown();
+        if (awaitTerminationMillis <= 0) {
+            return;
+        }
+        try {
+            if (!executor.awaitTermination(awaitTerminationMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("等待{}ms后仍有job正在执行，job数: {}", awaitTerminationMillis, getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package redcoder.quartzextendcore.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 暴露执行job的线程池{@link JobTaskExecutor}的统计信息：正在执行（active）、等待空闲线程（queued）的job数，
+ * 当前线程数（pool.size）以及同时执行的job数上限（max）。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class JobTaskExecutorMetrics implements MeterBinder {
+
+    private final JobTaskExecutor taskExecutor;
+
+    public JobTaskExecutorMetrics(JobTaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        gauge(meterRegistry, "quartz.job.executor.active", "正在执行的job数", JobTaskExecutor::getActiveCount);
+        gauge(meterRegistry, "quartz.job.executor.queued", "等待空闲线程的job数", JobTaskExecutor::getQueueDepth);
+        gauge(meterRegistry, "quartz.job.executor.pool.size", "当前的线程数", JobTaskExecutor::getPoolSize);
+        gauge(meterRegistry, "quartz.job.executor.max", "同时执行的job数上限", JobTaskExecutor::getMaxConcurrency);
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String description, ToDoubleFunction<JobTaskExecutor> f) {
+        Gauge.builder(name, taskExecutor, f)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
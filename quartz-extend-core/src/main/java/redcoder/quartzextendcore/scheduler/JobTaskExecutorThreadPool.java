@@ -0,0 +1,77 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 使用{@link JobTaskExecutor}执行job的quartz ThreadPool，由quartz通过<code>org.quartz.threadPool.class</code>创建，
+ * JobTaskExecutor来自{@link SchedulerFactoryBean#setTaskExecutor}。
+ * <p>
+ * 与spring的LocalTaskExecutorThreadPool不同，{@link #blockForAvailableThreads()}会等待到有空闲线程为止，
+ * 线程池繁忙时调度线程不会获取trigger，集群中的其他节点可以执行这些trigger。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class JobTaskExecutorThreadPool implements ThreadPool {
+
+    private static final Logger log = LoggerFactory.getLogger(JobTaskExecutorThreadPool.class);
+
+    private JobTaskExecutor taskExecutor;
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        Executor executor = SchedulerFactoryBean.getConfigTimeTaskExecutor();
+        if (!(executor instanceof JobTaskExecutor)) {
+            throw new SchedulerConfigException("No JobTaskExecutor found for configuration - "
+                    + "'taskExecutor' property must be set on SchedulerFactoryBean");
+        }
+        taskExecutor = (JobTaskExecutor) executor;
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        try {
+            taskExecutor.execute(runnable);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.error("Task has been rejected by JobTaskExecutor", e);
+            return false;
+        }
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        return taskExecutor.awaitAvailable();
+    }
+
+    /**
+     * JobTaskExecutor由spring容器管理，在容器关闭时关闭，这里只在需要时等待正在执行的job完成
+     */
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        if (waitForJobsToComplete) {
+            log.info("等待正在执行的job完成，job数: {}", taskExecutor.getActiveCount());
+            taskExecutor.awaitCompletion();
+        }
+    }
+
+    @Override
+    public int getPoolSize() {
+        return taskExecutor.getMaxConcurrency();
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+    }
+}
@@ -0,0 +1,121 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 执行job的线程池的配置属性。未配置{@link #type}时，使用quartz自身的线程池（<code>org.quartz.threadPool.*</code>）
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@ConfigurationProperties(prefix = "quartz-job-scheduler.thread-pool")
+public class JobThreadPoolProperties {
+
+    /**
+     * 线程池类型，配置后替换quartz自身的线程池，<code>org.quartz.threadPool.*</code>配置不再生效
+     */
+    private Type type;
+
+    /**
+     * ELASTIC：核心线程数，default value: 10
+     */
+    private int coreSize = 10;
+
+    /**
+     * ELASTIC：最大线程数，即同时执行的job数上限，default value: 100
+     */
+    private int maxSize = 100;
+
+    /**
+     * ELASTIC：超过核心线程数的线程的最长空闲时间，default value: 60s
+     */
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    /**
+     * VIRTUAL：同时执行的job数上限，default value: 1000
+     */
+    private int maxConcurrency = 1000;
+
+    /**
+     * 线程名称前缀，default value: QuartzJob-
+     */
+    private String threadNamePrefix = "QuartzJob-";
+
+    /**
+     * 容器关闭时等待正在执行的job完成的最长时间，0表示不等待，default value: 0。
+     * 设置了<code>spring.quartz.wait-for-jobs-to-complete-on-shutdown</code>时，scheduler关闭时会一直等待job完成
+     */
+    private Duration awaitTermination = Duration.ZERO;
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public int getCoreSize() {
+        return coreSize;
+    }
+
+    public void setCoreSize(int coreSize) {
+        this.coreSize = coreSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(Duration keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    public Duration getAwaitTermination() {
+        return awaitTermination;
+    }
+
+    public void setAwaitTermination(Duration awaitTermination) {
+        this.awaitTermination = awaitTermination;
+    }
+
+    /**
+     * 线程池类型
+     */
+    public enum Type {
+        /**
+         * 有界的弹性线程池：空闲时保留核心线程，繁忙时按需扩容到最大线程数，空闲线程超时后回收
+         */
+        ELASTIC,
+        /**
+         * 每个job使用一个虚拟线程执行，需要JDK 21及以上版本，低版本JDK自动改用ELASTIC
+         */
+        VIRTUAL
+    }
+}
@@ -0,0 +1,272 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.quartz.*;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.listeners.SchedulerListenerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import redcoder.quartzextendcore.core.JobShards;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 记录quartz scheduler中发生变化的trigger，为每次变化分配单调递增的变更序号，用于增量同步job和trigger信息。
+ * <p>
+ * 只保留每个trigger最近一次变化的序号，最多保留{@link #capacity}个trigger，超出时淘汰最早的记录；
+ * 对于无法精确到trigger的变化（比如暂停整个组、清空调度数据），直接要求调用方做一次全量同步。
+ * <p>
+ * 注意：只能感知到当前实例上发生的变化，集群中其他节点触发的trigger不会被记录，
+ * 因此集群模式下{@link QuartzService}总是返回全量数据，变更记录只用于触发推送。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class JobTriggerChangeLog extends SchedulerListenerSupport implements TriggerListener {
+
+    private static final Logger log = LoggerFactory.getLogger(JobTriggerChangeLog.class);
+
+    private static final String NAME = "QuartzExtendJobTriggerChangeLog";
+
+    /**
+     * 默认最多保留的trigger数量
+     */
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    private final Scheduler scheduler;
+    private final int capacity;
+    private final String epoch = UUID.randomUUID().toString();
+
+    /**
+     * key: 发生变化的trigger，value: 最近一次变化的序号，按序号从小到大排列
+     */
+    private final LinkedHashMap<TriggerKey, Long> changes = new LinkedHashMap<>();
+    /**
+     * 当前的变更序号
+     */
+    private long sequence;
+    /**
+     * 序号小于等于该值的变化可能已被淘汰
+     */
+    private long floorSequence;
+    /**
+     * 发生变化时的回调
+     */
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    public JobTriggerChangeLog(Scheduler scheduler) {
+        this(scheduler, DEFAULT_CAPACITY);
+    }
+
+    public JobTriggerChangeLog(Scheduler scheduler, int capacity) {
+        this.scheduler = scheduler;
+        this.capacity = capacity;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * 添加发生变化时的回调。回调在触发变化的线程（job线程、调用scheduler的线程）中执行，不能阻塞。
+     *
+     * @param listener 回调
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * 获取自指定序号之后发生变化的trigger
+     *
+     * @param epoch 调用方持有的纪元，为空或与当前纪元不同时，需要全量同步
+     * @param since 调用方持有的变更序号
+     * @return 发生变化的trigger，如果无法提供增量数据，{@link Changes#isFullSnapshotRequired()}返回true
+     */
+    public synchronized Changes getChangesSince(@Nullable String epoch, long since) {
+        if (!this.epoch.equals(epoch) || since < floorSequence || since > sequence) {
+            return new Changes(sequence, true, Collections.emptyList());
+        }
+        List<TriggerKey> triggerKeys = new ArrayList<>();
+        for (Map.Entry<TriggerKey, Long> entry : changes.entrySet()) {
+            if (entry.getValue() > since) {
+                triggerKeys.add(entry.getKey());
+            }
+        }
+        return new Changes(sequence, false, triggerKeys);
+    }
+
+    /**
+     * 记录trigger发生了变化，忽略分片执行时创建的临时trigger
+     */
+    void record(TriggerKey triggerKey) {
+        if (JobShards.isShardTrigger(triggerKey)) {
+            return;
+        }
+        synchronized (this) {
+            changes.remove(triggerKey);
+            changes.put(triggerKey, ++sequence);
+            if (changes.size() > capacity) {
+                Iterator<Map.Entry<TriggerKey, Long>> iterator = changes.entrySet().iterator();
+                floorSequence = iterator.next().getValue();
+                iterator.remove();
+            }
+        }
+        fireChanged();
+    }
+
+    /**
+     * 丢弃所有记录，持有旧序号的调用方需要全量同步
+     */
+    void reset() {
+        synchronized (this) {
+            changes.clear();
+            floorSequence = ++sequence;
+        }
+        fireChanged();
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.warn("执行变化回调失败", e);
+            }
+        }
+    }
+
+    private void recordTriggersOfJob(JobKey jobKey) {
+        try {
+            for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+                record(trigger.getKey());
+            }
+        } catch (SchedulerException e) {
+            log.warn("获取job关联的trigger失败，" + jobKey, e);
+            reset();
+        }
+    }
+
+    // -------------------- SchedulerListener --------------------
+
+    @Override
+    public void jobScheduled(Trigger trigger) {
+        record(trigger.getKey());
+    }
+
+    @Override
+    public void jobUnscheduled(TriggerKey triggerKey) {
+        record(triggerKey);
+    }
+
+    @Override
+    public void triggerFinalized(Trigger trigger) {
+        record(trigger.getKey());
+    }
+
+    @Override
+    public void triggerPaused(TriggerKey triggerKey) {
+        record(triggerKey);
+    }
+
+    @Override
+    public void triggersPaused(String triggerGroup) {
+        reset();
+    }
+
+    @Override
+    public void triggerResumed(TriggerKey triggerKey) {
+        record(triggerKey);
+    }
+
+    @Override
+    public void triggersResumed(String triggerGroup) {
+        reset();
+    }
+
+    @Override
+    public void jobAdded(JobDetail jobDetail) {
+        recordTriggersOfJob(jobDetail.getKey());
+    }
+
+    @Override
+    public void jobPaused(JobKey jobKey) {
+        recordTriggersOfJob(jobKey);
+    }
+
+    @Override
+    public void jobsPaused(String jobGroup) {
+        reset();
+    }
+
+    @Override
+    public void jobResumed(JobKey jobKey) {
+        recordTriggersOfJob(jobKey);
+    }
+
+    @Override
+    public void jobsResumed(String jobGroup) {
+        reset();
+    }
+
+    @Override
+    public void schedulingDataCleared() {
+        reset();
+    }
+
+    // -------------------- TriggerListener --------------------
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        return false;
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        record(trigger.getKey());
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context,
+                                CompletedExecutionInstruction triggerInstructionCode) {
+        record(trigger.getKey());
+    }
+
+    /**
+     * 自某个序号之后发生变化的trigger
+     */
+    public static class Changes {
+
+        private final long sequence;
+        private final boolean fullSnapshotRequired;
+        private final List<TriggerKey> triggerKeys;
+
+        Changes(long sequence, boolean fullSnapshotRequired, List<TriggerKey> triggerKeys) {
+            this.sequence = sequence;
+            this.fullSnapshotRequired = fullSnapshotRequired;
+            this.triggerKeys = triggerKeys;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public boolean isFullSnapshotRequired() {
+            return fullSnapshotRequired;
+        }
+
+        public List<TriggerKey> getTriggerKeys() {
+            return triggerKeys;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package redcoder.quartzextendcore.scheduler;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import redcoder.quartzextendcommon.utils.JsonUtils;
+import redcoder.quartzextendcommon.utils.PooledHttpClient;
+import redcoder.quartzextendcore.core.dto.QuartzApiResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerChanges;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerChangesReport;
+import redcoder.quartzextendcore.core.dto.QuartzSchedulerInstance;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 将job和trigger的变化主动推送到任务调度管理平台。
+ * <p>
+ * {@link JobTriggerChangeLog}记录到变化后，等待{@link QuartzJobSchedulerProperties#getPushDebounce()}，
+ * 把这段时间内的所有变化合并成一次增量推送；没有变化时，每隔{@link QuartzJobSchedulerProperties#getPushMaxIdle()}
+ * 推送一次空的增量数据。启动后的第一次推送、以及管理平台无法衔接增量数据时，推送全量数据。
+ * <p>
+ * 推送在独立的线程中进行，推送失败时保留进度，下一次推送时重新发送这部分变化。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+class JobTriggerChangesPusher {
+
+    private static final Logger log = LoggerFactory.getLogger(JobTriggerChangesPusher.class);
+
+    private final QuartzService quartzService;
+    private final QuartzJobSchedulerProperties properties;
+    private final PooledHttpClient httpClient;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Quartz-Changes-Pusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * 是否已安排了一次推送
+     */
+    private final AtomicBoolean pushScheduled = new AtomicBoolean();
+
+    // 推送进度，只在推送线程中访问
+    @Nullable
+    private String epoch;
+    private long sequence;
+    private long lastPushTime;
+
+    JobTriggerChangesPusher(QuartzService quartzService, QuartzJobSchedulerProperties properties,
+                            PooledHttpClient httpClient) {
+        this.quartzService = quartzService;
+        this.properties = properties;
+        this.httpClient = httpClient;
+    }
+
+    void start() {
+        quartzService.getJobTriggerChangeLog().addChangeListener(this::schedulePush);
+        // 推送一次全量数据
+        schedulePush();
+        long maxIdle = properties.getPushMaxIdle().toMillis();
+        executor.scheduleWithFixedDelay(this::pushIfIdle, maxIdle, maxIdle, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 安排一次推送，防抖时间内的重复调用会被合并
+     */
+    private void schedulePush() {
+        if (pushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(this::push, properties.getPushDebounce().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // 已停止推送
+            }
+        }
+    }
+
+    private void pushIfIdle() {
+        if (System.currentTimeMillis() - lastPushTime >= properties.getPushMaxIdle().toMillis()) {
+            push();
+        }
+    }
+
+    /**
+     * 推送自上一次推送成功之后的变化
+     */
+    void push() {
+        // 先清除标记，读取数据期间发生的变化会安排下一次推送
+        pushScheduled.set(false);
+        try {
+            QuartzSchedulerInstance instance = quartzService.getSchedulerInstance();
+            if (instance == null) {
+                return;
+            }
+            QuartzJobTriggerChanges changes = quartzService.getQuartzJobTriggerChanges(epoch, sequence);
+            QuartzJobTriggerChangesReport report = new QuartzJobTriggerChangesReport();
+            report.setSchedName(instance.getSchedName());
+            report.setInstanceHost(instance.getInstanceHost());
+            report.setInstancePort(instance.getInstancePort());
+            report.setSince(sequence);
+            report.setChanges(changes);
+            QuartzApiResult<Boolean> apiResult = httpClient.postJson(properties.getPushUrl(),
+                    JsonUtils.beanToJsonString(report), new TypeReference<QuartzApiResult<Boolean>>() {
+                    });
+            if (apiResult.getStatus() != 0) {
+                log.warn("推送job和trigger变化失败：" + apiResult.getMessage());
+                return;
+            }
+            lastPushTime = System.currentTimeMillis();
+            if (Boolean.TRUE.equals(apiResult.getData())) {
+                epoch = changes.getEpoch();
+                sequence = changes.getSequence();
+            } else {
+                // 管理平台没有可以衔接的同步进度（比如管理平台重启），重新推送全量数据
+                log.debug("管理平台要求推送全量数据");
+                epoch = null;
+                sequence = 0;
+                schedulePush();
+            }
+        } catch (Exception e) {
+            log.warn("推送job和trigger变化失败", e);
+        }
+    }
+}
@@ -4,6 +4,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.quartz.SchedulerException;
 import org.springframework.web.bind.annotation.*;
 import redcoder.quartzextendcore.core.dto.QuartzApiResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobBatchCommand;
+import redcoder.quartzextendcore.core.dto.QuartzJobCommandResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecutions;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerChanges;
 import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
 
 import java.util.List;
@@ -47,6 +51,30 @@ public class QuartzController {
         }
     }
 
+    @GetMapping("/job-trigger-info/changes")
+    public QuartzApiResult<QuartzJobTriggerChanges> getQuartzJobTriggerChanges(@RequestParam(required = false) String epoch,
+                                                                               @RequestParam(defaultValue = "0") long since) {
+        try {
+            QuartzJobTriggerChanges quartzJobTriggerChanges = quartzService.getQuartzJobTriggerChanges(epoch, since);
+            return new QuartzApiResult<>(0, "", quartzJobTriggerChanges);
+        } catch (Exception e) {
+            log.warn(e.getMessage(), e);
+            return new QuartzApiResult<>(500, e.getMessage());
+        }
+    }
+
+    @GetMapping("/job-execution/history")
+    public QuartzApiResult<QuartzJobExecutions> getQuartzJobExecutions(@RequestParam(defaultValue = "0") long since,
+                                                                       @RequestParam(defaultValue = "500") int limit) {
+        try {
+            QuartzJobExecutions quartzJobExecutions = quartzService.getQuartzJobExecutions(since, limit);
+            return new QuartzApiResult<>(0, "", quartzJobExecutions);
+        } catch (Exception e) {
+            log.warn(e.getMessage(), e);
+            return new QuartzApiResult<>(500, e.getMessage());
+        }
+    }
+
     @PostMapping("/trigger-job")
     public QuartzApiResult<Boolean> triggerJob(@RequestParam String jobName, @RequestParam String jobGroup) {
         try {
@@ -90,4 +118,44 @@ public class QuartzController {
             return new QuartzApiResult<>(500, e.getMessage(), false);
         }
     }
+
+    @PostMapping("/batch/trigger-job")
+    public QuartzApiResult<List<QuartzJobCommandResult>> triggerJobs(@RequestBody QuartzJobBatchCommand command) {
+        try {
+            return new QuartzApiResult<>(0, "", quartzService.triggerJobs(command));
+        } catch (Exception e) {
+            log.warn(e.getMessage(), e);
+            return new QuartzApiResult<>(500, e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch/pause-job")
+    public QuartzApiResult<List<QuartzJobCommandResult>> pauseJobs(@RequestBody QuartzJobBatchCommand command) {
+        try {
+            return new QuartzApiResult<>(0, "", quartzService.pauseJobs(command));
+        } catch (Exception e) {
+            log.warn(e.getMessage(), e);
+            return new QuartzApiResult<>(500, e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch/resume-job")
+    public QuartzApiResult<List<QuartzJobCommandResult>> resumeJobs(@RequestBody QuartzJobBatchCommand command) {
+        try {
+            return new QuartzApiResult<>(0, "", quartzService.resumeJobs(command));
+        } catch (Exception e) {
+            log.warn(e.getMessage(), e);
+            return new QuartzApiResult<>(500, e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch/delete-job")
+    public QuartzApiResult<List<QuartzJobCommandResult>> deleteJobs(@RequestBody QuartzJobBatchCommand command) {
+        try {
+            return new QuartzApiResult<>(0, "", quartzService.deleteJobs(command));
+        } catch (Exception e) {
+            log.warn(e.getMessage(), e);
+            return new QuartzApiResult<>(500, e.getMessage());
+        }
+    }
 }
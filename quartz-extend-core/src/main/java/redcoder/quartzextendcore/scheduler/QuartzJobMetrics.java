@@ -0,0 +1,206 @@
+package redcoder.quartzextendcore.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.quartz.*;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.springframework.beans.factory.InitializingBean;
+import redcoder.quartzextendcore.core.ConcurrencyLimitingJobFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 通过JobListener和TriggerListener记录quartz job的执行情况，并发布到micrometer，所有指标都带有tag：
+ * <code>schedName</code>、<code>job</code>（JobKey，格式：group.name）。
+ * <ul>
+ *     <li>quartz.job.execution: job执行耗时，额外的tag <code>result</code>：success、failure</li>
+ *     <li>quartz.job.fire.delay: 调度延迟，实际触发时间 - 计划触发时间</li>
+ *     <li>quartz.job.active: 正在执行的job实例数，不包括等待许可和被放弃的执行，参见{@link ConcurrencyLimitingJobFactory#ACTIVE_EXECUTIONS}</li>
+ *     <li>quartz.job.misfire: trigger错过触发的次数</li>
+ *     <li>quartz.job.vetoed: job被TriggerListener否决执行的次数</li>
+ *     <li>quartz.job.concurrency.rejected: 达到同时执行数上限，放弃执行的次数</li>
+ *     <li>quartz.job.concurrency.deferred: 达到同时执行数上限，等待后才执行的次数</li>
+ * </ul>
+ * 只有存在micrometer时才会注册，参见{@link redcoder.quartzextendcore.core.QuartzExtendConfig}。
+ * 在{@link #bindTo(MeterRegistry)}之前发生的事件不会被记录。每个job的指标在第一次发生事件时注册，之后直接使用。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class QuartzJobMetrics implements JobListener, TriggerListener, MeterBinder, InitializingBean {
+
+    private static final String NAME = "QuartzExtendJobMetrics";
+
+    private final Scheduler scheduler;
+    private volatile MeterRegistry meterRegistry;
+    private String schedName;
+
+    /**
+     * 已注册的指标，key: JobKey
+     */
+    private final Map<JobKey, JobMeters> jobMeters = new ConcurrentHashMap<>();
+
+    public QuartzJobMetrics(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        schedName = scheduler.getSchedulerName();
+        ListenerManager listenerManager = scheduler.getListenerManager();
+        listenerManager.addJobListener(this);
+        listenerManager.addTriggerListener(this);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        jobMeters.clear();
+        this.meterRegistry = registry;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // -------------------- JobListener --------------------
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        JobMeters meters = getJobMeters(context.getJobDetail().getKey());
+        if (meters == null) {
+            return;
+        }
+        long delay = context.getFireTime().getTime() - context.getScheduledFireTime().getTime();
+        meters.fireDelay.record(Math.max(delay, 0), TimeUnit.MILLISECONDS);
+        meters.active.incrementAndGet();
+        // 等待许可期间和被放弃时，由ConcurrencyLimitingJobFactory减去
+        context.put(ConcurrencyLimitingJobFactory.ACTIVE_EXECUTIONS, meters.active);
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+        JobMeters meters = getJobMeters(context.getJobDetail().getKey());
+        if (meters != null) {
+            meters.vetoed.increment();
+        }
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        // bindTo之前开始执行的job没有计入
+        AtomicInteger active = (AtomicInteger) context.get(ConcurrencyLimitingJobFactory.ACTIVE_EXECUTIONS);
+        JobMeters meters = getJobMeters(context.getJobDetail().getKey());
+        if (active == null || meters == null) {
+            return;
+        }
+        Object limitOutcome = context.get(ConcurrencyLimitingJobFactory.LIMIT_OUTCOME);
+        if (ConcurrencyLimitingJobFactory.OUTCOME_REJECTED.equals(limitOutcome)) {
+            meters.rejected.increment();
+            // job没有执行，已经不计入正在执行的实例数，也不记录执行耗时
+            return;
+        }
+        active.decrementAndGet();
+        if (ConcurrencyLimitingJobFactory.OUTCOME_DEFERRED.equals(limitOutcome)) {
+            meters.deferred.increment();
+        }
+        (jobException == null ? meters.success : meters.failure).record(context.getJobRunTime(), TimeUnit.MILLISECONDS);
+    }
+
+    // -------------------- TriggerListener --------------------
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        return false;
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        JobMeters meters = getJobMeters(trigger.getJobKey());
+        if (meters != null) {
+            meters.misfire.increment();
+        }
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context,
+                                CompletedExecutionInstruction triggerInstructionCode) {
+    }
+
+    /**
+     * 获取job的指标，第一次获取时注册
+     *
+     * @return 还没有绑定MeterRegistry时返回null
+     */
+    private JobMeters getJobMeters(JobKey jobKey) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return null;
+        }
+        return jobMeters.computeIfAbsent(jobKey, key -> new JobMeters(registry,
+                Tags.of("schedName", schedName, "job", key.toString())));
+    }
+
+    /**
+     * 一个job的所有指标
+     */
+    private static class JobMeters {
+
+        private final Timer fireDelay;
+        private final AtomicInteger active = new AtomicInteger();
+        private final Timer success;
+        private final Timer failure;
+        private final Counter vetoed;
+        private final Counter misfire;
+        private final Counter rejected;
+        private final Counter deferred;
+
+        JobMeters(MeterRegistry registry, Tags tags) {
+            fireDelay = Timer.builder("quartz.job.fire.delay")
+                    .description("调度延迟，实际触发时间 - 计划触发时间")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("quartz.job.active", active, AtomicInteger::get)
+                    .description("正在执行的job实例数")
+                    .tags(tags)
+                    .register(registry);
+            success = executionTimer(registry, tags, "success");
+            failure = executionTimer(registry, tags, "failure");
+            vetoed = Counter.builder("quartz.job.vetoed")
+                    .description("job被否决执行的次数")
+                    .tags(tags)
+                    .register(registry);
+            misfire = Counter.builder("quartz.job.misfire")
+                    .description("trigger错过触发的次数")
+                    .tags(tags)
+                    .register(registry);
+            rejected = Counter.builder("quartz.job.concurrency.rejected")
+                    .description("达到同时执行数上限，放弃执行的次数")
+                    .tags(tags)
+                    .register(registry);
+            deferred = Counter.builder("quartz.job.concurrency.deferred")
+                    .description("达到同时执行数上限，等待后才执行的次数")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        private static Timer executionTimer(MeterRegistry registry, Tags tags, String result) {
+            return Timer.builder("quartz.job.execution")
+                    .description("job执行耗时")
+                    .tags(tags)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
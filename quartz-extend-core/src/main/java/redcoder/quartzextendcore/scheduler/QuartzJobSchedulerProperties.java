@@ -2,6 +2,8 @@ package redcoder.quartzextendcore.scheduler;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * quartz任务调度管理平台的配置属性
  *
@@ -21,6 +23,41 @@ public class QuartzJobSchedulerProperties {
      */
     private String unregisterUrl;
 
+    /**
+     * 心跳间隔，每次心跳向注册地址重新注册实例信息、续约，default value: 10s
+     *
+     * @since 1.1.0
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+    /**
+     * 租约时长，超过该时间没有收到心跳，管理平台认为实例已下线，default value: 30s
+     *
+     * @since 1.1.0
+     */
+    private Duration leaseTtl = Duration.ofSeconds(30);
+
+    /**
+     * 主动推送job和trigger变化的地址，未配置时不推送，由任务调度管理平台定时拉取
+     *
+     * @since 1.1.0
+     */
+    private String pushUrl;
+
+    /**
+     * 推送的防抖时间，一段时间内的多次变化合并成一次推送，default value: 1s
+     *
+     * @since 1.1.0
+     */
+    private Duration pushDebounce = Duration.ofSeconds(1);
+
+    /**
+     * 没有变化时，最长间隔多久推送一次（空的增量数据），让管理平台知道推送仍然有效，default value: 2m
+     *
+     * @since 1.1.0
+     */
+    private Duration pushMaxIdle = Duration.ofMinutes(2);
+
     public String getRegisterUrl() {
         return registerUrl;
     }
@@ -36,4 +73,44 @@ public class QuartzJobSchedulerProperties {
     public void setUnregisterUrl(String unregisterUrl) {
         this.unregisterUrl = unregisterUrl;
     }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    public void setLeaseTtl(Duration leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
+    public String getPushUrl() {
+        return pushUrl;
+    }
+
+    public void setPushUrl(String pushUrl) {
+        this.pushUrl = pushUrl;
+    }
+
+    public Duration getPushDebounce() {
+        return pushDebounce;
+    }
+
+    public void setPushDebounce(Duration pushDebounce) {
+        this.pushDebounce = pushDebounce;
+    }
+
+    public Duration getPushMaxIdle() {
+        return pushMaxIdle;
+    }
+
+    public void setPushMaxIdle(Duration pushMaxIdle) {
+        this.pushMaxIdle = pushMaxIdle;
+    }
 }
@@ -1,26 +1,37 @@
 package redcoder.quartzextendcore.scheduler;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import redcoder.quartzextendcommon.utils.HttpTemplate;
+import redcoder.quartzextendcommon.utils.HttpUtils;
 import redcoder.quartzextendcommon.utils.IpUtils;
 import redcoder.quartzextendcommon.utils.JsonUtils;
+import redcoder.quartzextendcommon.utils.PooledHttpClient;
+import redcoder.quartzextendcore.core.JobShards;
 import redcoder.quartzextendcore.core.dto.QuartzApiResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobBatchCommand;
+import redcoder.quartzextendcore.core.dto.QuartzJobCommandResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecutions;
+import redcoder.quartzextendcore.core.dto.QuartzJobKey;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerChanges;
 import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
 import redcoder.quartzextendcore.core.dto.QuartzSchedulerInstance;
+import redcoder.quartzextendcore.core.dto.QuartzTriggerKey;
 import org.quartz.*;
 import org.quartz.Trigger.TriggerState;
+import org.quartz.impl.jdbcjobstore.JobStoreSupport;
 import org.quartz.impl.matchers.GroupMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.springframework.util.StringUtils.isEmpty;
 
@@ -35,26 +46,90 @@ public class QuartzService implements InitializingBean, DisposableBean {
     private Scheduler scheduler;
     private Environment environment;
     private QuartzJobSchedulerProperties properties;
+    @Nullable
+    private JdbcJobTriggerInfoReader jobTriggerInfoReader;
+    private final JobTriggerChangeLog jobTriggerChangeLog;
+    private PooledHttpClient registryClient = HttpUtils.getDefaultClient();
+    @Nullable
+    private JobExecutionHistory jobExecutionHistory;
+    @Nullable
+    private JobTriggerChangesPusher jobTriggerChangesPusher;
+    @Nullable
+    private ScheduledExecutorService heartbeatExecutor;
+    /**
+     * 上一次心跳是否成功，只在心跳线程中访问
+     */
+    private boolean registered;
 
     public QuartzService(Scheduler scheduler, Environment environment, QuartzJobSchedulerProperties properties) {
+        this(scheduler, environment, properties, null);
+    }
+
+    /**
+     * @param jobTriggerInfoReader 用于批量读取job和trigger信息，为null时逐个trigger查询
+     * @since 1.1.0
+     */
+    public QuartzService(Scheduler scheduler, Environment environment, QuartzJobSchedulerProperties properties,
+                         @Nullable JdbcJobTriggerInfoReader jobTriggerInfoReader) {
         this.scheduler = scheduler;
         this.environment = environment;
         this.properties = properties;
+        this.jobTriggerInfoReader = jobTriggerInfoReader;
+        this.jobTriggerChangeLog = new JobTriggerChangeLog(scheduler);
+    }
+
+    /**
+     * 设置注册、解除注册实例信息时使用的http客户端，默认使用{@link HttpUtils#getDefaultClient()}
+     *
+     * @since 1.1.0
+     */
+    public void setRegistryClient(PooledHttpClient registryClient) {
+        this.registryClient = registryClient;
+    }
+
+    /**
+     * 设置job执行记录，未设置时不提供执行记录
+     *
+     * @since 1.1.0
+     */
+    public void setJobExecutionHistory(@Nullable JobExecutionHistory jobExecutionHistory) {
+        this.jobExecutionHistory = jobExecutionHistory;
     }
 
     /**
-     * 获取当前quartz scheduler中的job和trigger信息
+     * 获取当前quartz scheduler中的job和trigger信息。
+     * <p>
+     * 如果使用的是JDBC JobStore，通过{@link JdbcJobTriggerInfoReader}一次性批量读取；
+     * 否则（比如RAMJobStore）或批量读取失败时，逐个trigger查询。不包含分片执行时创建的临时trigger。
      *
      * @return 包含job和trigger信息 {@link QuartzJobTriggerInfo} 的集合
      */
     List<QuartzJobTriggerInfo> getQuartzJobTriggerInfoList() throws SchedulerException {
-        List<QuartzJobTriggerInfo> quartzJobTriggerInfos = new ArrayList<>();
+        String schedName = scheduler.getSchedulerName();
+        if (jobTriggerInfoReader != null && isJdbcJobStore()) {
+            try {
+                List<QuartzJobTriggerInfo> quartzJobTriggerInfos = jobTriggerInfoReader.read(schedName);
+                quartzJobTriggerInfos.removeIf(info -> JobShards.SHARD_TRIGGER_GROUP.equals(info.getTriggerGroup()));
+                return quartzJobTriggerInfos;
+            } catch (SQLException e) {
+                log.warn("批量读取job和trigger信息失败，改为逐个trigger查询", e);
+            }
+        }
 
+        List<QuartzJobTriggerInfo> quartzJobTriggerInfos = new ArrayList<>();
+        // 同一个job可能关联多个trigger，缓存已查询的JobDetail
+        Map<JobKey, JobDetail> jobDetails = new HashMap<>();
         Set<TriggerKey> triggerKeys = scheduler.getTriggerKeys(GroupMatcher.anyTriggerGroup());
         for (TriggerKey triggerKey : triggerKeys) {
+            if (JobShards.isShardTrigger(triggerKey)) {
+                // 分片trigger只存在于分片执行期间，不对外展示
+                continue;
+            }
             try {
-                QuartzJobTriggerInfo quartzJobTriggerInfo = createQuartzJobTrigger(triggerKey);
-                quartzJobTriggerInfos.add(quartzJobTriggerInfo);
+                QuartzJobTriggerInfo quartzJobTriggerInfo = createQuartzJobTrigger(schedName, triggerKey, jobDetails);
+                if (quartzJobTriggerInfo != null) {
+                    quartzJobTriggerInfos.add(quartzJobTriggerInfo);
+                }
             } catch (SchedulerException e) {
                 log.warn("createQuartBean error", e);
             }
@@ -63,6 +138,80 @@ public class QuartzService implements InitializingBean, DisposableBean {
         return quartzJobTriggerInfos;
     }
 
+    /**
+     * 获取自指定变更序号之后发生变化的job和trigger信息。
+     * <p>
+     * 纪元不匹配、序号已过期（变更记录被淘汰）时，返回全量数据。
+     * 集群模式的JobStore总是返回全量数据：{@link JobTriggerChangeLog}只能感知当前节点上发生的变化，
+     * 其他节点触发的trigger不会出现在增量数据中。
+     *
+     * @param epoch 调用方持有的纪元，首次请求传null
+     * @param since 调用方持有的变更序号
+     * @return 变化的job和trigger信息 {@link QuartzJobTriggerChanges}
+     * @since 1.1.0
+     */
+    QuartzJobTriggerChanges getQuartzJobTriggerChanges(@Nullable String epoch, long since) throws SchedulerException {
+        // 先取变更记录，再读取trigger的当前数据，读取期间发生的变化会在下一次请求中再次返回
+        JobTriggerChangeLog.Changes changes = jobTriggerChangeLog.getChangesSince(epoch, since);
+
+        QuartzJobTriggerChanges quartzJobTriggerChanges = new QuartzJobTriggerChanges();
+        quartzJobTriggerChanges.setEpoch(jobTriggerChangeLog.getEpoch());
+        quartzJobTriggerChanges.setSequence(changes.getSequence());
+        if (changes.isFullSnapshotRequired() || scheduler.getMetaData().isJobStoreClustered()) {
+            quartzJobTriggerChanges.setFullSnapshot(true);
+            quartzJobTriggerChanges.setUpserts(getQuartzJobTriggerInfoList());
+            return quartzJobTriggerChanges;
+        }
+
+        String schedName = scheduler.getSchedulerName();
+        Map<JobKey, JobDetail> jobDetails = new HashMap<>();
+        for (TriggerKey triggerKey : changes.getTriggerKeys()) {
+            QuartzJobTriggerInfo quartzJobTriggerInfo = createQuartzJobTrigger(schedName, triggerKey, jobDetails);
+            if (quartzJobTriggerInfo != null) {
+                quartzJobTriggerChanges.getUpserts().add(quartzJobTriggerInfo);
+            } else {
+                quartzJobTriggerChanges.getDeletes().add(new QuartzTriggerKey(triggerKey.getName(), triggerKey.getGroup()));
+            }
+        }
+        return quartzJobTriggerChanges;
+    }
+
+    /**
+     * 获取序号大于since的job执行记录
+     *
+     * @param since 调用方持有的序号，首次请求传0
+     * @param limit 最多返回的记录数
+     * @return job执行记录 {@link QuartzJobExecutions}
+     * @since 1.1.0
+     */
+    QuartzJobExecutions getQuartzJobExecutions(long since, int limit) {
+        Assert.state(jobExecutionHistory != null, "未启用job执行记录");
+        return jobExecutionHistory.getSince(since, limit);
+    }
+
+    JobTriggerChangeLog getJobTriggerChangeLog() {
+        return jobTriggerChangeLog;
+    }
+
+    /**
+     * 获取当前实例的信息，用于注册到任务调度管理平台
+     *
+     * @return 当前实例的信息，未配置"server.port"时return null
+     * @since 1.1.0
+     */
+    @Nullable
+    QuartzSchedulerInstance getSchedulerInstance() throws SchedulerException {
+        String port = environment.getProperty("server.port");
+        if (isEmpty(port)) {
+            return null;
+        }
+        return new QuartzSchedulerInstance(scheduler.getSchedulerName(), IpUtils.getLocalIp(), Integer.valueOf(port));
+    }
+
+    private boolean isJdbcJobStore() throws SchedulerException {
+        return JobStoreSupport.class.isAssignableFrom(scheduler.getMetaData().getJobStoreClass());
+    }
+
     /**
      * 根据trigger查询对应的 {@link QuartzJobTriggerInfo}
      *
@@ -73,7 +222,7 @@ public class QuartzService implements InitializingBean, DisposableBean {
      */
     QuartzJobTriggerInfo getQuartzJobTriggerInfo(String triggerName, String triggerGroup) throws SchedulerException {
         TriggerKey triggerKey = TriggerKey.triggerKey(triggerName, triggerGroup);
-        QuartzJobTriggerInfo quartBean = createQuartzJobTrigger(triggerKey);
+        QuartzJobTriggerInfo quartBean = createQuartzJobTrigger(scheduler.getSchedulerName(), triggerKey, new HashMap<>());
         Assert.notNull(quartBean, "QuartzJobTriggerInfo not exist");
         return quartBean;
     }
@@ -122,13 +271,131 @@ public class QuartzService implements InitializingBean, DisposableBean {
         scheduler.deleteJob(jobKey);
     }
 
-    private QuartzJobTriggerInfo createQuartzJobTrigger(TriggerKey triggerKey) throws SchedulerException {
-        QuartzJobTriggerInfo quartzJobTriggerInfo = new QuartzJobTriggerInfo();
+    /**
+     * 批量执行job
+     *
+     * @param command 待执行的job和job组
+     * @return 每个job的执行结果
+     */
+    List<QuartzJobCommandResult> triggerJobs(QuartzJobBatchCommand command) throws SchedulerException {
+        Set<JobKey> jobKeys = new LinkedHashSet<>();
+        for (String jobGroup : command.getJobGroups()) {
+            jobKeys.addAll(scheduler.getJobKeys(GroupMatcher.jobGroupEquals(jobGroup)));
+        }
+        jobKeys.addAll(toJobKeys(command.getJobKeys()));
+        return forEachJob(jobKeys, scheduler::triggerJob);
+    }
 
-        String schedName = scheduler.getSchedulerName();
-        quartzJobTriggerInfo.setSchedName(schedName);
+    /**
+     * 批量暂停job，job组使用{@link Scheduler#pauseJobs(GroupMatcher)}整组暂停
+     *
+     * @param command 待暂停的job和job组
+     * @return 每个job的暂停结果
+     */
+    List<QuartzJobCommandResult> pauseJobs(QuartzJobBatchCommand command) throws SchedulerException {
+        List<QuartzJobCommandResult> results = new ArrayList<>();
+        for (String jobGroup : command.getJobGroups()) {
+            GroupMatcher<JobKey> matcher = GroupMatcher.jobGroupEquals(jobGroup);
+            Set<JobKey> jobKeys = scheduler.getJobKeys(matcher);
+            scheduler.pauseJobs(matcher);
+            jobKeys.forEach(jobKey -> results.add(QuartzJobCommandResult.success(jobKey.getName(), jobKey.getGroup())));
+        }
+        results.addAll(forEachJob(toJobKeys(command.getJobKeys()), scheduler::pauseJob));
+        return results;
+    }
+
+    /**
+     * 批量恢复job，job组使用{@link Scheduler#resumeJobs(GroupMatcher)}整组恢复
+     *
+     * @param command 待恢复的job和job组
+     * @return 每个job的恢复结果
+     */
+    List<QuartzJobCommandResult> resumeJobs(QuartzJobBatchCommand command) throws SchedulerException {
+        List<QuartzJobCommandResult> results = new ArrayList<>();
+        for (String jobGroup : command.getJobGroups()) {
+            GroupMatcher<JobKey> matcher = GroupMatcher.jobGroupEquals(jobGroup);
+            Set<JobKey> jobKeys = scheduler.getJobKeys(matcher);
+            scheduler.resumeJobs(matcher);
+            jobKeys.forEach(jobKey -> results.add(QuartzJobCommandResult.success(jobKey.getName(), jobKey.getGroup())));
+        }
+        results.addAll(forEachJob(toJobKeys(command.getJobKeys()), scheduler::resumeJob));
+        return results;
+    }
+
+    /**
+     * 批量删除job，使用{@link Scheduler#deleteJobs(List)}在一个事务中删除；删除失败时改为逐个删除，以得到每个job的结果
+     *
+     * @param command 待删除的job和job组
+     * @return 每个job的删除结果
+     */
+    List<QuartzJobCommandResult> deleteJobs(QuartzJobBatchCommand command) throws SchedulerException {
+        Set<JobKey> jobKeys = new LinkedHashSet<>();
+        for (String jobGroup : command.getJobGroups()) {
+            jobKeys.addAll(scheduler.getJobKeys(GroupMatcher.jobGroupEquals(jobGroup)));
+        }
+        List<QuartzJobCommandResult> results = new ArrayList<>();
+        for (JobKey jobKey : toJobKeys(command.getJobKeys())) {
+            if (jobKeys.contains(jobKey)) {
+                continue;
+            }
+            if (scheduler.checkExists(jobKey)) {
+                jobKeys.add(jobKey);
+            } else {
+                results.add(QuartzJobCommandResult.failure(jobKey.getName(), jobKey.getGroup(), "job not exist"));
+            }
+        }
+        try {
+            scheduler.deleteJobs(new ArrayList<>(jobKeys));
+            jobKeys.forEach(jobKey -> results.add(QuartzJobCommandResult.success(jobKey.getName(), jobKey.getGroup())));
+        } catch (SchedulerException e) {
+            log.warn("批量删除job失败，改为逐个删除", e);
+            results.addAll(forEachJob(jobKeys, scheduler::deleteJob));
+        }
+        return results;
+    }
+
+    private static Set<JobKey> toJobKeys(List<QuartzJobKey> jobKeys) {
+        Set<JobKey> result = new LinkedHashSet<>();
+        for (QuartzJobKey jobKey : jobKeys) {
+            result.add(JobKey.jobKey(jobKey.getJobName(), jobKey.getJobGroup()));
+        }
+        return result;
+    }
+
+    /**
+     * 逐个操作job，单个job操作失败不影响其他job
+     */
+    private List<QuartzJobCommandResult> forEachJob(Collection<JobKey> jobKeys, JobOperation operation) {
+        List<QuartzJobCommandResult> results = new ArrayList<>(jobKeys.size());
+        for (JobKey jobKey : jobKeys) {
+            try {
+                if (!scheduler.checkExists(jobKey)) {
+                    results.add(QuartzJobCommandResult.failure(jobKey.getName(), jobKey.getGroup(), "job not exist"));
+                    continue;
+                }
+                operation.apply(jobKey);
+                results.add(QuartzJobCommandResult.success(jobKey.getName(), jobKey.getGroup()));
+            } catch (SchedulerException e) {
+                log.warn(e.getMessage(), e);
+                results.add(QuartzJobCommandResult.failure(jobKey.getName(), jobKey.getGroup(), e.getMessage()));
+            }
+        }
+        return results;
+    }
 
+    /**
+     * 创建trigger对应的 {@link QuartzJobTriggerInfo}，如果trigger不存在，return null
+     */
+    @Nullable
+    private QuartzJobTriggerInfo createQuartzJobTrigger(String schedName, TriggerKey triggerKey,
+                                                       Map<JobKey, JobDetail> jobDetails) throws SchedulerException {
         Trigger trigger = scheduler.getTrigger(triggerKey);
+        if (trigger == null) {
+            return null;
+        }
+        QuartzJobTriggerInfo quartzJobTriggerInfo = new QuartzJobTriggerInfo();
+        quartzJobTriggerInfo.setSchedName(schedName);
+
         TriggerState triggerState = scheduler.getTriggerState(triggerKey);
         // 设置触发器相关属性
         quartzJobTriggerInfo.setTriggerName(triggerKey.getName());
@@ -140,7 +407,11 @@ public class QuartzService implements InitializingBean, DisposableBean {
 
         JobKey jobKey = trigger.getJobKey();
         if (jobKey != null) {
-            JobDetail jobDetail = scheduler.getJobDetail(jobKey);
+            JobDetail jobDetail = jobDetails.get(jobKey);
+            if (jobDetail == null) {
+                jobDetail = scheduler.getJobDetail(jobKey);
+                jobDetails.put(jobKey, jobDetail);
+            }
             // 设置job相关属性
             quartzJobTriggerInfo.setJobName(jobDetail.getKey().getName());
             quartzJobTriggerInfo.setJobGroup(jobDetail.getKey().getGroup());
@@ -151,52 +422,83 @@ public class QuartzService implements InitializingBean, DisposableBean {
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        // 异步注册
-        new Thread(() -> {
-            String registerUrl = properties.getRegisterUrl();
-            if (isEmpty(registerUrl)) {
-                return;
+        // 记录job和trigger的变化，用于增量同步
+        ListenerManager listenerManager = scheduler.getListenerManager();
+        listenerManager.addSchedulerListener(jobTriggerChangeLog);
+        listenerManager.addTriggerListener(jobTriggerChangeLog);
+
+        // 配置了推送地址时，主动推送job和trigger的变化
+        if (!isEmpty(properties.getPushUrl())) {
+            if (isEmpty(environment.getProperty("server.port"))) {
+                log.warn("未配置\"server.port\"，不推送job和trigger的变化");
+            } else {
+                jobTriggerChangesPusher = new JobTriggerChangesPusher(this, properties, registryClient);
+                jobTriggerChangesPusher.start();
             }
+        }
 
-            try {
-                String schedName = scheduler.getSchedulerName();
-                String host = IpUtils.getLocalIp();
-                String port = environment.getProperty("server.port");
-                if (isEmpty(port)) {
-                    log.warn("注册实例信息失败：未配置\"server.port\"");
-                    return;
-                }
-                QuartzSchedulerInstance instance = new QuartzSchedulerInstance(schedName, host, Integer.valueOf(port));
-                QuartzApiResult<Boolean> apiResult = HttpTemplate.doPost(registerUrl, JsonUtils.beanToJsonString(instance),
-                        new TypeReference<QuartzApiResult<Boolean>>() {
-                        });
-                if (apiResult.getStatus() == 0 && Boolean.TRUE.equals(apiResult.getData())) {
+        // 定期发送心跳（重新注册实例信息），续约
+        if (!isEmpty(properties.getRegisterUrl())) {
+            heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "Quartz-Heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+            heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, 0,
+                    properties.getHeartbeatInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 注册实例信息，只在心跳线程中执行
+     */
+    private void heartbeat() {
+        try {
+            QuartzSchedulerInstance instance = getSchedulerInstance();
+            if (instance == null) {
+                log.warn("注册实例信息失败：未配置\"server.port\"");
+                heartbeatExecutor.shutdown();
+                return;
+            }
+            instance.setLeaseTtl((int) properties.getLeaseTtl().getSeconds());
+            QuartzApiResult<Boolean> apiResult = registryClient.postJson(properties.getRegisterUrl(),
+                    JsonUtils.beanToJsonString(instance), new TypeReference<QuartzApiResult<Boolean>>() {
+                    });
+            if (apiResult.getStatus() == 0 && Boolean.TRUE.equals(apiResult.getData())) {
+                if (!registered) {
                     log.info("注册实例信息成功");
-                } else {
-                    log.warn("注册实例信息失败：" + apiResult.getMessage());
+                    registered = true;
                 }
-            } catch (Exception e) {
-                log.warn("注册实例信息失败", e);
+            } else {
+                log.warn("注册实例信息失败：" + apiResult.getMessage());
+                registered = false;
             }
-        }, "Quartz-Register-Thread").start();
+        } catch (Exception e) {
+            log.warn("注册实例信息失败", e);
+            registered = false;
+        }
     }
 
     @Override
     public void destroy() throws Exception {
+        if (jobTriggerChangesPusher != null) {
+            jobTriggerChangesPusher.stop();
+        }
+        if (heartbeatExecutor != null) {
+            heartbeatExecutor.shutdownNow();
+            heartbeatExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        }
         String unregisterUrl = properties.getUnregisterUrl();
         if (isEmpty(unregisterUrl)) {
             return;
         }
         try {
-            String schedName = scheduler.getSchedulerName();
-            String host = IpUtils.getLocalIp();
-            String port = environment.getProperty("server.port");
-            if (isEmpty(port)) {
+            QuartzSchedulerInstance instance = getSchedulerInstance();
+            if (instance == null) {
                 log.warn("解除注册的实例信息失败：未配置\"server.port\"");
                 return;
             }
-            QuartzSchedulerInstance instance = new QuartzSchedulerInstance(schedName, host, Integer.valueOf(port));
-            QuartzApiResult<Boolean> apiResult = HttpTemplate.doPost(unregisterUrl, JsonUtils.beanToJsonString(instance),
+            QuartzApiResult<Boolean> apiResult = registryClient.postJson(unregisterUrl, JsonUtils.beanToJsonString(instance),
                     new TypeReference<QuartzApiResult<Boolean>>() {
                     });
             if (apiResult.getStatus() == 0 && Boolean.TRUE.equals(apiResult.getData())) {
@@ -208,4 +510,10 @@ public class QuartzService implements InitializingBean, DisposableBean {
             log.warn("解除注册的注册实例信息失败", e);
         }
     }
+
+    @FunctionalInterface
+    private interface JobOperation {
+
+        void apply(JobKey jobKey) throws SchedulerException;
+    }
 }
@@ -0,0 +1,114 @@
+package redcoder.quartzextendcore.core;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.*;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JobDefinitionFingerprint}在重新启动后保持不变，且不受trigger开始时间的影响
+ *
+ * @author redcoder54
+ */
+class JobDefinitionFingerprintTest {
+
+    @Test
+    void jobFingerprintIsStableAcrossRestarts() {
+        // 不依赖对象标识和运行环境，相同的定义在不同的进程中得到相同的指纹
+        assertThat(JobDefinitionFingerprint.of(newJobDetail("value"))).isEqualTo("3ce3de3fa3e7927174429b998fe8519b");
+        assertThat(JobDefinitionFingerprint.of(newJobDetail("value")))
+                .isEqualTo(JobDefinitionFingerprint.of(newJobDetail("value")));
+    }
+
+    @Test
+    void triggerFingerprintIsStableAcrossRestarts() {
+        assertThat(JobDefinitionFingerprint.of(newCronTrigger("0 0/5 * * * ?", new Date(0))))
+                .isEqualTo("b04ad10781152c639643cadccfb823aa");
+    }
+
+    @Test
+    void triggerFingerprintIgnoresStartTime() {
+        Date now = new Date();
+        Date later = new Date(now.getTime() + 60 * 60 * 1000L);
+
+        assertThat(JobDefinitionFingerprint.of(newCronTrigger("0 0/5 * * * ?", now)))
+                .isEqualTo(JobDefinitionFingerprint.of(newCronTrigger("0 0/5 * * * ?", later)));
+        assertThat(JobDefinitionFingerprint.of(newSimpleTrigger(now)))
+                .isEqualTo(JobDefinitionFingerprint.of(newSimpleTrigger(later)));
+    }
+
+    @Test
+    void fingerprintChangesWithDefinition() {
+        Date now = new Date();
+
+        assertThat(JobDefinitionFingerprint.of(newJobDetail("value")))
+                .isNotEqualTo(JobDefinitionFingerprint.of(newJobDetail("changed")));
+        assertThat(JobDefinitionFingerprint.of(newCronTrigger("0 0/5 * * * ?", now)))
+                .isNotEqualTo(JobDefinitionFingerprint.of(newCronTrigger("0 0/10 * * * ?", now)));
+    }
+
+    @Test
+    void fingerprintIgnoresStoredFingerprintAndJobDataOrder() {
+        JobDetail jobDetail = newJobDetail("value");
+        JobDetail stored = newJobDetail("value");
+        stored.getJobDataMap().put(JobDefinitionFingerprint.FINGERPRINT_KEY, JobDefinitionFingerprint.of(stored));
+        JobDetail reordered = JobBuilder.newJob(NoOpJob.class)
+                .withIdentity("job", "group")
+                .withDescription("description")
+                .usingJobData("other", "1")
+                .usingJobData("key", "value")
+                .build();
+
+        assertThat(JobDefinitionFingerprint.of(stored)).isEqualTo(JobDefinitionFingerprint.of(jobDetail));
+        assertThat(JobDefinitionFingerprint.of(reordered)).isEqualTo(JobDefinitionFingerprint.of(jobDetail));
+    }
+
+    @Test
+    void stripRemovesFingerprintFromCopy() {
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put("key", "value");
+        jobDataMap.put(JobDefinitionFingerprint.FINGERPRINT_KEY, "fingerprint");
+
+        JobDataMap stripped = JobDefinitionFingerprint.strip(jobDataMap);
+
+        assertThat(stripped).doesNotContainKey(JobDefinitionFingerprint.FINGERPRINT_KEY).containsEntry("key", "value");
+        assertThat(JobDefinitionFingerprint.get(jobDataMap)).isEqualTo("fingerprint");
+    }
+
+    private static JobDetail newJobDetail(String value) {
+        return JobBuilder.newJob(NoOpJob.class)
+                .withIdentity("job", "group")
+                .withDescription("description")
+                .usingJobData("key", value)
+                .usingJobData("other", "1")
+                .build();
+    }
+
+    private static Trigger newCronTrigger(String cron, Date startTime) {
+        return TriggerBuilder.newTrigger()
+                .withIdentity("trigger", "group")
+                .forJob("job", "group")
+                .startAt(startTime)
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron).inTimeZone(TimeZone.getTimeZone("Asia/Shanghai")))
+                .build();
+    }
+
+    private static Trigger newSimpleTrigger(Date startTime) {
+        return TriggerBuilder.newTrigger()
+                .withIdentity("trigger", "group")
+                .forJob("job", "group")
+                .startAt(startTime)
+                .withSchedule(SimpleScheduleBuilder.repeatSecondlyForever(20))
+                .build();
+    }
+
+    public static class NoOpJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package redcoder.quartzextendcore.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.*;
+import redcoder.quartzextendcore.core.ConcurrencyLimitingJobFactory;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecution;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecutions;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link JobExecutionHistory}环形缓冲区的写入和按序号读取
+ *
+ * @author redcoder54
+ */
+class JobExecutionHistoryTest {
+
+    private final Scheduler scheduler = mockScheduler();
+    private final AtomicInteger fireInstanceIds = new AtomicInteger();
+
+    @Test
+    void returnsExecutionsInSequenceOrder() {
+        JobExecutionHistory history = new JobExecutionHistory(scheduler, 8);
+        for (int i = 0; i < 3; i++) {
+            history.jobWasExecuted(newContext(), null);
+        }
+
+        QuartzJobExecutions executions = history.getSince(0, 10);
+
+        assertThat(executions.getEpoch()).isEqualTo(history.getEpoch());
+        assertThat(executions.getLost()).isZero();
+        assertThat(executions.getSequence()).isEqualTo(3);
+        assertThat(executions.getExecutions()).extracting(QuartzJobExecution::getSequence).containsExactly(1L, 2L, 3L);
+        assertThat(history.getSince(3, 10).getExecutions()).isEmpty();
+        assertThat(history.getSince(3, 10).getSequence()).isEqualTo(3);
+    }
+
+    @Test
+    void returnsAtMostLimitExecutions() {
+        JobExecutionHistory history = new JobExecutionHistory(scheduler, 8);
+        for (int i = 0; i < 5; i++) {
+            history.jobWasExecuted(newContext(), null);
+        }
+
+        QuartzJobExecutions first = history.getSince(0, 2);
+        QuartzJobExecutions second = history.getSince(first.getSequence(), 10);
+
+        assertThat(first.getExecutions()).extracting(QuartzJobExecution::getSequence).containsExactly(1L, 2L);
+        assertThat(second.getExecutions()).extracting(QuartzJobExecution::getSequence).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void reportsOverwrittenExecutionsAsLost() {
+        JobExecutionHistory history = new JobExecutionHistory(scheduler, 4);
+        for (int i = 0; i < 6; i++) {
+            history.jobWasExecuted(newContext(), null);
+        }
+
+        QuartzJobExecutions executions = history.getSince(0, 10);
+
+        assertThat(executions.getLost()).isEqualTo(2);
+        assertThat(executions.getExecutions()).extracting(QuartzJobExecution::getSequence).containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        JobExecutionHistory history = new JobExecutionHistory(scheduler, 5);
+        for (int i = 0; i < 8; i++) {
+            history.jobWasExecuted(newContext(), null);
+        }
+
+        QuartzJobExecutions executions = history.getSince(0, 10);
+
+        assertThat(executions.getLost()).isZero();
+        assertThat(executions.getExecutions()).hasSize(8);
+    }
+
+    @Test
+    void recordsFailureWithOriginalException() {
+        JobExecutionHistory history = new JobExecutionHistory(scheduler, 8);
+        JobExecutionException jobException = new JobExecutionException(
+                new SchedulerException("Job threw an unhandled exception.", new IllegalStateException("boom")));
+
+        history.jobWasExecuted(newContext(), jobException);
+
+        QuartzJobExecution execution = history.getSince(0, 10).getExecutions().get(0);
+        assertThat(execution.isSuccess()).isFalse();
+        assertThat(execution.getExceptionClass()).isEqualTo(IllegalStateException.class.getName());
+    }
+
+    @Test
+    void skipsExecutionsRejectedByConcurrencyLimit() {
+        JobExecutionHistory history = new JobExecutionHistory(scheduler, 8);
+        JobExecutionContext context = newContext();
+        when(context.get(ConcurrencyLimitingJobFactory.LIMIT_OUTCOME)).thenReturn(ConcurrencyLimitingJobFactory.OUTCOME_REJECTED);
+
+        history.jobWasExecuted(context, null);
+
+        assertThat(history.getSince(0, 10).getExecutions()).isEmpty();
+    }
+
+    @Test
+    void keepsEveryExecutionWrittenByConcurrentJobThreads() throws Exception {
+        int threads = 4;
+        int executionsPerThread = 250;
+        JobExecutionHistory history = new JobExecutionHistory(scheduler, threads * executionsPerThread);
+        List<JobExecutionContext> contexts = new ArrayList<>();
+        for (int i = 0; i < threads * executionsPerThread; i++) {
+            contexts.add(newContext());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<JobExecutionContext> part = contexts.subList(t * executionsPerThread, (t + 1) * executionsPerThread);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (JobExecutionContext context : part) {
+                        history.jobWasExecuted(context, null);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        QuartzJobExecutions executions = history.getSince(0, Integer.MAX_VALUE);
+        Set<String> fireInstanceIds = new TreeSet<>();
+        for (QuartzJobExecution execution : executions.getExecutions()) {
+            fireInstanceIds.add(execution.getFireInstanceId());
+        }
+        assertThat(executions.getLost()).isZero();
+        assertThat(executions.getSequence()).isEqualTo(threads * executionsPerThread);
+        assertThat(fireInstanceIds).hasSize(threads * executionsPerThread);
+    }
+
+    private JobExecutionContext newContext() {
+        JobDetail jobDetail = JobBuilder.newJob(NoOpJob.class).withIdentity("job", "group").build();
+        Trigger trigger = TriggerBuilder.newTrigger().withIdentity("trigger", "group").forJob(jobDetail).build();
+        Date fireTime = new Date();
+        JobExecutionContext context = mock(JobExecutionContext.class);
+        when(context.getScheduler()).thenReturn(scheduler);
+        when(context.getJobDetail()).thenReturn(jobDetail);
+        when(context.getTrigger()).thenReturn(trigger);
+        when(context.getFireInstanceId()).thenReturn("fire-" + fireInstanceIds.incrementAndGet());
+        when(context.getFireTime()).thenReturn(fireTime);
+        when(context.getScheduledFireTime()).thenReturn(fireTime);
+        when(context.getJobRunTime()).thenReturn(10L);
+        return context;
+    }
+
+    private static Scheduler mockScheduler() {
+        Scheduler scheduler = mock(Scheduler.class);
+        try {
+            when(scheduler.getSchedulerName()).thenReturn("testScheduler");
+            when(scheduler.getSchedulerInstanceId()).thenReturn("instance-1");
+        } catch (SchedulerException e) {
+            throw new IllegalStateException(e);
+        }
+        return scheduler;
+    }
+
+    public static class NoOpJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package redcoder.quartzextenddemo.job;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzJobData;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 一个job关联多个trigger，每个trigger携带不同的数据
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@QuartzJob(jobDescription = "在控制台打印问候语, 每隔15秒和每隔1分钟各执行一次", jobData = @QuartzJobData(key = "greeting", value = "hello"))
+@QuartzTrigger(cron = "0/15 * * * * ?", jobData = @QuartzJobData(key = "name", value = "every 15 seconds"))
+@QuartzTrigger(cron = "30 0/1 * * * ?", jobData = {
+        @QuartzJobData(key = "greeting", value = "hi"),
+        @QuartzJobData(key = "name", value = "every minute")})
+public class GreetingJob implements Job {
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        System.out.println(context.getMergedJobDataMap().getString("greeting") + ", "
+                + context.getMergedJobDataMap().getString("name") + ", current time: "
+                + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+}
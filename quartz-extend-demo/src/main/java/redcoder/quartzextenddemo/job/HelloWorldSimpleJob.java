@@ -0,0 +1,26 @@
+package redcoder.quartzextenddemo.job;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.SimpleTrigger;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@QuartzJob(jobDescription = "在控制台打印hello world simple, 启动15秒后开始每隔20秒执行一次")
+@QuartzTrigger(scheduleType = QuartzTrigger.ScheduleType.SIMPLE, interval = 20, startDelay = 15000,
+        misfireInstruction = SimpleTrigger.MISFIRE_INSTRUCTION_RESCHEDULE_NEXT_WITH_REMAINING_COUNT)
+public class HelloWorldSimpleJob implements Job {
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        System.out.println("hello world simple, current time: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+}
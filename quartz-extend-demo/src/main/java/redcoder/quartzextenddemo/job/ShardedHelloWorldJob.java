@@ -0,0 +1,27 @@
+package redcoder.quartzextenddemo.job;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+import redcoder.quartzextendcore.core.JobShards;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@QuartzJob(jobDescription = "分3个分片在控制台打印hello world sharded, 每隔1分钟执行一次", shards = 3, shardTimeout = 30000)
+@QuartzTrigger(cron = "45 0/1 * * * ?")
+public class ShardedHelloWorldJob implements Job {
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        System.out.println("hello world sharded, shard: " + JobShards.getShardIndex(context) + "/" + JobShards.getShardCount(context)
+                + ", parent: " + JobShards.getShardParentId(context)
+                + ", current time: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+}
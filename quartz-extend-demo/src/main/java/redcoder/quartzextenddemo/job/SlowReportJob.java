@@ -0,0 +1,31 @@
+package redcoder.quartzextenddemo.job;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author redcoder54
+ * @since 1.1.0
+ */
+@QuartzJob(jobDescription = "模拟执行慢的报表job, 每隔3秒触发一次, 每次执行5秒, 同时最多执行1个, 超出的触发被放弃",
+        maxConcurrentExecutions = 1, bulkhead = "report", maxWaitMillis = 1000)
+@QuartzTrigger(scheduleType = QuartzTrigger.ScheduleType.SIMPLE, interval = 3)
+public class SlowReportJob implements Job {
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        System.out.println("slow report start, current time: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        try {
+            TimeUnit.SECONDS.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package redcoder.quartzextendindexer;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 编译时生成{@code @QuartzJob}类的索引{@value #INDEX_LOCATION}，启动时代替类路径扫描和注解解析。
+ * <p>
+ * 每行一个job类，字段之间以tab分隔：第一个字段是类名，之后是<code>triggers=trigger数量</code>、
+ * <code>job.属性名=属性值</code>、<code>trigger.序号.属性名=属性值</code>，只包含注解中显式指定的属性，属性值经过URL编码。
+ * 注解不是直接声明在类上（比如继承自父类、来自组合注解）时，只写入类名，由运行时解析注解。
+ * <p>
+ * 增量编译时只处理发生变化的类，上一次生成的索引中仍然存在、且未重新编译的类会被保留。
+ *
+ * @author redcoder54
+ * @since 1.1.0
+ */
+public class QuartzJobIndexer extends AbstractProcessor {
+
+    /**
+     * 索引文件的位置，与运行时读取的位置一致
+     */
+    static final String INDEX_LOCATION = "META-INF/quartz-extend/jobs.index";
+
+    private static final String QUARTZ_JOB = "redcoder.quartzextendcore.annotation.QuartzJob";
+    private static final String QUARTZ_TRIGGER = "redcoder.quartzextendcore.annotation.QuartzTrigger";
+    private static final String QUARTZ_TRIGGERS = "redcoder.quartzextendcore.annotation.QuartzTriggers";
+    private static final Set<String> QUARTZ_ANNOTATIONS = new HashSet<>(Arrays.asList(QUARTZ_JOB, QUARTZ_TRIGGER, QUARTZ_TRIGGERS));
+
+    /**
+     * 本次编译中生成的索引，key: 类名
+     */
+    private final Map<String, String> entries = new TreeMap<>();
+    /**
+     * 本次编译中处理过的类
+     */
+    private final Set<String> processedTypes = new HashSet<>();
+
+    /**
+     * 处理所有的类，以便在增量编译时，从索引中删除不再有{@code @QuartzJob}注解的类
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            collectProcessedTypes(element);
+        }
+        TypeElement quartzJob = processingEnv.getElementUtils().getTypeElement(QUARTZ_JOB);
+        if (quartzJob != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(quartzJob)) {
+                if (element.getKind() == ElementKind.CLASS && !element.getModifiers().contains(Modifier.ABSTRACT)) {
+                    TypeElement type = (TypeElement) element;
+                    entries.put(getBinaryName(type), createEntry(type));
+                }
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collectProcessedTypes(Element element) {
+        if (element instanceof TypeElement) {
+            processedTypes.add(getBinaryName((TypeElement) element));
+            for (Element enclosed : element.getEnclosedElements()) {
+                collectProcessedTypes(enclosed);
+            }
+        }
+    }
+
+    private String createEntry(TypeElement type) {
+        StringBuilder entry = new StringBuilder(getBinaryName(type));
+        if (!isSelfContained(type)) {
+            return entry.toString();
+        }
+        List<AnnotationMirror> quartzTriggers = new ArrayList<>();
+        AnnotationMirror quartzTrigger = findAnnotation(type, QUARTZ_TRIGGER);
+        if (quartzTrigger != null) {
+            quartzTriggers.add(quartzTrigger);
+        }
+        AnnotationMirror container = findAnnotation(type, QUARTZ_TRIGGERS);
+        if (container != null) {
+            for (AnnotationValue value : container.getElementValues().values()) {
+                for (Object trigger : (List<?>) value.getValue()) {
+                    quartzTriggers.add((AnnotationMirror) ((AnnotationValue) trigger).getValue());
+                }
+            }
+        }
+        entry.append("\ttriggers=").append(quartzTriggers.size());
+        appendAttributes(entry, "job.", findAnnotation(type, QUARTZ_JOB));
+        for (int i = 0; i < quartzTriggers.size(); i++) {
+            appendAttributes(entry, "trigger." + i + ".", quartzTriggers.get(i));
+        }
+        return entry.toString();
+    }
+
+    /**
+     * 注解是否都直接声明在类上：父类和接口上没有quartz的注解，类上的其他注解也不是以quartz的注解为元注解的组合注解
+     */
+    private boolean isSelfContained(TypeElement type) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!QUARTZ_ANNOTATIONS.contains(annotationType.getQualifiedName().toString()) && hasQuartzAnnotation(annotationType)) {
+                return false;
+            }
+        }
+        List<TypeMirror> supertypes = new ArrayList<>(type.getInterfaces());
+        supertypes.add(type.getSuperclass());
+        for (TypeMirror supertype : supertypes) {
+            if (supertype.getKind() == TypeKind.DECLARED) {
+                TypeElement element = (TypeElement) ((DeclaredType) supertype).asElement();
+                if (hasQuartzAnnotation(element) || !isSelfContained(element)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasQuartzAnnotation(TypeElement type) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (QUARTZ_ANNOTATIONS.contains(((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 写入注解中显式指定的属性，未指定的属性在运行时使用注解的默认值
+     */
+    private void appendAttributes(StringBuilder entry, String prefix, AnnotationMirror annotation) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute : annotation.getElementValues().entrySet()) {
+            entry.append('\t').append(prefix).append(attribute.getKey().getSimpleName())
+                    .append('=').append(encodeValue(attribute.getValue().getValue()));
+        }
+    }
+
+    /**
+     * 编码属性值：字符串经过URL编码；枚举为常量名；类为类名；数组的元素以逗号分隔；
+     * 注解（{@code @QuartzJobData}）为URL编码后的key和value，以冒号分隔
+     */
+    private String encodeValue(Object value) {
+        if (value instanceof String) {
+            return encode((String) value);
+        }
+        if (value instanceof VariableElement) {
+            return ((VariableElement) value).getSimpleName().toString();
+        }
+        if (value instanceof DeclaredType) {
+            return getBinaryName((TypeElement) ((DeclaredType) value).asElement());
+        }
+        if (value instanceof AnnotationMirror) {
+            Map<String, String> attributes = new HashMap<>();
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute
+                    : ((AnnotationMirror) value).getElementValues().entrySet()) {
+                attributes.put(attribute.getKey().getSimpleName().toString(), (String) attribute.getValue().getValue());
+            }
+            return encode(attributes.get("key")) + ":" + encode(attributes.get("value"));
+        }
+        if (value instanceof List) {
+            StringJoiner joiner = new StringJoiner(",");
+            for (Object element : (List<?>) value) {
+                joiner.add(encodeValue(((AnnotationValue) element).getValue()));
+            }
+            return joiner.toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AnnotationMirror findAnnotation(TypeElement type, String annotationName) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (annotationName.equals(((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private String getBinaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeIndex() {
+        Map<String, String> index = new TreeMap<>(readPreviousIndex());
+        index.keySet().removeAll(processedTypes);
+        index.putAll(entries);
+        // 没有job时也生成索引，运行时不再扫描该模块
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by " + QuartzJobIndexer.class.getName() + ", do not edit\n");
+                for (String entry : index.values()) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + INDEX_LOCATION + ": " + e);
+        }
+    }
+
+    /**
+     * 读取上一次生成的索引，只保留仍然存在的类
+     */
+    private Map<String, String> readPreviousIndex() {
+        Map<String, String> index = new HashMap<>();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("#") || line.isEmpty()) {
+                        continue;
+                    }
+                    int end = line.indexOf('\t');
+                    String className = end < 0 ? line : line.substring(0, end);
+                    if (processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                        index.put(className, line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 没有上一次生成的索引
+        }
+        return index;
+    }
+}
@@ -0,0 +1,152 @@
+package redcoder.quartzextendindexer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.quartz.Job;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+import redcoder.quartzextendcore.core.QuartzJobIndex;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link QuartzJobIndexer}生成的索引：增量编译时合并上一次的索引，以及注解属性的编码
+ *
+ * @author redcoder54
+ */
+class QuartzJobIndexerTest {
+
+    @TempDir
+    Path sourceDir;
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void mergesPreviousIndexOnIncrementalCompile() throws IOException {
+        compile(source("AJob", true), source("BJob", true));
+        assertThat(indexedClassNames()).containsExactly("test.AJob", "test.BJob");
+
+        // 只重新编译去掉注解的BJob，未重新编译的AJob保留在索引中
+        compile(source("BJob", false));
+        assertThat(indexedClassNames()).containsExactly("test.AJob");
+
+        compile(source("CJob", true));
+        assertThat(indexedClassNames()).containsExactly("test.AJob", "test.CJob");
+    }
+
+    @Test
+    void writesIndexWithoutJobs() throws IOException {
+        compile(source("AJob", false));
+
+        assertThat(indexedClassNames()).isEmpty();
+    }
+
+    @Test
+    void writesExplicitAttributes() throws Exception {
+        compile(write("test/DJob.java", "package test;\n"
+                + "import redcoder.quartzextendcore.annotation.*;\n"
+                + "@QuartzJob(jobKeyName = \"d job\", maxConcurrentExecutions = 2,\n"
+                + "        jobData = {@QuartzJobData(key = \"k\", value = \"a,b:c\")})\n"
+                + "@QuartzTrigger(cron = \"0 0/5 * * * ?\")\n"
+                + "@QuartzTrigger(scheduleType = QuartzTrigger.ScheduleType.SIMPLE, interval = 30,\n"
+                + "        intervalUnit = org.quartz.DateBuilder.IntervalUnit.MINUTE, daysOfWeek = {1, 7})\n"
+                + "public class DJob implements org.quartz.Job {\n"
+                + "    public void execute(org.quartz.JobExecutionContext context) {}\n"
+                + "}\n"));
+
+        List<String> lines = indexLines();
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0).split("\t")).contains("test.DJob", "triggers=2",
+                "job.jobKeyName=d+job", "job.maxConcurrentExecutions=2", "job.jobData=k:a%2Cb%3Ac",
+                "trigger.0.cron=0+0%2F5+*+*+*+%3F", "trigger.1.scheduleType=SIMPLE",
+                "trigger.1.intervalUnit=MINUTE", "trigger.1.daysOfWeek=1,7");
+        // 未显式指定的属性不写入索引
+        assertThat(lines.get(0)).doesNotContain("storeDurably", "triggerKeyGroup");
+
+        // 运行时从索引还原的注解与类上的注解一致
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDir.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> jobType = classLoader.loadClass("test.DJob");
+            QuartzJobIndex.Entry entry = QuartzJobIndex.load(classLoader).getEntry("test.DJob");
+
+            assertThat(entry.hasAttributes()).isTrue();
+            assertThat(entry.getQuartzJob(jobType)).isEqualTo(jobType.getAnnotation(QuartzJob.class));
+            assertThat(entry.getQuartzTriggers(jobType)).containsExactly(jobType.getAnnotationsByType(QuartzTrigger.class));
+        }
+    }
+
+    @Test
+    void writesOnlyClassNameForInheritedAnnotations() throws IOException {
+        compile(write("test/BaseJob.java", "package test;\n"
+                        + "@redcoder.quartzextendcore.annotation.QuartzTrigger(cron = \"0 0/5 * * * ?\")\n"
+                        + "public abstract class BaseJob implements org.quartz.Job {\n"
+                        + "    public void execute(org.quartz.JobExecutionContext context) {}\n"
+                        + "}\n"),
+                write("test/EJob.java", "package test;\n"
+                        + "@redcoder.quartzextendcore.annotation.QuartzJob\n"
+                        + "public class EJob extends BaseJob {\n"
+                        + "}\n"));
+
+        assertThat(indexLines()).containsExactly("test.EJob");
+    }
+
+    private void compile(Path... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList("-implicit:none", "-d", outputDir.toString(), "-classpath", classpath());
+            File[] files = Arrays.stream(sources).map(Path::toFile).toArray(File[]::new);
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(files);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, units);
+            task.setProcessors(Arrays.asList(new QuartzJobIndexer()));
+            assertThat(task.call()).as("%s", diagnostics.getDiagnostics()).isTrue();
+        }
+    }
+
+    private String classpath() {
+        List<String> entries = new ArrayList<>();
+        entries.add(outputDir.toString());
+        for (Class<?> type : Arrays.asList(QuartzJob.class, Job.class)) {
+            entries.add(type.getProtectionDomain().getCodeSource().getLocation().getPath());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private Path source(String className, boolean annotated) throws IOException {
+        return write("test/" + className + ".java", "package test;\n"
+                + (annotated ? "@redcoder.quartzextendcore.annotation.QuartzJob\n" : "")
+                + "public class " + className + " implements org.quartz.Job {\n"
+                + "    public void execute(org.quartz.JobExecutionContext context) {}\n"
+                + "}\n");
+    }
+
+    private Path write(String path, String content) throws IOException {
+        Path file = sourceDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> indexLines() throws IOException {
+        return Files.readAllLines(outputDir.resolve(QuartzJobIndexer.INDEX_LOCATION), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.startsWith("#"))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> indexedClassNames() throws IOException {
+        return indexLines().stream()
+                .map(line -> line.split("\t")[0])
+                .collect(Collectors.toList());
+    }
+}
@@ -3,12 +3,19 @@ CREATE
 
 CREATE TABLE `quartz_scheduler_instance`
 (
-    `sched_name`    varchar(100) NOT NULL COMMENT 'the name of scheduler',
-    `instance_host` varchar(100) NOT NULL COMMENT '实例主机地址',
-    `instance_port` int(11) NOT NULL COMMENT '实例服务端口',
+    `sched_name`          varchar(100) NOT NULL COMMENT 'the name of scheduler',
+    `instance_host`       varchar(100) NOT NULL COMMENT '实例主机地址',
+    `instance_port`       int(11) NOT NULL COMMENT '实例服务端口',
+    `lease_expire_time`   datetime DEFAULT NULL COMMENT '租约到期时间，为NULL时不会过期',
+    `last_heartbeat_time` datetime DEFAULT NULL COMMENT '最近一次心跳时间',
     PRIMARY KEY (`sched_name`, `instance_host`, `instance_port`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='注册的实例地址';
 
+-- 从旧版本升级时，为已有的quartz_scheduler_instance表增加租约相关的字段
+-- ALTER TABLE `quartz_scheduler_instance`
+--     ADD COLUMN `lease_expire_time`   datetime DEFAULT NULL COMMENT '租约到期时间，为NULL时不会过期',
+--     ADD COLUMN `last_heartbeat_time` datetime DEFAULT NULL COMMENT '最近一次心跳时间';
+
 CREATE TABLE `quartz_scheduler_job_trigger_info`
 (
     `sched_name`     varchar(100) NOT NULL COMMENT 'the name of scheduler',
@@ -23,5 +30,40 @@ CREATE TABLE `quartz_scheduler_job_trigger_info`
     `trigger_state`  varchar(20)  DEFAULT NULL COMMENT '触发器的状态：NONE, NORMAL, PAUSED, COMPLETE, ERROR, BLOCKED',
     `create_time`    datetime     DEFAULT NULL,
     `update_time`    datetime     DEFAULT NULL,
-    PRIMARY KEY (`sched_name`, `trigger_name`, `trigger_group`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='存储quartz中的job和trigger信息';
\ No newline at end of file
+    PRIMARY KEY (`sched_name`, `trigger_name`, `trigger_group`),
+    KEY `idx_job_trigger_info_job` (`sched_name`, `job_name`, `job_group`),
+    KEY `idx_job_trigger_info_state` (`sched_name`, `trigger_state`, `trigger_name`, `trigger_group`),
+    KEY `idx_job_trigger_info_next_fire` (`sched_name`, `next_fire_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='存储quartz中的job和trigger信息';
+
+-- 从旧版本升级时，为已有的quartz_scheduler_job_trigger_info表增加分页查询的过滤条件使用的索引
+-- ALTER TABLE `quartz_scheduler_job_trigger_info`
+--     ADD INDEX `idx_job_trigger_info_job` (`sched_name`, `job_name`, `job_group`),
+--     ADD INDEX `idx_job_trigger_info_state` (`sched_name`, `trigger_state`, `trigger_name`, `trigger_group`),
+--     ADD INDEX `idx_job_trigger_info_next_fire` (`sched_name`, `next_fire_time`);
+CREATE TABLE `quartz_scheduler_job_execution`
+(
+    `id`                  bigint(20)   NOT NULL AUTO_INCREMENT,
+    `sched_name`          varchar(100) NOT NULL COMMENT 'the name of scheduler',
+    `instance_id`         varchar(200) NOT NULL COMMENT 'the id of scheduler instance',
+    `fire_instance_id`    varchar(200) NOT NULL COMMENT '本次触发的唯一标识',
+    `job_name`            varchar(255) NOT NULL COMMENT 'job名称',
+    `job_group`           varchar(255) NOT NULL COMMENT 'job所在组名称',
+    `trigger_name`        varchar(100) DEFAULT NULL COMMENT '触发器名称',
+    `trigger_group`       varchar(100) DEFAULT NULL COMMENT '触发器所在组名称',
+    `scheduled_fire_time` datetime     DEFAULT NULL COMMENT '计划触发时间',
+    `start_time`          datetime     NOT NULL COMMENT '开始执行时间',
+    `end_time`            datetime     NOT NULL COMMENT '结束执行时间',
+    `duration`            bigint(20)   NOT NULL COMMENT '执行耗时，单位毫秒',
+    `success`             tinyint(1)   NOT NULL COMMENT '1 - 执行成功，0 - 执行失败',
+    `exception_class`     varchar(255) DEFAULT NULL COMMENT '执行失败时的异常类名',
+    `shard_parent_id`     varchar(200) DEFAULT NULL COMMENT '分片执行时，所属的分发记录的fire_instance_id',
+    `shard_index`         int(11)      DEFAULT NULL COMMENT '分片序号，从0开始',
+    `shard_count`         int(11)      DEFAULT NULL COMMENT '分片总数',
+    `create_time`         datetime     DEFAULT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_fire_instance` (`sched_name`, `fire_instance_id`),
+    KEY `idx_job_execution_job` (`sched_name`, `job_name`, `job_group`, `id`),
+    KEY `idx_job_execution_shard` (`sched_name`, `shard_parent_id`),
+    KEY `idx_job_execution_create_time` (`create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='job的执行记录，由quartz实例推送';
@@ -0,0 +1,28 @@
+package redcoder.quartzextendschedulercenter.config;
+
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * mybatis配置，根据数据库类型设置databaseId，在sql中通过<code>_databaseId</code>区分不同数据库的语法
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Configuration
+public class MybatisConfig {
+
+    @Bean
+    public DatabaseIdProvider databaseIdProvider() {
+        Properties properties = new Properties();
+        properties.setProperty("MySQL", "mysql");
+        properties.setProperty("H2", "h2");
+        VendorDatabaseIdProvider databaseIdProvider = new VendorDatabaseIdProvider();
+        databaseIdProvider.setProperties(properties);
+        return databaseIdProvider;
+    }
+}
@@ -7,9 +7,14 @@ package redcoder.quartzextendschedulercenter.constant;
 public class QuartzApiConstants {
 
     public static final String JOB_TRIGGER_INFO_LIST = "/quartz/job-trigger-info/list";
+    public static final String JOB_TRIGGER_INFO_CHANGES = "/quartz/job-trigger-info/changes";
     public static final String JOB_TRIGGER_INFO_QUERY = "/quartz/job-trigger-info/query";
     public static final String TRIGGER_JOB = "/quartz/trigger-job";
     public static final String PAUSE_JOB = "/quartz/pause-job";
     public static final String RESUME_JOB = "/quartz/resume-job";
     public static final String DELETE_JOB = "/quartz/delete-job";
+    public static final String BATCH_TRIGGER_JOB = "/quartz/batch/trigger-job";
+    public static final String BATCH_PAUSE_JOB = "/quartz/batch/pause-job";
+    public static final String BATCH_RESUME_JOB = "/quartz/batch/resume-job";
+    public static final String BATCH_DELETE_JOB = "/quartz/batch/delete-job";
 }
@@ -5,15 +5,29 @@ import io.swagger.annotations.ApiOperation;
 import lombok.extern.slf4j.Slf4j;
 import redcoder.quartzextendschedulercenter.exception.JobManageException;
 import redcoder.quartzextendschedulercenter.model.dto.ApiResult;
+import redcoder.quartzextendschedulercenter.model.dto.job.BatchJobManageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobExecutionPageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobExecutionQueryDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.JobManageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobManageResultDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobShardProgressDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobShardProgressQueryDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerPageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerQueryDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.RefreshJobTriggerDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.RemoveLocalJobTriggerDTO;
+import redcoder.quartzextendschedulercenter.service.JobExecutionService;
 import redcoder.quartzextendschedulercenter.service.QuartzJobManageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.propertyeditors.CustomDateEditor;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -28,6 +42,24 @@ public class QuartzJobController {
 
     @Autowired
     private QuartzJobManageService jobManageService;
+    @Autowired
+    private JobExecutionService jobExecutionService;
+    @Autowired
+    private JacksonProperties jacksonProperties;
+
+    /**
+     * 查询参数中的时间按返回值的时间格式和时区解析，保证查询条件与页面展示的时间一致
+     */
+    @InitBinder
+    public void initBinder(WebDataBinder binder) {
+        String pattern = jacksonProperties.getDateFormat() != null ? jacksonProperties.getDateFormat() : "yyyy-MM-dd HH:mm:ss";
+        SimpleDateFormat dateFormat = new SimpleDateFormat(pattern);
+        if (jacksonProperties.getTimeZone() != null) {
+            dateFormat.setTimeZone(jacksonProperties.getTimeZone());
+        }
+        dateFormat.setLenient(false);
+        binder.registerCustomEditor(Date.class, new CustomDateEditor(dateFormat, true));
+    }
 
     @GetMapping("/sched-names")
     @ApiOperation(value = "获取quartz实例名称", httpMethod = "GET")
@@ -41,6 +73,24 @@ public class QuartzJobController {
         return ApiResult.success(jobManageService.getJobTriggerInfos(schedName));
     }
 
+    @GetMapping("/page")
+    @ApiOperation(value = "按条件分页获取job", httpMethod = "GET")
+    public ApiResult<JobTriggerPageDTO> getJobTriggerPage(JobTriggerQueryDTO dto) {
+        return ApiResult.success(jobManageService.getJobTriggerPage(dto));
+    }
+
+    @GetMapping("/executions")
+    @ApiOperation(value = "分页获取job的执行记录", httpMethod = "GET")
+    public ApiResult<JobExecutionPageDTO> getJobExecutions(@Valid JobExecutionQueryDTO dto) {
+        return ApiResult.success(jobExecutionService.getExecutions(dto));
+    }
+
+    @GetMapping("/shard-progress")
+    @ApiOperation(value = "获取一次分片执行的进度", httpMethod = "GET")
+    public ApiResult<JobShardProgressDTO> getJobShardProgress(@Valid JobShardProgressQueryDTO dto) {
+        return ApiResult.success(jobExecutionService.getShardProgress(dto));
+    }
+
     @PostMapping("/refresh")
     @ApiOperation(value = "刷新job信息", httpMethod = "POST")
     public ApiResult<JobTriggerDTO> refreshJobTrigger(@Valid @RequestBody RefreshJobTriggerDTO dto) {
@@ -108,4 +158,28 @@ public class QuartzJobController {
             return result;
         }
     }
+
+    @PostMapping("/batch/trigger")
+    @ApiOperation(value = "批量执行job", httpMethod = "POST")
+    public ApiResult<List<JobManageResultDTO>> batchTriggerJob(@Valid @RequestBody BatchJobManageDTO dto) {
+        return ApiResult.success(jobManageService.batchTriggerJob(dto));
+    }
+
+    @PostMapping("/batch/pause")
+    @ApiOperation(value = "批量暂停job", httpMethod = "POST")
+    public ApiResult<List<JobManageResultDTO>> batchPauseJob(@Valid @RequestBody BatchJobManageDTO dto) {
+        return ApiResult.success(jobManageService.batchPauseJob(dto));
+    }
+
+    @PostMapping("/batch/resume")
+    @ApiOperation(value = "批量恢复job", httpMethod = "POST")
+    public ApiResult<List<JobManageResultDTO>> batchResumeJob(@Valid @RequestBody BatchJobManageDTO dto) {
+        return ApiResult.success(jobManageService.batchResumeJob(dto));
+    }
+
+    @PostMapping("/batch/delete")
+    @ApiOperation(value = "批量删除job", httpMethod = "POST")
+    public ApiResult<List<JobManageResultDTO>> batchDeleteJob(@Valid @RequestBody BatchJobManageDTO dto) {
+        return ApiResult.success(jobManageService.batchDeleteJob(dto));
+    }
 }
@@ -2,15 +2,21 @@ package redcoder.quartzextendschedulercenter.controller;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecution;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerChangesReport;
 import redcoder.quartzextendschedulercenter.model.dto.ApiResult;
 import redcoder.quartzextendschedulercenter.model.dto.instance.QuartzInstanceDTO;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerInstance;
+import redcoder.quartzextendschedulercenter.service.JobExecutionService;
 import redcoder.quartzextendschedulercenter.service.QuartzJobSchedulerService;
+import redcoder.quartzextendschedulercenter.service.support.JobTriggerInfoSynchronizer;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.util.List;
 
 /**
  * @author redcoder54
@@ -22,9 +28,14 @@ import javax.validation.Valid;
 public class QuartzJobSchedulerController {
 
     private QuartzJobSchedulerService service;
+    private JobExecutionService jobExecutionService;
+    private JobTriggerInfoSynchronizer synchronizer;
 
-    public QuartzJobSchedulerController(QuartzJobSchedulerService service) {
+    public QuartzJobSchedulerController(QuartzJobSchedulerService service, JobExecutionService jobExecutionService,
+                                        JobTriggerInfoSynchronizer synchronizer) {
         this.service = service;
+        this.jobExecutionService = jobExecutionService;
+        this.synchronizer = synchronizer;
     }
 
     @PostMapping("/instance/register")
@@ -38,4 +49,21 @@ public class QuartzJobSchedulerController {
     public ApiResult<Boolean> deleteInstance(@Valid @RequestBody QuartzInstanceDTO dto) {
         return ApiResult.success(service.deleteInstance(dto));
     }
+
+    @PostMapping("/job-execution/report")
+    @ApiOperation(value = "上报job执行记录", httpMethod = "POST")
+    public ApiResult<Boolean> reportJobExecutions(@RequestBody List<QuartzJobExecution> executions) {
+        jobExecutionService.report(executions);
+        return ApiResult.success(true);
+    }
+
+    @PostMapping("/job-trigger-info/report")
+    @ApiOperation(value = "上报job和trigger的变化，返回false时实例需要上报全量数据", httpMethod = "POST")
+    public ApiResult<Boolean> reportJobTriggerChanges(@RequestBody QuartzJobTriggerChangesReport report) {
+        QuartzSchedulerInstance instance = new QuartzSchedulerInstance();
+        instance.setSchedName(report.getSchedName());
+        instance.setInstanceHost(report.getInstanceHost());
+        instance.setInstancePort(report.getInstancePort());
+        return ApiResult.success(synchronizer.receive(instance, report.getSince(), report.getChanges()));
+    }
 }
@@ -0,0 +1,34 @@
+package redcoder.quartzextendschedulercenter.job;
+
+import lombok.extern.slf4j.Slf4j;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+import redcoder.quartzextendschedulercenter.service.support.InstanceRegistry;
+import org.quartz.JobExecutionContext;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+import javax.annotation.Resource;
+
+/**
+ * 删除租约已过期的quartz实例
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Slf4j
+@QuartzJob(jobDescription = "删除租约已过期的quartz实例")
+@QuartzTrigger(triggerDescription = "InstanceLeaseEvictingJob's trigger", cron = "0/30 * * * * ?")
+public class InstanceLeaseEvictingJob extends QuartzJobBean {
+
+    @Resource
+    private InstanceRegistry instanceRegistry;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        try {
+            instanceRegistry.evictExpired();
+        } catch (Exception e) {
+            log.error("InstanceLeaseEvictingJob error", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package redcoder.quartzextendschedulercenter.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+import redcoder.quartzextendcore.annotation.QuartzJob;
+import redcoder.quartzextendcore.annotation.QuartzTrigger;
+import redcoder.quartzextendschedulercenter.service.JobExecutionService;
+
+import javax.annotation.Resource;
+
+/**
+ * 删除超过保留时间的job执行记录
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Slf4j
+@DisallowConcurrentExecution
+@QuartzJob(jobDescription = "删除超过保留时间的job执行记录")
+@QuartzTrigger(triggerDescription = "JobExecutionPurgingJob's trigger", cron = "0 0/10 * * * ?")
+public class JobExecutionPurgingJob extends QuartzJobBean {
+
+    @Resource
+    private JobExecutionService jobExecutionService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        try {
+            jobExecutionService.purgeExpired();
+        } catch (Exception e) {
+            log.error("JobExecutionPurgingJob error", e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package redcoder.quartzextendschedulercenter.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.springframework.lang.Nullable;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobExecution;
+import tk.mybatis.mapper.common.Mapper;
+
+import java.util.Date;
+import java.util.List;
+
+public interface QuartzSchedulerJobExecutionMapper extends Mapper<QuartzSchedulerJobExecution> {
+
+    /**
+     * 批量新增执行记录，忽略已存在（sched_name和fire_instance_id相同）的记录。MySQL使用INSERT IGNORE，H2使用MERGE。
+     *
+     * @param executions 执行记录，不能为空
+     * @return 新增的行数
+     */
+    @Insert({"<script>",
+            "<choose>",
+            "<when test=\"_databaseId == 'mysql'\">",
+            "INSERT IGNORE INTO `quartz_scheduler_job_execution` (`sched_name`, `instance_id`, `fire_instance_id`,",
+            " `job_name`, `job_group`, `trigger_name`, `trigger_group`, `scheduled_fire_time`, `start_time`, `end_time`,",
+            " `duration`, `success`, `exception_class`, `shard_parent_id`, `shard_index`, `shard_count`, `create_time`) VALUES",
+            "<foreach collection='executions' item='e' separator=','>",
+            "(#{e.schedName}, #{e.instanceId}, #{e.fireInstanceId}, #{e.jobName}, #{e.jobGroup},",
+            " #{e.triggerName,jdbcType=VARCHAR}, #{e.triggerGroup,jdbcType=VARCHAR}, #{e.scheduledFireTime,jdbcType=TIMESTAMP},",
+            " #{e.startTime}, #{e.endTime}, #{e.duration}, #{e.success}, #{e.exceptionClass,jdbcType=VARCHAR},",
+            " #{e.shardParentId,jdbcType=VARCHAR}, #{e.shardIndex,jdbcType=INTEGER}, #{e.shardCount,jdbcType=INTEGER},",
+            " #{e.createTime,jdbcType=TIMESTAMP})",
+            "</foreach>",
+            "</when>",
+            "<otherwise>",
+            "MERGE INTO `quartz_scheduler_job_execution` t USING (VALUES",
+            "<foreach collection='executions' item='e' separator=','>",
+            "(#{e.schedName}, #{e.instanceId}, #{e.fireInstanceId}, #{e.jobName}, #{e.jobGroup},",
+            " #{e.triggerName,jdbcType=VARCHAR}, #{e.triggerGroup,jdbcType=VARCHAR}, #{e.scheduledFireTime,jdbcType=TIMESTAMP},",
+            " #{e.startTime}, #{e.endTime}, #{e.duration}, #{e.success}, #{e.exceptionClass,jdbcType=VARCHAR},",
+            " #{e.shardParentId,jdbcType=VARCHAR}, #{e.shardIndex,jdbcType=INTEGER}, #{e.shardCount,jdbcType=INTEGER},",
+            " #{e.createTime,jdbcType=TIMESTAMP})",
+            "</foreach>",
+            ") s (`sched_name`, `instance_id`, `fire_instance_id`, `job_name`, `job_group`, `trigger_name`, `trigger_group`,",
+            " `scheduled_fire_time`, `start_time`, `end_time`, `duration`, `success`, `exception_class`, `shard_parent_id`,",
+            " `shard_index`, `shard_count`, `create_time`)",
+            " ON t.`sched_name` = s.`sched_name` AND t.`fire_instance_id` = s.`fire_instance_id`",
+            " WHEN NOT MATCHED THEN INSERT (`sched_name`, `instance_id`, `fire_instance_id`, `job_name`, `job_group`,",
+            " `trigger_name`, `trigger_group`, `scheduled_fire_time`, `start_time`, `end_time`, `duration`, `success`,",
+            " `exception_class`, `shard_parent_id`, `shard_index`, `shard_count`, `create_time`)",
+            " VALUES (s.`sched_name`, s.`instance_id`, s.`fire_instance_id`, s.`job_name`, s.`job_group`, s.`trigger_name`,",
+            " s.`trigger_group`, s.`scheduled_fire_time`, s.`start_time`, s.`end_time`, s.`duration`, s.`success`,",
+            " s.`exception_class`, s.`shard_parent_id`, s.`shard_index`, s.`shard_count`, s.`create_time`)",
+            "</otherwise>",
+            "</choose>",
+            "</script>"})
+    int batchInsertIgnore(@Param("executions") List<QuartzSchedulerJobExecution> executions);
+
+    /**
+     * 按id倒序查询job的执行记录，使用索引(sched_name, job_name, job_group, id)，翻页不需要扫描之前的记录
+     *
+     * @param schedName the name of scheduler
+     * @param jobName   job名称
+     * @param jobGroup  job所在组名称
+     * @param beforeId  只查询id小于该值的记录，为null时从最新的记录开始
+     * @param limit     最多返回的记录数
+     * @return 执行记录
+     */
+    @Select({"<script>",
+            "SELECT * FROM `quartz_scheduler_job_execution`",
+            " WHERE `sched_name` = #{schedName} AND `job_name` = #{jobName} AND `job_group` = #{jobGroup}",
+            "<if test='beforeId != null'> AND `id` &lt; #{beforeId}</if>",
+            " ORDER BY `id` DESC LIMIT #{limit}",
+            "</script>"})
+    List<QuartzSchedulerJobExecution> selectPageByJob(@Param("schedName") String schedName,
+                                                     @Param("jobName") String jobName,
+                                                     @Param("jobGroup") String jobGroup,
+                                                     @Nullable @Param("beforeId") Long beforeId,
+                                                     @Param("limit") int limit);
+
+    /**
+     * 查询一次分片执行的所有执行记录，包括分发记录和各个分片的记录，使用索引(sched_name, shard_parent_id)
+     *
+     * @param schedName     the name of scheduler
+     * @param shardParentId 分发记录的fire_instance_id
+     * @return 执行记录
+     */
+    @Select({"SELECT * FROM `quartz_scheduler_job_execution`",
+            " WHERE `sched_name` = #{schedName} AND `shard_parent_id` = #{shardParentId}"})
+    List<QuartzSchedulerJobExecution> selectByShardParentId(@Param("schedName") String schedName,
+                                                            @Param("shardParentId") String shardParentId);
+
+    /**
+     * 删除创建时间早于指定时间的执行记录，使用索引(create_time)，每次最多删除limit行
+     *
+     * @param createTime 只删除创建时间早于该时间的记录
+     * @param limit      最多删除的行数
+     * @return 删除的行数
+     */
+    @Delete({"<script>",
+            "DELETE FROM `quartz_scheduler_job_execution` WHERE `create_time` &lt; #{createTime}",
+            "<choose>",
+            "<when test=\"_databaseId == 'mysql'\"> LIMIT #{limit}</when>",
+            "<otherwise> FETCH FIRST #{limit} ROWS ONLY</otherwise>",
+            "</choose>",
+            "</script>"})
+    int deleteCreatedBefore(@Param("createTime") Date createTime, @Param("limit") int limit);
+}
@@ -1,7 +1,129 @@
 package redcoder.quartzextendschedulercenter.mapper;
 
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.springframework.lang.Nullable;
+import redcoder.quartzextendcore.core.dto.QuartzTriggerKey;
 import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobTriggerInfo;
 import tk.mybatis.mapper.common.Mapper;
 
+import java.util.Date;
+import java.util.List;
+
 public interface QuartzSchedulerJobTriggerInfoMapper extends Mapper<QuartzSchedulerJobTriggerInfo> {
-}
\ No newline at end of file
+
+    /**
+     * 批量新增或更新数据，已存在的数据保留create_time。MySQL使用INSERT ... ON DUPLICATE KEY UPDATE，H2使用MERGE。
+     *
+     * @param infos job和trigger数据，不能为空
+     * @return 影响的行数
+     */
+    @Insert({"<script>",
+            "<choose>",
+            "<when test=\"_databaseId == 'mysql'\">",
+            "INSERT INTO `quartz_scheduler_job_trigger_info` (`sched_name`, `job_name`, `job_group`, `job_desc`,",
+            " `trigger_name`, `trigger_group`, `trigger_desc`, `prev_fire_time`, `next_fire_time`, `trigger_state`,",
+            " `create_time`, `update_time`) VALUES",
+            "<foreach collection='infos' item='i' separator=','>",
+            "(#{i.schedName}, #{i.jobName,jdbcType=VARCHAR}, #{i.jobGroup,jdbcType=VARCHAR}, #{i.jobDesc,jdbcType=VARCHAR},",
+            " #{i.triggerName}, #{i.triggerGroup}, #{i.triggerDesc,jdbcType=VARCHAR}, #{i.prevFireTime,jdbcType=TIMESTAMP},",
+            " #{i.nextFireTime,jdbcType=TIMESTAMP}, #{i.triggerState,jdbcType=VARCHAR}, #{i.createTime,jdbcType=TIMESTAMP},",
+            " #{i.updateTime,jdbcType=TIMESTAMP})",
+            "</foreach>",
+            " ON DUPLICATE KEY UPDATE `job_name` = VALUES(`job_name`), `job_group` = VALUES(`job_group`),",
+            " `job_desc` = VALUES(`job_desc`), `trigger_desc` = VALUES(`trigger_desc`),",
+            " `prev_fire_time` = VALUES(`prev_fire_time`), `next_fire_time` = VALUES(`next_fire_time`),",
+            " `trigger_state` = VALUES(`trigger_state`), `update_time` = VALUES(`update_time`)",
+            "</when>",
+            "<otherwise>",
+            "MERGE INTO `quartz_scheduler_job_trigger_info` t USING (VALUES",
+            "<foreach collection='infos' item='i' separator=','>",
+            "(#{i.schedName}, #{i.jobName,jdbcType=VARCHAR}, #{i.jobGroup,jdbcType=VARCHAR}, #{i.jobDesc,jdbcType=VARCHAR},",
+            " #{i.triggerName}, #{i.triggerGroup}, #{i.triggerDesc,jdbcType=VARCHAR}, #{i.prevFireTime,jdbcType=TIMESTAMP},",
+            " #{i.nextFireTime,jdbcType=TIMESTAMP}, #{i.triggerState,jdbcType=VARCHAR}, #{i.createTime,jdbcType=TIMESTAMP},",
+            " #{i.updateTime,jdbcType=TIMESTAMP})",
+            "</foreach>",
+            ") s (`sched_name`, `job_name`, `job_group`, `job_desc`, `trigger_name`, `trigger_group`, `trigger_desc`,",
+            " `prev_fire_time`, `next_fire_time`, `trigger_state`, `create_time`, `update_time`)",
+            " ON t.`sched_name` = s.`sched_name` AND t.`trigger_name` = s.`trigger_name` AND t.`trigger_group` = s.`trigger_group`",
+            " WHEN MATCHED THEN UPDATE SET `job_name` = s.`job_name`, `job_group` = s.`job_group`, `job_desc` = s.`job_desc`,",
+            " `trigger_desc` = s.`trigger_desc`, `prev_fire_time` = s.`prev_fire_time`, `next_fire_time` = s.`next_fire_time`,",
+            " `trigger_state` = s.`trigger_state`, `update_time` = s.`update_time`",
+            " WHEN NOT MATCHED THEN INSERT (`sched_name`, `job_name`, `job_group`, `job_desc`, `trigger_name`, `trigger_group`,",
+            " `trigger_desc`, `prev_fire_time`, `next_fire_time`, `trigger_state`, `create_time`, `update_time`)",
+            " VALUES (s.`sched_name`, s.`job_name`, s.`job_group`, s.`job_desc`, s.`trigger_name`, s.`trigger_group`,",
+            " s.`trigger_desc`, s.`prev_fire_time`, s.`next_fire_time`, s.`trigger_state`, s.`create_time`, s.`update_time`)",
+            "</otherwise>",
+            "</choose>",
+            "</script>"})
+    int batchUpsert(@Param("infos") List<QuartzSchedulerJobTriggerInfo> infos);
+
+    /**
+     * 查询指定scheduler下所有trigger的标识
+     *
+     * @param schedName the name of scheduler
+     * @return trigger的标识
+     */
+    @Select("SELECT `trigger_name`, `trigger_group` FROM `quartz_scheduler_job_trigger_info` WHERE `sched_name` = #{schedName}")
+    List<QuartzTriggerKey> selectTriggerKeys(@Param("schedName") String schedName);
+
+    /**
+     * 批量删除指定scheduler下的trigger
+     *
+     * @param schedName   the name of scheduler
+     * @param triggerKeys 待删除的trigger标识，不能为空
+     * @return 删除的行数
+     */
+    @Delete({"<script>",
+            "DELETE FROM `quartz_scheduler_job_trigger_info` WHERE `sched_name` = #{schedName}",
+            " AND (`trigger_name`, `trigger_group`) IN",
+            "<foreach collection='triggerKeys' item='k' open='(' separator=',' close=')'>",
+            "(#{k.triggerName}, #{k.triggerGroup})",
+            "</foreach>",
+            "</script>"})
+    int batchDeleteByTriggerKeys(@Param("schedName") String schedName,
+                                 @Param("triggerKeys") List<QuartzTriggerKey> triggerKeys);
+
+    /**
+     * 按(sched_name, trigger_name, trigger_group)顺序分页查询job和trigger信息。
+     * 翻页条件为上一页最后一条记录的主键，使用主键索引定位，翻页不需要扫描之前的记录；
+     * 指定scheduler时，job名称、trigger状态和下次触发时间的过滤条件可以使用对应的二级索引。
+     *
+     * @param schedName        the name of scheduler，为null时查询所有scheduler
+     * @param jobNamePattern   job名称的LIKE匹配模式，为null时不过滤
+     * @param jobGroup         job所在组名称，为null时不过滤
+     * @param triggerState     触发器的状态，为null时不过滤
+     * @param nextFireTimeFrom 下次触发时间不早于该时间，为null时不过滤
+     * @param nextFireTimeTo   下次触发时间早于该时间，为null时不过滤
+     * @param after            上一页最后一条记录，只查询排在它之后的记录，为null时从第一条记录开始
+     * @param limit            最多返回的记录数
+     * @return job和trigger信息
+     */
+    @Select({"<script>",
+            "SELECT * FROM `quartz_scheduler_job_trigger_info`",
+            "<where>",
+            "<if test='schedName != null'> AND `sched_name` = #{schedName}</if>",
+            "<if test='jobNamePattern != null'> AND `job_name` LIKE #{jobNamePattern}</if>",
+            "<if test='jobGroup != null'> AND `job_group` = #{jobGroup}</if>",
+            "<if test='triggerState != null'> AND `trigger_state` = #{triggerState}</if>",
+            "<if test='nextFireTimeFrom != null'> AND `next_fire_time` &gt;= #{nextFireTimeFrom}</if>",
+            "<if test='nextFireTimeTo != null'> AND `next_fire_time` &lt; #{nextFireTimeTo}</if>",
+            "<if test='after != null'>",
+            " AND (`sched_name` &gt; #{after.schedName} OR (`sched_name` = #{after.schedName}",
+            " AND (`trigger_name` &gt; #{after.triggerName} OR (`trigger_name` = #{after.triggerName}",
+            " AND `trigger_group` &gt; #{after.triggerGroup}))))",
+            "</if>",
+            "</where>",
+            " ORDER BY `sched_name`, `trigger_name`, `trigger_group` LIMIT #{limit}",
+            "</script>"})
+    List<QuartzSchedulerJobTriggerInfo> selectPage(@Nullable @Param("schedName") String schedName,
+                                                   @Nullable @Param("jobNamePattern") String jobNamePattern,
+                                                   @Nullable @Param("jobGroup") String jobGroup,
+                                                   @Nullable @Param("triggerState") String triggerState,
+                                                   @Nullable @Param("nextFireTimeFrom") Date nextFireTimeFrom,
+                                                   @Nullable @Param("nextFireTimeTo") Date nextFireTimeTo,
+                                                   @Nullable @Param("after") QuartzSchedulerJobTriggerInfo after,
+                                                   @Param("limit") int limit);
+}
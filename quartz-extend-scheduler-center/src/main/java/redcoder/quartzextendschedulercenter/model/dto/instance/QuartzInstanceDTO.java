@@ -8,6 +8,7 @@ import org.springframework.beans.BeanUtils;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.util.Date;
 
 @Data
 @ApiModel("QuartzInstanceDTO")
@@ -33,9 +34,34 @@ public class QuartzInstanceDTO {
     @NotNull(message = "'instanceHost' must not be null")
     private Integer instancePort;
 
+    /**
+     * 租约时长（秒），为null时不会过期
+     */
+    @ApiModelProperty("租约时长（秒），超过该时间没有收到心跳，实例视为已下线；为空时不会过期")
+    private Integer leaseTtl;
+
+    /**
+     * 最近一次心跳时间
+     */
+    @ApiModelProperty("最近一次心跳时间")
+    private Date lastHeartbeatTime;
+
+    /**
+     * 租约到期时间
+     */
+    @ApiModelProperty("租约到期时间，为空时不会过期")
+    private Date leaseExpireTime;
+
+    /**
+     * 实例是否存活
+     */
+    @ApiModelProperty("实例是否存活")
+    private boolean alive;
+
     public static QuartzInstanceDTO valueOf(QuartzSchedulerInstance instance) {
         QuartzInstanceDTO dto = new QuartzInstanceDTO();
         BeanUtils.copyProperties(instance, dto);
+        dto.setAlive(instance.isAlive(System.currentTimeMillis()));
         return dto;
     }
 }
\ No newline at end of file
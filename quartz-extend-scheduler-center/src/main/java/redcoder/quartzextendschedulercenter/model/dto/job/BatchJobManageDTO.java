@@ -0,0 +1,31 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("BatchJobManageDTO")
+@Data
+public class BatchJobManageDTO {
+
+    /**
+     * 待操作的job，可以属于不同的scheduler
+     */
+    @Valid
+    @Size(max = 1000, message = "'jobs' must not contain more than 1000 elements")
+    private List<JobManageDTO> jobs = new ArrayList<>();
+    /**
+     * 待操作的job组
+     */
+    @Valid
+    @Size(max = 100, message = "'jobGroups' must not contain more than 100 elements")
+    private List<JobGroupManageDTO> jobGroups = new ArrayList<>();
+}
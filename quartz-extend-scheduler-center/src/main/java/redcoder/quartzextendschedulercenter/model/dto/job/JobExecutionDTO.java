@@ -0,0 +1,81 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobExecutionDTO")
+@Data
+public class JobExecutionDTO {
+
+    private Long id;
+    /**
+     * the name of scheduler
+     */
+    private String schedName;
+    /**
+     * the id of scheduler instance
+     */
+    private String instanceId;
+    /**
+     * 本次触发的唯一标识
+     */
+    private String fireInstanceId;
+    /**
+     * job名称
+     */
+    private String jobName;
+    /**
+     * job所在组名称
+     */
+    private String jobGroup;
+    /**
+     * 触发器名称
+     */
+    private String triggerName;
+    /**
+     * 触发器所在组名称
+     */
+    private String triggerGroup;
+    /**
+     * 计划触发时间
+     */
+    private Date scheduledFireTime;
+    /**
+     * 开始执行时间
+     */
+    private Date startTime;
+    /**
+     * 结束执行时间
+     */
+    private Date endTime;
+    /**
+     * 执行耗时，单位毫秒
+     */
+    private Long duration;
+    /**
+     * true - 执行成功，false - 执行失败
+     */
+    private Boolean success;
+    /**
+     * 执行失败时的异常类名
+     */
+    private String exceptionClass;
+    /**
+     * 分片执行时，所属的分发记录的fireInstanceId
+     */
+    private String shardParentId;
+    /**
+     * 分片序号，从0开始
+     */
+    private Integer shardIndex;
+    /**
+     * 分片总数
+     */
+    private Integer shardCount;
+}
@@ -0,0 +1,25 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobExecutionPageDTO")
+@Data
+public class JobExecutionPageDTO {
+
+    /**
+     * 执行记录，按执行顺序倒序排列
+     */
+    private List<JobExecutionDTO> executions = new ArrayList<>();
+    /**
+     * 查询下一页时使用的beforeId，为空时表示没有更多记录
+     */
+    private Long nextBeforeId;
+}
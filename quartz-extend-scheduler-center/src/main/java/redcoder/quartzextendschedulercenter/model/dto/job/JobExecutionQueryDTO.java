@@ -0,0 +1,39 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobExecutionQueryDTO")
+@Data
+public class JobExecutionQueryDTO {
+
+    /**
+     * the name of scheduler
+     */
+    @NotBlank(message = "'schedName' must not be empty")
+    private String schedName;
+    /**
+     * job名称
+     */
+    @NotBlank(message = "'jobName' must not be empty")
+    private String jobName;
+    /**
+     * job所在组名称
+     */
+    @NotBlank(message = "'jobGroup' must not be empty")
+    private String jobGroup;
+    /**
+     * 上一页返回的nextBeforeId，查询第一页时为空
+     */
+    private Long beforeId;
+    /**
+     * 每页记录数，default value: 20，最大200
+     */
+    private int pageSize = 20;
+}
@@ -0,0 +1,26 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobGroupManageDTO")
+@Data
+public class JobGroupManageDTO {
+
+    /**
+     * the name of scheduler
+     */
+    @NotBlank(message = "'schedName' must not be empty")
+    private String schedName;
+    /**
+     * job所在组名称，组内的所有job都会被操作
+     */
+    @NotBlank(message = "'jobGroup' must not be empty")
+    private String jobGroup;
+}
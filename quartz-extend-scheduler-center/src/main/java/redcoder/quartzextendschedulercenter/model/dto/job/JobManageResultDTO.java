@@ -0,0 +1,34 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobManageResultDTO")
+@Data
+public class JobManageResultDTO {
+
+    /**
+     * the name of scheduler
+     */
+    private String schedName;
+    /**
+     * job名称，整个job组操作失败时为空
+     */
+    private String jobName;
+    /**
+     * job所在组名称
+     */
+    private String jobGroup;
+    /**
+     * 是否操作成功
+     */
+    private boolean success;
+    /**
+     * 操作失败的原因
+     */
+    private String message;
+}
@@ -0,0 +1,56 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 一次分片执行的进度
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobShardProgressDTO")
+@Data
+public class JobShardProgressDTO {
+
+    /**
+     * 分片总数
+     */
+    private Integer shardCount;
+    /**
+     * 已执行完成的分片数
+     */
+    private int completedShards;
+    /**
+     * 执行成功的分片数
+     */
+    private int succeededShards;
+    /**
+     * 执行失败的分片数
+     */
+    private int failedShards;
+    /**
+     * true - 分发记录已上报，本次分片执行已结束（所有分片执行完成或等待超时）
+     */
+    private boolean finished;
+    /**
+     * 本次分片执行是否成功，未结束时为null
+     */
+    private Boolean success;
+    /**
+     * 开始执行时间
+     */
+    private Date startTime;
+    /**
+     * 结束执行时间，未结束时为null
+     */
+    private Date endTime;
+    /**
+     * 已执行完成的分片的执行记录，按分片序号排序
+     */
+    private List<JobExecutionDTO> shards = new ArrayList<>();
+}
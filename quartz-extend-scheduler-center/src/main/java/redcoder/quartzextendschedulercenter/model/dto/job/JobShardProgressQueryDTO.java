@@ -0,0 +1,26 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobShardProgressQueryDTO")
+@Data
+public class JobShardProgressQueryDTO {
+
+    /**
+     * the name of scheduler
+     */
+    @NotBlank(message = "'schedName' must not be empty")
+    private String schedName;
+    /**
+     * 分发记录的fireInstanceId，即执行记录中的shardParentId
+     */
+    @NotBlank(message = "'shardParentId' must not be empty")
+    private String shardParentId;
+}
@@ -0,0 +1,25 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobTriggerPageDTO")
+@Data
+public class JobTriggerPageDTO {
+
+    /**
+     * job和trigger信息，按schedName、triggerName、triggerGroup排列
+     */
+    private List<JobTriggerDTO> jobTriggers = new ArrayList<>();
+    /**
+     * 查询下一页时使用的cursor，为空时表示没有更多记录
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,48 @@
+package redcoder.quartzextendschedulercenter.model.dto.job;
+
+import io.swagger.annotations.ApiModel;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@ApiModel("JobTriggerQueryDTO")
+@Data
+public class JobTriggerQueryDTO {
+
+    /**
+     * the name of scheduler，为空时查询所有scheduler
+     */
+    private String schedName;
+    /**
+     * job名称前缀
+     */
+    private String jobName;
+    /**
+     * job所在组名称
+     */
+    private String jobGroup;
+    /**
+     * 触发器的状态：NONE, NORMAL, PAUSED, COMPLETE, ERROR, BLOCKED
+     */
+    private String triggerState;
+    /**
+     * 下次触发时间不早于该时间，格式与接口返回的时间一致：yyyy-MM-dd HH:mm:ss
+     */
+    private Date nextFireTimeFrom;
+    /**
+     * 下次触发时间早于该时间，格式与接口返回的时间一致：yyyy-MM-dd HH:mm:ss
+     */
+    private Date nextFireTimeTo;
+    /**
+     * 上一页返回的nextCursor，查询第一页时为空
+     */
+    private String cursor;
+    /**
+     * 每页记录数，default value: 20，最大200
+     */
+    private int pageSize = 20;
+}
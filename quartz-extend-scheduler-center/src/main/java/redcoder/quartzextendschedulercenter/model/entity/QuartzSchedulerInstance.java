@@ -1,6 +1,7 @@
 package redcoder.quartzextendschedulercenter.model.entity;
 
 import javax.persistence.*;
+import java.util.Date;
 
 @Table(name = "`quartz_scheduler_instance`")
 public class QuartzSchedulerInstance {
@@ -25,6 +26,18 @@ public class QuartzSchedulerInstance {
     @Column(name = "`instance_port`")
     private Integer instancePort;
 
+    /**
+     * 租约到期时间，为NULL时不会过期
+     */
+    @Column(name = "`lease_expire_time`")
+    private Date leaseExpireTime;
+
+    /**
+     * 最近一次心跳时间
+     */
+    @Column(name = "`last_heartbeat_time`")
+    private Date lastHeartbeatTime;
+
     /**
      * 获取the name of scheduler
      *
@@ -78,4 +91,50 @@ public class QuartzSchedulerInstance {
     public void setInstancePort(Integer instancePort) {
         this.instancePort = instancePort;
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取租约到期时间，为NULL时不会过期
+     *
+     * @return lease_expire_time - 租约到期时间，为NULL时不会过期
+     */
+    public Date getLeaseExpireTime() {
+        return leaseExpireTime;
+    }
+
+    /**
+     * 设置租约到期时间，为NULL时不会过期
+     *
+     * @param leaseExpireTime 租约到期时间，为NULL时不会过期
+     */
+    public void setLeaseExpireTime(Date leaseExpireTime) {
+        this.leaseExpireTime = leaseExpireTime;
+    }
+
+    /**
+     * 获取最近一次心跳时间
+     *
+     * @return last_heartbeat_time - 最近一次心跳时间
+     */
+    public Date getLastHeartbeatTime() {
+        return lastHeartbeatTime;
+    }
+
+    /**
+     * 设置最近一次心跳时间
+     *
+     * @param lastHeartbeatTime 最近一次心跳时间
+     */
+    public void setLastHeartbeatTime(Date lastHeartbeatTime) {
+        this.lastHeartbeatTime = lastHeartbeatTime;
+    }
+
+    /**
+     * 租约在指定时间是否有效
+     *
+     * @param now 当前时间
+     * @return true - 租约有效或不会过期
+     */
+    public boolean isAlive(long now) {
+        return leaseExpireTime == null || leaseExpireTime.getTime() > now;
+    }
+}
@@ -0,0 +1,452 @@
+package redcoder.quartzextendschedulercenter.model.entity;
+
+import redcoder.quartzextendcore.core.dto.QuartzJobExecution;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Table(name = "`quartz_scheduler_job_execution`")
+public class QuartzSchedulerJobExecution {
+    @Id
+    @GeneratedValue(generator = "JDBC")
+    @Column(name = "`id`")
+    private Long id;
+
+    /**
+     * the name of scheduler
+     */
+    @Column(name = "`sched_name`")
+    private String schedName;
+
+    /**
+     * the id of scheduler instance
+     */
+    @Column(name = "`instance_id`")
+    private String instanceId;
+
+    /**
+     * 本次触发的唯一标识
+     */
+    @Column(name = "`fire_instance_id`")
+    private String fireInstanceId;
+
+    /**
+     * job名称
+     */
+    @Column(name = "`job_name`")
+    private String jobName;
+
+    /**
+     * job所在组名称
+     */
+    @Column(name = "`job_group`")
+    private String jobGroup;
+
+    /**
+     * 触发器名称
+     */
+    @Column(name = "`trigger_name`")
+    private String triggerName;
+
+    /**
+     * 触发器所在组名称
+     */
+    @Column(name = "`trigger_group`")
+    private String triggerGroup;
+
+    /**
+     * 计划触发时间
+     */
+    @Column(name = "`scheduled_fire_time`")
+    private Date scheduledFireTime;
+
+    /**
+     * 开始执行时间
+     */
+    @Column(name = "`start_time`")
+    private Date startTime;
+
+    /**
+     * 结束执行时间
+     */
+    @Column(name = "`end_time`")
+    private Date endTime;
+
+    /**
+     * 执行耗时，单位毫秒
+     */
+    @Column(name = "`duration`")
+    private Long duration;
+
+    /**
+     * 1 - 执行成功，0 - 执行失败
+     */
+    @Column(name = "`success`")
+    private Boolean success;
+
+    /**
+     * 执行失败时的异常类名
+     */
+    @Column(name = "`exception_class`")
+    private String exceptionClass;
+
+    /**
+     * 分片执行时，所属的分发记录的fire_instance_id
+     */
+    @Column(name = "`shard_parent_id`")
+    private String shardParentId;
+
+    /**
+     * 分片序号，从0开始
+     */
+    @Column(name = "`shard_index`")
+    private Integer shardIndex;
+
+    /**
+     * 分片总数
+     */
+    @Column(name = "`shard_count`")
+    private Integer shardCount;
+
+    @Column(name = "`create_time`")
+    private Date createTime;
+
+    /**
+     * @return id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @param id
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * 获取the name of scheduler
+     *
+     * @return sched_name - the name of scheduler
+     */
+    public String getSchedName() {
+        return schedName;
+    }
+
+    /**
+     * 设置the name of scheduler
+     *
+     * @param schedName the name of scheduler
+     */
+    public void setSchedName(String schedName) {
+        this.schedName = schedName;
+    }
+
+    /**
+     * 获取the id of scheduler instance
+     *
+     * @return instance_id - the id of scheduler instance
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * 设置the id of scheduler instance
+     *
+     * @param instanceId the id of scheduler instance
+     */
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    /**
+     * 获取本次触发的唯一标识
+     *
+     * @return fire_instance_id - 本次触发的唯一标识
+     */
+    public String getFireInstanceId() {
+        return fireInstanceId;
+    }
+
+    /**
+     * 设置本次触发的唯一标识
+     *
+     * @param fireInstanceId 本次触发的唯一标识
+     */
+    public void setFireInstanceId(String fireInstanceId) {
+        this.fireInstanceId = fireInstanceId;
+    }
+
+    /**
+     * 获取job名称
+     *
+     * @return job_name - job名称
+     */
+    public String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * 设置job名称
+     *
+     * @param jobName job名称
+     */
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    /**
+     * 获取job所在组名称
+     *
+     * @return job_group - job所在组名称
+     */
+    public String getJobGroup() {
+        return jobGroup;
+    }
+
+    /**
+     * 设置job所在组名称
+     *
+     * @param jobGroup job所在组名称
+     */
+    public void setJobGroup(String jobGroup) {
+        this.jobGroup = jobGroup;
+    }
+
+    /**
+     * 获取触发器名称
+     *
+     * @return trigger_name - 触发器名称
+     */
+    public String getTriggerName() {
+        return triggerName;
+    }
+
+    /**
+     * 设置触发器名称
+     *
+     * @param triggerName 触发器名称
+     */
+    public void setTriggerName(String triggerName) {
+        this.triggerName = triggerName;
+    }
+
+    /**
+     * 获取触发器所在组名称
+     *
+     * @return trigger_group - 触发器所在组名称
+     */
+    public String getTriggerGroup() {
+        return triggerGroup;
+    }
+
+    /**
+     * 设置触发器所在组名称
+     *
+     * @param triggerGroup 触发器所在组名称
+     */
+    public void setTriggerGroup(String triggerGroup) {
+        this.triggerGroup = triggerGroup;
+    }
+
+    /**
+     * 获取计划触发时间
+     *
+     * @return scheduled_fire_time - 计划触发时间
+     */
+    public Date getScheduledFireTime() {
+        return scheduledFireTime;
+    }
+
+    /**
+     * 设置计划触发时间
+     *
+     * @param scheduledFireTime 计划触发时间
+     */
+    public void setScheduledFireTime(Date scheduledFireTime) {
+        this.scheduledFireTime = scheduledFireTime;
+    }
+
+    /**
+     * 获取开始执行时间
+     *
+     * @return start_time - 开始执行时间
+     */
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * 设置开始执行时间
+     *
+     * @param startTime 开始执行时间
+     */
+    public void setStartTime(Date startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * 获取结束执行时间
+     *
+     * @return end_time - 结束执行时间
+     */
+    public Date getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * 设置结束执行时间
+     *
+     * @param endTime 结束执行时间
+     */
+    public void setEndTime(Date endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * 获取执行耗时，单位毫秒
+     *
+     * @return duration - 执行耗时，单位毫秒
+     */
+    public Long getDuration() {
+        return duration;
+    }
+
+    /**
+     * 设置执行耗时，单位毫秒
+     *
+     * @param duration 执行耗时，单位毫秒
+     */
+    public void setDuration(Long duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * 获取1 - 执行成功，0 - 执行失败
+     *
+     * @return success - 1 - 执行成功，0 - 执行失败
+     */
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    /**
+     * 设置1 - 执行成功，0 - 执行失败
+     *
+     * @param success 1 - 执行成功，0 - 执行失败
+     */
+    public void setSuccess(Boolean success) {
+        this.success = success;
+    }
+
+    /**
+     * 获取执行失败时的异常类名
+     *
+     * @return exception_class - 执行失败时的异常类名
+     */
+    public String getExceptionClass() {
+        return exceptionClass;
+    }
+
+    /**
+     * 设置执行失败时的异常类名
+     *
+     * @param exceptionClass 执行失败时的异常类名
+     */
+    public void setExceptionClass(String exceptionClass) {
+        this.exceptionClass = exceptionClass;
+    }
+
+    /**
+     * 获取分片执行时，所属的分发记录的fire_instance_id
+     *
+     * @return shard_parent_id - 分片执行时，所属的分发记录的fire_instance_id
+     */
+    public String getShardParentId() {
+        return shardParentId;
+    }
+
+    /**
+     * 设置分片执行时，所属的分发记录的fire_instance_id
+     *
+     * @param shardParentId 分片执行时，所属的分发记录的fire_instance_id
+     */
+    public void setShardParentId(String shardParentId) {
+        this.shardParentId = shardParentId;
+    }
+
+    /**
+     * 获取分片序号，从0开始
+     *
+     * @return shard_index - 分片序号，从0开始
+     */
+    public Integer getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * 设置分片序号，从0开始
+     *
+     * @param shardIndex 分片序号，从0开始
+     */
+    public void setShardIndex(Integer shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    /**
+     * 获取分片总数
+     *
+     * @return shard_count - 分片总数
+     */
+    public Integer getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 设置分片总数
+     *
+     * @param shardCount 分片总数
+     */
+    public void setShardCount(Integer shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * @return create_time
+     */
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    /**
+     * @param createTime
+     */
+    public void setCreateTime(Date createTime) {
+        this.createTime = createTime;
+    }
+
+    public static QuartzSchedulerJobExecution valueOf(QuartzJobExecution origin) {
+        QuartzSchedulerJobExecution execution = new QuartzSchedulerJobExecution();
+        execution.setSchedName(origin.getSchedName());
+        execution.setInstanceId(origin.getInstanceId());
+        execution.setFireInstanceId(origin.getFireInstanceId());
+        execution.setJobName(origin.getJobName());
+        execution.setJobGroup(origin.getJobGroup());
+        execution.setTriggerName(origin.getTriggerName());
+        execution.setTriggerGroup(origin.getTriggerGroup());
+        if (origin.getScheduledFireTime() > 0) {
+            execution.setScheduledFireTime(new Date(origin.getScheduledFireTime()));
+        }
+        execution.setStartTime(new Date(origin.getStartTime()));
+        execution.setEndTime(new Date(origin.getEndTime()));
+        execution.setDuration(origin.getDuration());
+        execution.setSuccess(origin.isSuccess());
+        execution.setExceptionClass(origin.getExceptionClass());
+        execution.setShardParentId(origin.getShardParentId());
+        execution.setShardIndex(origin.getShardIndex());
+        execution.setShardCount(origin.getShardCount());
+        return execution;
+    }
+}
\ No newline at end of file
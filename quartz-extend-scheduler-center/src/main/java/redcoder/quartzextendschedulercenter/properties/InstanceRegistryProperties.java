@@ -0,0 +1,51 @@
+package redcoder.quartzextendschedulercenter.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import redcoder.quartzextendschedulercenter.service.support.InstanceRouter;
+
+import java.time.Duration;
+
+/**
+ * quartz实例注册和路由配置
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Configuration
+@ConfigurationProperties(prefix = "instance-registry")
+@Getter
+@Setter
+public class InstanceRegistryProperties {
+
+    /**
+     * 内存中存活实例的最长缓存时间，到期后从数据库重新加载，以感知集群中其他节点收到的心跳，default value: 5s
+     */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+    /**
+     * 租约到期超过该时间后，从数据库中删除实例，default value: 1m
+     */
+    private Duration evictionDelay = Duration.ofMinutes(1);
+    /**
+     * 管理平台自身的心跳间隔，default value: 10s
+     */
+    private Duration selfHeartbeatInterval = Duration.ofSeconds(10);
+    /**
+     * 管理平台自身的租约时长，default value: 30s
+     */
+    private Duration selfLeaseTtl = Duration.ofSeconds(30);
+    /**
+     * 同一个scheduler下有多个实例时，选择实例的策略，default value: ROUND_ROBIN
+     */
+    private InstanceRouter.Strategy routingStrategy = InstanceRouter.Strategy.ROUND_ROBIN;
+    /**
+     * 实例连接失败后，在该时间内优先选择其他实例，default value: 30s
+     */
+    private Duration failureBackoff = Duration.ofSeconds(30);
+    /**
+     * 批量操作job时，同时向多少个scheduler分发请求，default value: 8
+     */
+    private int batchDispatchThreads = 8;
+}
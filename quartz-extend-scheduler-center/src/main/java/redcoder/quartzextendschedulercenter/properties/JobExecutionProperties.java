@@ -0,0 +1,30 @@
+package redcoder.quartzextendschedulercenter.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * job执行记录配置
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Configuration
+@ConfigurationProperties(prefix = "job-execution")
+@Getter
+@Setter
+public class JobExecutionProperties {
+
+    /**
+     * 执行记录的保留时间，超过后被删除，为0时不删除，default value: 7d
+     */
+    private Duration retention = Duration.ofDays(7);
+    /**
+     * 删除过期的执行记录时，每条sql语句最多删除的行数，default value: 1000
+     */
+    private int purgeBatchSize = 1000;
+}
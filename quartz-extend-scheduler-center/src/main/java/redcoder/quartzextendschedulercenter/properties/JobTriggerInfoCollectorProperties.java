@@ -0,0 +1,43 @@
+package redcoder.quartzextendschedulercenter.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * job和trigger信息采集配置
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Configuration
+@ConfigurationProperties(prefix = "job-trigger-info-collector")
+@Getter
+@Setter
+public class JobTriggerInfoCollectorProperties {
+
+    /**
+     * 同时进行中的最大请求数，default value: 64
+     */
+    private int maxConcurrentRequests = 64;
+    /**
+     * 单个实例的连接超时时间，default value: 2s
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * 单个实例的读取超时时间，default value: 10s
+     */
+    private Duration socketTimeout = Duration.ofSeconds(10);
+    /**
+     * 一次采集的最长耗时，超时后取消所有未完成的请求，default value: 60s
+     */
+    private Duration timeout = Duration.ofSeconds(60);
+    /**
+     * scheduler在该时间内主动推送过数据时，定时采集跳过该scheduler，应大于实例的quartz-job-scheduler.registry.push-max-idle，
+     * default value: 5m
+     */
+    private Duration pushActivePeriod = Duration.ofMinutes(5);
+}
@@ -0,0 +1,49 @@
+package redcoder.quartzextendschedulercenter.service;
+
+import redcoder.quartzextendcore.core.dto.QuartzJobExecution;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobExecutionPageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobExecutionQueryDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobShardProgressDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobShardProgressQueryDTO;
+
+import java.util.List;
+
+/**
+ * job执行记录服务
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+public interface JobExecutionService {
+
+    /**
+     * 保存quartz实例推送的执行记录，已存在的记录会被忽略
+     *
+     * @param executions 执行记录
+     */
+    void report(List<QuartzJobExecution> executions);
+
+    /**
+     * 按执行顺序倒序，分页查询job的执行记录
+     *
+     * @param dto 查询条件
+     * @return 执行记录
+     */
+    JobExecutionPageDTO getExecutions(JobExecutionQueryDTO dto);
+
+    /**
+     * 根据已上报的执行记录，查询一次分片执行的进度
+     *
+     * @param dto 查询条件
+     * @return 分片执行进度
+     * @throws IllegalArgumentException 不存在该分片执行的记录
+     */
+    JobShardProgressDTO getShardProgress(JobShardProgressQueryDTO dto);
+
+    /**
+     * 分批删除超过保留时间的执行记录
+     *
+     * @return 删除的行数
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,33 @@
+package redcoder.quartzextendschedulercenter.service;
+
+import redcoder.quartzextendcore.core.dto.QuartzTriggerKey;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobTriggerInfo;
+
+import java.util.List;
+
+/**
+ * 批量保存job和trigger信息，每次调用在一个事务中完成
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+public interface JobTriggerInfoPersistService {
+
+    /**
+     * 用全量数据替换指定scheduler的job和trigger信息：批量新增或更新数据，然后删除不再存在的trigger。
+     * 整个过程不会清空表，读取方不会看到数据为空的中间状态。
+     *
+     * @param schedName the name of scheduler
+     * @param infos     scheduler中所有的job和trigger信息
+     */
+    void replace(String schedName, List<QuartzSchedulerJobTriggerInfo> infos);
+
+    /**
+     * 批量新增或更新数据，并删除指定的trigger
+     *
+     * @param schedName   the name of scheduler
+     * @param upserts     新增或发生变化的job和trigger信息
+     * @param triggerKeys 已删除的trigger
+     */
+    void save(String schedName, List<QuartzSchedulerJobTriggerInfo> upserts, List<QuartzTriggerKey> triggerKeys);
+}
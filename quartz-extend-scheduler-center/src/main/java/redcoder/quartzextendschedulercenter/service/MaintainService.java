@@ -11,7 +11,7 @@ import org.quartz.SchedulerException;
 public interface MaintainService {
 
     /**
-     * 注册调度器应用本身的实例
+     * 注册调度器应用本身的实例，已存在时续约
      */
     void registerOwnInstance() throws SchedulerException;
 
@@ -1,7 +1,11 @@
 package redcoder.quartzextendschedulercenter.service;
 
+import redcoder.quartzextendschedulercenter.model.dto.job.BatchJobManageDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.JobManageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobManageResultDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerPageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerQueryDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.RefreshJobTriggerDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.RemoveLocalJobTriggerDTO;
 import org.springframework.lang.Nullable;
@@ -26,6 +30,15 @@ public interface QuartzJobManageService {
      */
     List<JobTriggerDTO> getJobTriggerInfos(@Nullable String schedName);
 
+    /**
+     * 按条件分页查询job及其trigger信息
+     *
+     * @param dto 查询条件
+     * @return job及其trigger信息
+     * @throws IllegalArgumentException cursor无效
+     */
+    JobTriggerPageDTO getJobTriggerPage(JobTriggerQueryDTO dto);
+
     /**
      * 刷新job和trigger信息
      *
@@ -66,4 +79,35 @@ public interface QuartzJobManageService {
      * @throws JobManageException 删除job失败
      */
     void deleteJob(JobManageDTO jobManageDTO);
+
+    /**
+     * 批量执行job。按scheduler分组后并发地向各scheduler发送请求，单个job或scheduler失败不影响其他job
+     *
+     * @return 每个job的执行结果
+     */
+    List<JobManageResultDTO> batchTriggerJob(BatchJobManageDTO dto);
+
+    /**
+     * 批量暂停job
+     *
+     * @return 每个job的暂停结果
+     * @see #batchTriggerJob(BatchJobManageDTO)
+     */
+    List<JobManageResultDTO> batchPauseJob(BatchJobManageDTO dto);
+
+    /**
+     * 批量恢复（取消暂停）job
+     *
+     * @return 每个job的恢复结果
+     * @see #batchTriggerJob(BatchJobManageDTO)
+     */
+    List<JobManageResultDTO> batchResumeJob(BatchJobManageDTO dto);
+
+    /**
+     * 批量删除job，同时删除本地保存的job数据
+     *
+     * @return 每个job的删除结果
+     * @see #batchTriggerJob(BatchJobManageDTO)
+     */
+    List<JobManageResultDTO> batchDeleteJob(BatchJobManageDTO dto);
 }
@@ -11,7 +11,7 @@ import redcoder.quartzextendschedulercenter.model.dto.instance.QuartzInstanceDTO
 public interface QuartzJobSchedulerService {
 
     /**
-     * 添加实例
+     * 添加实例，已存在时续约
      *
      * @param dto 请求数据
      * @return true - 添加成功
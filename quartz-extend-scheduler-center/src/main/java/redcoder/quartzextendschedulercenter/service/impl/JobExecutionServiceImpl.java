@@ -0,0 +1,135 @@
+package redcoder.quartzextendschedulercenter.service.impl;
+
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import redcoder.quartzextendcore.core.dto.QuartzJobExecution;
+import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerJobExecutionMapper;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobExecutionDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobExecutionPageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobExecutionQueryDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobShardProgressDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobShardProgressQueryDTO;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobExecution;
+import redcoder.quartzextendschedulercenter.properties.JobExecutionProperties;
+import redcoder.quartzextendschedulercenter.service.JobExecutionService;
+
+import javax.annotation.Resource;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Service
+@Slf4j
+public class JobExecutionServiceImpl implements JobExecutionService {
+
+    /**
+     * 每条sql语句最多处理的行数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 每页最多返回的记录数
+     */
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Resource
+    private QuartzSchedulerJobExecutionMapper executionMapper;
+    @Resource
+    private JobExecutionProperties properties;
+
+    @Override
+    public void report(List<QuartzJobExecution> executions) {
+        Date now = new Date();
+        // 重试推送时同一批中可能包含重复的记录，H2的MERGE无法忽略同一条语句中重复的记录，插入前按fire_instance_id去重
+        Map<String, QuartzSchedulerJobExecution> entities = new LinkedHashMap<>();
+        for (QuartzJobExecution t : executions) {
+            QuartzSchedulerJobExecution execution = QuartzSchedulerJobExecution.valueOf(t);
+            execution.setCreateTime(now);
+            entities.putIfAbsent(execution.getSchedName() + "\n" + execution.getFireInstanceId(), execution);
+        }
+        for (List<QuartzSchedulerJobExecution> partition : Lists.partition(new ArrayList<>(entities.values()), BATCH_SIZE)) {
+            executionMapper.batchInsertIgnore(partition);
+        }
+    }
+
+    @Override
+    public JobExecutionPageDTO getExecutions(JobExecutionQueryDTO dto) {
+        int pageSize = Math.min(Math.max(dto.getPageSize(), 1), MAX_PAGE_SIZE);
+        List<QuartzSchedulerJobExecution> list = executionMapper.selectPageByJob(dto.getSchedName(), dto.getJobName(),
+                dto.getJobGroup(), dto.getBeforeId(), pageSize);
+
+        JobExecutionPageDTO page = new JobExecutionPageDTO();
+        page.setExecutions(list.stream().map(JobExecutionServiceImpl::toDTO).collect(Collectors.toList()));
+        if (list.size() == pageSize) {
+            page.setNextBeforeId(list.get(list.size() - 1).getId());
+        }
+        return page;
+    }
+
+    @Override
+    public JobShardProgressDTO getShardProgress(JobShardProgressQueryDTO dto) {
+        List<QuartzSchedulerJobExecution> list = executionMapper.selectByShardParentId(dto.getSchedName(), dto.getShardParentId());
+        if (list.isEmpty()) {
+            throw new IllegalArgumentException("分片执行记录不存在：" + dto.getShardParentId());
+        }
+
+        JobShardProgressDTO progress = new JobShardProgressDTO();
+        for (QuartzSchedulerJobExecution execution : list) {
+            progress.setShardCount(execution.getShardCount());
+            if (execution.getShardIndex() == null) {
+                // 分发记录，所有分片执行完成或等待超时后才会上报
+                progress.setFinished(true);
+                progress.setSuccess(execution.getSuccess());
+                progress.setStartTime(execution.getStartTime());
+                progress.setEndTime(execution.getEndTime());
+                continue;
+            }
+            progress.getShards().add(toDTO(execution));
+            if (Boolean.TRUE.equals(execution.getSuccess())) {
+                progress.setSucceededShards(progress.getSucceededShards() + 1);
+            } else {
+                progress.setFailedShards(progress.getFailedShards() + 1);
+            }
+            if (!progress.isFinished() && (progress.getStartTime() == null || execution.getStartTime().before(progress.getStartTime()))) {
+                progress.setStartTime(execution.getStartTime());
+            }
+        }
+        progress.setCompletedShards(progress.getShards().size());
+        progress.getShards().sort(Comparator.comparing(JobExecutionDTO::getShardIndex));
+        if (progress.isFinished() && progress.getFailedShards() > 0) {
+            progress.setSuccess(false);
+        }
+        return progress;
+    }
+
+    @Override
+    public int purgeExpired() {
+        if (properties.getRetention().isZero() || properties.getRetention().isNegative()) {
+            return 0;
+        }
+        Date deadline = new Date(System.currentTimeMillis() - properties.getRetention().toMillis());
+        int batchSize = Math.max(properties.getPurgeBatchSize(), 1);
+        int purged = 0;
+        int deleted;
+        // 分批删除，避免一次删除大量记录时长时间持有锁
+        do {
+            deleted = executionMapper.deleteCreatedBefore(deadline, batchSize);
+            purged += deleted;
+        } while (deleted == batchSize);
+        if (purged > 0) {
+            log.info("删除过期的job执行记录: {}条，创建时间早于{}", purged, deadline);
+        }
+        return purged;
+    }
+
+    private static JobExecutionDTO toDTO(QuartzSchedulerJobExecution execution) {
+        JobExecutionDTO executionDTO = new JobExecutionDTO();
+        BeanUtils.copyProperties(execution, executionDTO);
+        return executionDTO;
+    }
+}
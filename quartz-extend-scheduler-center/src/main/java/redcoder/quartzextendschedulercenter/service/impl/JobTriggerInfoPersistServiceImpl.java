@@ -0,0 +1,71 @@
+package redcoder.quartzextendschedulercenter.service.impl;
+
+import com.google.common.collect.Lists;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import redcoder.quartzextendcore.core.dto.QuartzTriggerKey;
+import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerJobTriggerInfoMapper;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobTriggerInfo;
+import redcoder.quartzextendschedulercenter.service.JobTriggerInfoPersistService;
+
+import javax.annotation.Resource;
+import java.util.*;
+
+/**
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Service
+public class JobTriggerInfoPersistServiceImpl implements JobTriggerInfoPersistService {
+
+    /**
+     * 每条sql语句最多处理的行数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    @Resource
+    private QuartzSchedulerJobTriggerInfoMapper infoMapper;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void replace(String schedName, List<QuartzSchedulerJobTriggerInfo> infos) {
+        upsert(schedName, infos);
+
+        Set<QuartzTriggerKey> retained = new HashSet<>();
+        for (QuartzSchedulerJobTriggerInfo info : infos) {
+            retained.add(new QuartzTriggerKey(info.getTriggerName(), info.getTriggerGroup()));
+        }
+        List<QuartzTriggerKey> disappeared = new ArrayList<>();
+        for (QuartzTriggerKey triggerKey : infoMapper.selectTriggerKeys(schedName)) {
+            if (!retained.contains(triggerKey)) {
+                disappeared.add(triggerKey);
+            }
+        }
+        delete(schedName, disappeared);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void save(String schedName, List<QuartzSchedulerJobTriggerInfo> upserts, List<QuartzTriggerKey> triggerKeys) {
+        upsert(schedName, upserts);
+        delete(schedName, triggerKeys);
+    }
+
+    private void upsert(String schedName, List<QuartzSchedulerJobTriggerInfo> infos) {
+        Date now = new Date();
+        for (QuartzSchedulerJobTriggerInfo info : infos) {
+            info.setSchedName(schedName);
+            info.setCreateTime(now);
+            info.setUpdateTime(now);
+        }
+        for (List<QuartzSchedulerJobTriggerInfo> partition : Lists.partition(infos, BATCH_SIZE)) {
+            infoMapper.batchUpsert(partition);
+        }
+    }
+
+    private void delete(String schedName, List<QuartzTriggerKey> triggerKeys) {
+        for (List<QuartzTriggerKey> partition : Lists.partition(triggerKeys, BATCH_SIZE)) {
+            infoMapper.batchDeleteByTriggerKeys(schedName, partition);
+        }
+    }
+}
@@ -2,25 +2,26 @@ package redcoder.quartzextendschedulercenter.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import redcoder.quartzextendcommon.utils.IpUtils;
-import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerInstanceMapper;
-import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerJobTriggerInfoMapper;
 import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerInstance;
 import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobTriggerInfo;
+import redcoder.quartzextendschedulercenter.service.JobTriggerInfoPersistService;
+import redcoder.quartzextendschedulercenter.properties.InstanceRegistryProperties;
 import redcoder.quartzextendschedulercenter.service.MaintainService;
+import redcoder.quartzextendschedulercenter.service.support.InstanceRegistry;
 import org.quartz.*;
 import org.quartz.Trigger.TriggerState;
 import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
-import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
-import java.util.Date;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author redcoder54
@@ -28,28 +29,32 @@ import java.util.Set;
  */
 @Service
 @Slf4j
-public class MaintainServiceImpl implements MaintainService, InitializingBean {
+public class MaintainServiceImpl implements MaintainService, InitializingBean, DisposableBean {
 
     @Autowired
     private Scheduler scheduler;
     @Resource
-    private QuartzSchedulerJobTriggerInfoMapper infoMapper;
+    private JobTriggerInfoPersistService persistService;
     @Resource
-    private QuartzSchedulerInstanceMapper instanceMapper;
+    private InstanceRegistry instanceRegistry;
+    @Resource
+    private InstanceRegistryProperties properties;
     @Resource
     private Environment environment;
 
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Self-Register-Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     @Override
     public void registerOwnInstance() throws SchedulerException {
         QuartzSchedulerInstance instance = new QuartzSchedulerInstance();
         instance.setSchedName(scheduler.getSchedulerName());
         instance.setInstanceHost(IpUtils.getLocalIp());
         instance.setInstancePort(Integer.valueOf(Objects.requireNonNull(environment.getProperty("server.port"))));
-        try {
-            instanceMapper.insertSelective(instance);
-        } catch (DuplicateKeyException e) {
-            // 重复数据，忽略
-        }
+        instanceRegistry.heartbeat(instance, (int) properties.getSelfLeaseTtl().getSeconds());
     }
 
     @Override
@@ -57,21 +62,12 @@ public class MaintainServiceImpl implements MaintainService, InitializingBean {
         String schedulerName = scheduler.getSchedulerName();
 
         Set<TriggerKey> triggerKeys = scheduler.getTriggerKeys(GroupMatcher.anyTriggerGroup());
+        List<QuartzSchedulerJobTriggerInfo> jobTriggerInfos = new ArrayList<>();
         for (TriggerKey triggerKey : triggerKeys) {
-            QuartzSchedulerJobTriggerInfo jobTriggerInfo = createJobTriggerInfo(triggerKey);
-            jobTriggerInfo.setSchedName(schedulerName);
-
-            if (infoMapper.selectByPrimaryKey(jobTriggerInfo) != null) {
-                // 更新数据
-                jobTriggerInfo.setUpdateTime(new Date());
-                infoMapper.updateByPrimaryKeySelective(jobTriggerInfo);
-            } else {
-                // 新增数据
-                jobTriggerInfo.setCreateTime(new Date());
-                jobTriggerInfo.setUpdateTime(new Date());
-                infoMapper.insertSelective(jobTriggerInfo);
-            }
+            jobTriggerInfos.add(createJobTriggerInfo(triggerKey));
         }
+        // 新增或更新数据
+        persistService.save(schedulerName, jobTriggerInfos, Collections.emptyList());
     }
 
     private QuartzSchedulerJobTriggerInfo createJobTriggerInfo(TriggerKey triggerKey) throws SchedulerException {
@@ -101,13 +97,25 @@ public class MaintainServiceImpl implements MaintainService, InitializingBean {
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        new Thread(() -> {
+        executor.execute(() -> {
             try {
-                registerOwnInstance();
                 registerOwnJob();
             } catch (Exception e) {
                 log.error("", e);
             }
-        }, "Self-Register-Thread").start();
+        });
+        // 定期续约
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                registerOwnInstance();
+            } catch (Exception e) {
+                log.error("", e);
+            }
+        }, 0, properties.getSelfHeartbeatInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
     }
 }
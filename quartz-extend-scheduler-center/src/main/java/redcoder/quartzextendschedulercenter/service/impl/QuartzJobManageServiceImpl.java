@@ -1,21 +1,33 @@
 package redcoder.quartzextendschedulercenter.service.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import redcoder.quartzextendcommon.utils.HttpTemplate;
+import lombok.extern.slf4j.Slf4j;
+import redcoder.quartzextendcommon.utils.JsonUtils;
 import redcoder.quartzextendcommon.utils.MapUtils;
+import redcoder.quartzextendcore.core.dto.QuartzJobBatchCommand;
+import redcoder.quartzextendcore.core.dto.QuartzJobCommandResult;
+import redcoder.quartzextendcore.core.dto.QuartzJobKey;
 import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
+import redcoder.quartzextendcore.scheduler.HttpClientRegistry;
 import redcoder.quartzextendschedulercenter.exception.JobManageException;
-import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerInstanceMapper;
 import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerJobTriggerInfoMapper;
 import redcoder.quartzextendschedulercenter.model.dto.ApiResult;
+import redcoder.quartzextendschedulercenter.model.dto.job.BatchJobManageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobGroupManageDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.JobManageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobManageResultDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerPageDTO;
+import redcoder.quartzextendschedulercenter.model.dto.job.JobTriggerQueryDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.RefreshJobTriggerDTO;
 import redcoder.quartzextendschedulercenter.model.dto.job.RemoveLocalJobTriggerDTO;
-import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerInstance;
 import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobTriggerInfo;
+import redcoder.quartzextendschedulercenter.properties.InstanceRegistryProperties;
 import redcoder.quartzextendschedulercenter.service.QuartzJobManageService;
+import redcoder.quartzextendschedulercenter.service.support.InstanceRouter;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -24,9 +36,14 @@ import tk.mybatis.mapper.entity.Example;
 import tk.mybatis.mapper.util.Sqls;
 
 import javax.annotation.Resource;
-import java.util.Date;
-import java.util.List;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -34,14 +51,48 @@ import java.util.stream.Collectors;
  * @since 2022-01-09
  */
 @Service
-public class QuartzJobManageServiceImpl implements QuartzJobManageService {
+@Slf4j
+public class QuartzJobManageServiceImpl implements QuartzJobManageService, InitializingBean, DisposableBean {
 
     private static final String OK = "OK";
 
+    /**
+     * 每页最多返回的记录数
+     */
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Resource
-    private QuartzSchedulerInstanceMapper instanceMapper;
+    private InstanceRouter instanceRouter;
     @Resource
     private QuartzSchedulerJobTriggerInfoMapper infoMapper;
+    @Resource
+    private HttpClientRegistry httpClientRegistry;
+    @Resource
+    private InstanceRegistryProperties instanceRegistryProperties;
+
+    /**
+     * 批量操作job时，向各scheduler分发请求的线程池
+     */
+    private ExecutorService batchDispatchExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        int threads = instanceRegistryProperties.getBatchDispatchThreads();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "Batch-Job-Dispatcher-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        batchDispatchExecutor = executor;
+    }
+
+    @Override
+    public void destroy() {
+        batchDispatchExecutor.shutdownNow();
+    }
 
     @Override
     public List<String> getSchedNames() {
@@ -72,6 +123,29 @@ public class QuartzJobManageServiceImpl implements QuartzJobManageService {
         }).collect(Collectors.toList());
     }
 
+    @Override
+    public JobTriggerPageDTO getJobTriggerPage(JobTriggerQueryDTO dto) {
+        int pageSize = Math.min(Math.max(dto.getPageSize(), 1), MAX_PAGE_SIZE);
+        String jobNamePattern = StringUtils.hasText(dto.getJobName()) ? escapeLike(dto.getJobName()) + "%" : null;
+        QuartzSchedulerJobTriggerInfo after = StringUtils.hasText(dto.getCursor()) ? decodeCursor(dto.getCursor()) : null;
+        // 多查询一条，用于判断是否还有下一页
+        List<QuartzSchedulerJobTriggerInfo> list = infoMapper.selectPage(emptyToNull(dto.getSchedName()), jobNamePattern,
+                emptyToNull(dto.getJobGroup()), emptyToNull(dto.getTriggerState()), dto.getNextFireTimeFrom(),
+                dto.getNextFireTimeTo(), after, pageSize + 1);
+
+        JobTriggerPageDTO page = new JobTriggerPageDTO();
+        if (list.size() > pageSize) {
+            list = list.subList(0, pageSize);
+            page.setNextCursor(encodeCursor(list.get(pageSize - 1)));
+        }
+        page.setJobTriggers(list.stream().map(t -> {
+            JobTriggerDTO jobTriggerDTO = new JobTriggerDTO();
+            BeanUtils.copyProperties(t, jobTriggerDTO);
+            return jobTriggerDTO;
+        }).collect(Collectors.toList()));
+        return page;
+    }
+
     @Override
     public JobTriggerDTO refreshJobTrigger(RefreshJobTriggerDTO dto) {
         // 刷新数据
@@ -91,14 +165,13 @@ public class QuartzJobManageServiceImpl implements QuartzJobManageService {
     }
 
     private void refreshJobTriggerInfoInternal(RefreshJobTriggerDTO dto) {
-        QuartzSchedulerInstance instance = getQuartzSchedulerInstance(dto.getSchedName());
-
-        String url = "http://" + instance.getInstanceHost() + ":" + instance.getInstancePort() + QuartzApiConstants.JOB_TRIGGER_INFO_QUERY;
         Map<String, String> queryParams = MapUtils.buildMap("triggerName", dto.getTriggerName(),
                 "triggerGroup", dto.getTriggerGroup());
-        ApiResult<QuartzJobTriggerInfo> result = HttpTemplate.doGet(url, queryParams,
-                new TypeReference<ApiResult<QuartzJobTriggerInfo>>() {
-                });
+        ApiResult<QuartzJobTriggerInfo> result = instanceRouter.execute(dto.getSchedName(), baseUrl ->
+                httpClientRegistry.get(HttpClientRegistry.PROFILE_AGENT_CONTROL).getJson(
+                        baseUrl + QuartzApiConstants.JOB_TRIGGER_INFO_QUERY, queryParams,
+                        new TypeReference<ApiResult<QuartzJobTriggerInfo>>() {
+                        }));
         if (result.getStatus() != 0) {
             throw new JobManageException("刷新job和trigger信息失败：" + result.getMessage());
         }
@@ -160,26 +233,149 @@ public class QuartzJobManageServiceImpl implements QuartzJobManageService {
         throw new JobManageException("删除job失败：" + result);
     }
 
+    @Override
+    public List<JobManageResultDTO> batchTriggerJob(BatchJobManageDTO dto) {
+        return executeBatchCommand(dto, QuartzApiConstants.BATCH_TRIGGER_JOB);
+    }
+
+    @Override
+    public List<JobManageResultDTO> batchPauseJob(BatchJobManageDTO dto) {
+        return executeBatchCommand(dto, QuartzApiConstants.BATCH_PAUSE_JOB);
+    }
+
+    @Override
+    public List<JobManageResultDTO> batchResumeJob(BatchJobManageDTO dto) {
+        return executeBatchCommand(dto, QuartzApiConstants.BATCH_RESUME_JOB);
+    }
+
+    @Override
+    public List<JobManageResultDTO> batchDeleteJob(BatchJobManageDTO dto) {
+        List<JobManageResultDTO> results = executeBatchCommand(dto, QuartzApiConstants.BATCH_DELETE_JOB);
+        for (JobManageResultDTO result : results) {
+            if (result.isSuccess()) {
+                QuartzSchedulerJobTriggerInfo info = new QuartzSchedulerJobTriggerInfo();
+                info.setSchedName(result.getSchedName());
+                info.setJobName(result.getJobName());
+                info.setJobGroup(result.getJobGroup());
+                infoMapper.delete(info);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 按scheduler分组，并发地向各scheduler发送批量操作请求，每个scheduler只发送一次请求
+     */
+    private List<JobManageResultDTO> executeBatchCommand(BatchJobManageDTO dto, String api) {
+        Map<String, QuartzJobBatchCommand> commands = new LinkedHashMap<>();
+        for (JobManageDTO job : dto.getJobs()) {
+            commands.computeIfAbsent(job.getSchedName(), k -> new QuartzJobBatchCommand()).getJobKeys()
+                    .add(new QuartzJobKey(job.getJobName(), job.getJobGroup()));
+        }
+        for (JobGroupManageDTO jobGroup : dto.getJobGroups()) {
+            commands.computeIfAbsent(jobGroup.getSchedName(), k -> new QuartzJobBatchCommand()).getJobGroups()
+                    .add(jobGroup.getJobGroup());
+        }
+
+        List<CompletableFuture<List<JobManageResultDTO>>> futures = new ArrayList<>(commands.size());
+        commands.forEach((schedName, command) -> futures.add(CompletableFuture.supplyAsync(
+                () -> dispatchBatchCommand(schedName, command, api), batchDispatchExecutor)));
+        List<JobManageResultDTO> results = new ArrayList<>();
+        for (CompletableFuture<List<JobManageResultDTO>> future : futures) {
+            results.addAll(future.join());
+        }
+        return results;
+    }
+
+    private List<JobManageResultDTO> dispatchBatchCommand(String schedName, QuartzJobBatchCommand command, String api) {
+        String message;
+        try {
+            String requestBody = JsonUtils.beanToJsonString(command);
+            ApiResult<List<QuartzJobCommandResult>> result = instanceRouter.execute(schedName, baseUrl ->
+                    httpClientRegistry.get(HttpClientRegistry.PROFILE_AGENT_CONTROL).postJson(baseUrl + api, requestBody,
+                            new TypeReference<ApiResult<List<QuartzJobCommandResult>>>() {
+                            }));
+            if (result.getStatus() == 0) {
+                return result.getData().stream()
+                        .map(t -> createJobManageResult(schedName, t.getJobName(), t.getJobGroup(), t.isSuccess(), t.getMessage()))
+                        .collect(Collectors.toList());
+            }
+            message = result.getMessage();
+        } catch (RuntimeException e) {
+            log.error("批量操作job失败: " + schedName, e);
+            message = e.getMessage();
+        }
+        // 整个scheduler操作失败
+        List<JobManageResultDTO> results = new ArrayList<>();
+        for (QuartzJobKey jobKey : command.getJobKeys()) {
+            results.add(createJobManageResult(schedName, jobKey.getJobName(), jobKey.getJobGroup(), false, message));
+        }
+        for (String jobGroup : command.getJobGroups()) {
+            results.add(createJobManageResult(schedName, null, jobGroup, false, message));
+        }
+        return results;
+    }
+
+    private static JobManageResultDTO createJobManageResult(String schedName, @Nullable String jobName, String jobGroup,
+                                                            boolean success, @Nullable String message) {
+        JobManageResultDTO result = new JobManageResultDTO();
+        result.setSchedName(schedName);
+        result.setJobName(jobName);
+        result.setJobGroup(jobGroup);
+        result.setSuccess(success);
+        result.setMessage(message);
+        return result;
+    }
+
     private String executeCommand(JobManageDTO jobManageDTO, String api) {
-        QuartzSchedulerInstance instance = getQuartzSchedulerInstance(jobManageDTO.getSchedName());
-        String url = "http://" + instance.getInstanceHost() + ":" + instance.getInstancePort() + api;
         Map<String, String> formParams = MapUtils.buildMap("jobName", jobManageDTO.getJobName(),
                 "jobGroup", jobManageDTO.getJobGroup());
-        ApiResult<Boolean> result = HttpTemplate.doPost(url, formParams,
-                new TypeReference<ApiResult<Boolean>>() {
-                });
+        ApiResult<Boolean> result = instanceRouter.execute(jobManageDTO.getSchedName(), baseUrl ->
+                httpClientRegistry.get(HttpClientRegistry.PROFILE_AGENT_CONTROL).postForm(baseUrl + api, formParams,
+                        new TypeReference<ApiResult<Boolean>>() {
+                        }));
         if (result.getStatus() == 0 && Boolean.TRUE.equals(result.getData())) {
             return OK;
         }
         return result.getMessage();
     }
 
-    private QuartzSchedulerInstance getQuartzSchedulerInstance(String schedName) {
-        Example example = Example.builder(QuartzSchedulerInstance.class)
-                .select("instanceHost", "instancePort")
-                .where(Sqls.custom().andEqualTo("schedName", schedName))
-                .build();
-        List<QuartzSchedulerInstance> instances = instanceMapper.selectByExample(example);
-        return instances.get(0);
+    @Nullable
+    private static String emptyToNull(@Nullable String str) {
+        return StringUtils.hasText(str) ? str : null;
+    }
+
+    /**
+     * 转义LIKE匹配模式中的特殊字符
+     */
+    private static String escapeLike(String str) {
+        return str.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * cursor由记录主键的三个字段分别做base64编码后，以'.'连接而成
+     */
+    private static String encodeCursor(QuartzSchedulerJobTriggerInfo info) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(info.getSchedName().getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(info.getTriggerName().getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(info.getTriggerGroup().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static QuartzSchedulerJobTriggerInfo decodeCursor(String cursor) {
+        String[] parts = cursor.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor);
+        }
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        QuartzSchedulerJobTriggerInfo info = new QuartzSchedulerJobTriggerInfo();
+        try {
+            info.setSchedName(new String(decoder.decode(parts[0]), StandardCharsets.UTF_8));
+            info.setTriggerName(new String(decoder.decode(parts[1]), StandardCharsets.UTF_8));
+            info.setTriggerGroup(new String(decoder.decode(parts[2]), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor);
+        }
+        return info;
     }
 }
@@ -1,13 +1,12 @@
 package redcoder.quartzextendschedulercenter.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
-import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerInstanceMapper;
 import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerJobTriggerInfoMapper;
 import redcoder.quartzextendschedulercenter.model.dto.instance.QuartzInstanceDTO;
 import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerInstance;
 import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobTriggerInfo;
 import redcoder.quartzextendschedulercenter.service.QuartzJobSchedulerService;
-import org.springframework.beans.BeanUtils;
+import redcoder.quartzextendschedulercenter.service.support.InstanceRegistry;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
@@ -21,20 +20,18 @@ import javax.annotation.Resource;
 public class QuartzJobSchedulerServiceImpl implements QuartzJobSchedulerService {
 
     @Resource
-    private QuartzSchedulerInstanceMapper instanceMapper;
+    private InstanceRegistry instanceRegistry;
     @Resource
     private QuartzSchedulerJobTriggerInfoMapper jobTriggerInfoMapper;
 
     @Override
     public boolean addInstance(QuartzInstanceDTO dto) {
         QuartzSchedulerInstance instance = new QuartzSchedulerInstance();
-        BeanUtils.copyProperties(dto, instance);
-        if (instanceMapper.selectByPrimaryKey(instance) != null) {
-            // 已存在
-            return true;
-        }
-        // 新增
-        instanceMapper.insertSelective(instance);
+        instance.setSchedName(dto.getSchedName());
+        instance.setInstanceHost(dto.getInstanceHost());
+        instance.setInstancePort(dto.getInstancePort());
+        // 新增或续约
+        instanceRegistry.heartbeat(instance, dto.getLeaseTtl());
         return true;
     }
 
@@ -42,8 +39,10 @@ public class QuartzJobSchedulerServiceImpl implements QuartzJobSchedulerService
     public boolean deleteInstance(QuartzInstanceDTO dto) {
         // 删除实例
         QuartzSchedulerInstance instance = new QuartzSchedulerInstance();
-        BeanUtils.copyProperties(dto, instance);
-        instanceMapper.deleteByPrimaryKey(instance);
+        instance.setSchedName(dto.getSchedName());
+        instance.setInstanceHost(dto.getInstanceHost());
+        instance.setInstancePort(dto.getInstancePort());
+        instanceRegistry.remove(instance);
 
         // 删除此实例下的job数据
         QuartzSchedulerJobTriggerInfo jobTriggerInfo = new QuartzSchedulerJobTriggerInfo();
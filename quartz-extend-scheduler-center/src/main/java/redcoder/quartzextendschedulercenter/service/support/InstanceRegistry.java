@@ -0,0 +1,174 @@
+package redcoder.quartzextendschedulercenter.service.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerInstanceMapper;
+import redcoder.quartzextendschedulercenter.mapper.QuartzSchedulerJobTriggerInfoMapper;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerInstance;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobTriggerInfo;
+import redcoder.quartzextendschedulercenter.properties.InstanceRegistryProperties;
+import tk.mybatis.mapper.entity.Example;
+import tk.mybatis.mapper.util.Sqls;
+
+import javax.annotation.Resource;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * quartz实例的注册表和存活索引。
+ * <p>
+ * 实例定期发送心跳续约，数据库中保存每个实例的租约到期时间；租约到期的实例不再参与采集和路由，
+ * 到期超过{@link InstanceRegistryProperties#getEvictionDelay()}后被删除。未携带租约的实例（旧版本）不会过期。
+ * <p>
+ * 存活实例缓存在内存中，每隔{@link InstanceRegistryProperties#getRefreshInterval()}从数据库重新加载，
+ * 以感知集群中其他管理平台节点收到的心跳；当前节点收到的心跳会立即生效。
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Component
+@Slf4j
+public class InstanceRegistry {
+
+    @Resource
+    private QuartzSchedulerInstanceMapper instanceMapper;
+    @Resource
+    private QuartzSchedulerJobTriggerInfoMapper jobTriggerInfoMapper;
+    @Resource
+    private InstanceRegistryProperties properties;
+
+    /**
+     * 存活索引（路由表），key: schedName，value: 该scheduler下的实例，key为实例地址（host:port）
+     */
+    private volatile Map<String, Map<String, QuartzSchedulerInstance>> index = new ConcurrentHashMap<>();
+    /**
+     * 上一次从数据库加载的时间
+     */
+    private volatile long loadTime;
+
+    /**
+     * 注册实例或续约
+     *
+     * @param instance quartz实例
+     * @param leaseTtl 租约时长（秒），为null时不会过期
+     */
+    public void heartbeat(QuartzSchedulerInstance instance, @Nullable Integer leaseTtl) {
+        long now = System.currentTimeMillis();
+        instance.setLastHeartbeatTime(new Date(now));
+        instance.setLeaseExpireTime(leaseTtl == null ? null : new Date(now + leaseTtl * 1000L));
+        if (instanceMapper.updateByPrimaryKey(instance) == 0) {
+            try {
+                instanceMapper.insert(instance);
+            } catch (DuplicateKeyException e) {
+                // 并发注册
+                instanceMapper.updateByPrimaryKey(instance);
+            }
+        }
+        index.computeIfAbsent(instance.getSchedName(), k -> new ConcurrentHashMap<>()).put(getAddress(instance), instance);
+    }
+
+    /**
+     * 删除实例
+     *
+     * @param instance quartz实例
+     */
+    public void remove(QuartzSchedulerInstance instance) {
+        instanceMapper.deleteByPrimaryKey(instance);
+        Map<String, QuartzSchedulerInstance> instances = index.get(instance.getSchedName());
+        if (instances != null) {
+            instances.remove(getAddress(instance));
+        }
+    }
+
+    /**
+     * 获取所有存活的实例
+     */
+    public List<QuartzSchedulerInstance> getLiveInstances() {
+        long now = System.currentTimeMillis();
+        return getIndex(now).values().stream()
+                .flatMap(instances -> instances.values().stream())
+                .filter(instance -> instance.isAlive(now))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取指定scheduler下存活的实例
+     *
+     * @param schedName the name of scheduler
+     */
+    public List<QuartzSchedulerInstance> getLiveInstances(String schedName) {
+        long now = System.currentTimeMillis();
+        return getIndex(now).getOrDefault(schedName, Collections.emptyMap()).values().stream()
+                .filter(instance -> instance.isAlive(now))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 删除租约已过期的实例；scheduler下不再有任何实例时，同时删除该scheduler的job数据
+     *
+     * @return 删除的实例数
+     */
+    public int evictExpired() {
+        Date deadline = new Date(System.currentTimeMillis() - properties.getEvictionDelay().toMillis());
+        List<QuartzSchedulerInstance> expired = instanceMapper.selectByExample(Example.builder(QuartzSchedulerInstance.class)
+                .where(Sqls.custom().andLessThan("leaseExpireTime", deadline))
+                .build());
+        int evicted = 0;
+        Set<String> schedNames = new HashSet<>();
+        for (QuartzSchedulerInstance instance : expired) {
+            // 删除前再次检查租约，避免删除刚刚续约的实例
+            int deleted = instanceMapper.deleteByExample(Example.builder(QuartzSchedulerInstance.class)
+                    .where(Sqls.custom()
+                            .andEqualTo("schedName", instance.getSchedName())
+                            .andEqualTo("instanceHost", instance.getInstanceHost())
+                            .andEqualTo("instancePort", instance.getInstancePort())
+                            .andLessThan("leaseExpireTime", deadline))
+                    .build());
+            if (deleted > 0) {
+                log.info("实例租约已过期，删除实例: {} {}:{}", instance.getSchedName(), instance.getInstanceHost(),
+                        instance.getInstancePort());
+                evicted++;
+                schedNames.add(instance.getSchedName());
+            }
+        }
+        for (String schedName : schedNames) {
+            QuartzSchedulerInstance condition = new QuartzSchedulerInstance();
+            condition.setSchedName(schedName);
+            if (instanceMapper.selectCount(condition) == 0) {
+                QuartzSchedulerJobTriggerInfo jobTriggerInfo = new QuartzSchedulerJobTriggerInfo();
+                jobTriggerInfo.setSchedName(schedName);
+                jobTriggerInfoMapper.delete(jobTriggerInfo);
+            }
+        }
+        if (evicted > 0) {
+            // 下一次查询时从数据库重新加载
+            loadTime = 0;
+        }
+        return evicted;
+    }
+
+    private Map<String, Map<String, QuartzSchedulerInstance>> getIndex(long now) {
+        if (now - loadTime <= properties.getRefreshInterval().toMillis()) {
+            return index;
+        }
+        synchronized (this) {
+            if (now - loadTime > properties.getRefreshInterval().toMillis()) {
+                Map<String, Map<String, QuartzSchedulerInstance>> loaded = new ConcurrentHashMap<>();
+                for (QuartzSchedulerInstance instance : instanceMapper.selectAll()) {
+                    loaded.computeIfAbsent(instance.getSchedName(), k -> new ConcurrentHashMap<>())
+                            .put(getAddress(instance), instance);
+                }
+                index = loaded;
+                loadTime = System.currentTimeMillis();
+            }
+            return index;
+        }
+    }
+
+    private static String getAddress(QuartzSchedulerInstance instance) {
+        return instance.getInstanceHost() + ":" + instance.getInstancePort();
+    }
+}
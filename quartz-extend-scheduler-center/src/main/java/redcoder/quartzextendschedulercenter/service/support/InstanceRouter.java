@@ -0,0 +1,202 @@
+package redcoder.quartzextendschedulercenter.service.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.stereotype.Component;
+import redcoder.quartzextendcommon.exception.WrappedIOException;
+import redcoder.quartzextendschedulercenter.exception.JobManageException;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerInstance;
+import redcoder.quartzextendschedulercenter.properties.InstanceRegistryProperties;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 将对quartz实例的调用路由到scheduler下存活的实例。
+ * <p>
+ * 路由表来自{@link InstanceRegistry}的存活索引，不需要每次调用都查询数据库。
+ * 同一个scheduler下有多个实例时，按{@link InstanceRegistryProperties#getRoutingStrategy()}选择实例；
+ * 连接失败（请求没有发出）时依次尝试其他实例，并在{@link InstanceRegistryProperties#getFailureBackoff()}内把该实例排在最后。
+ * 请求已经发出后的失败（比如读取超时）不会重试，避免重复执行触发job等非幂等的操作。
+ * <p>
+ * 调用统计每隔{@link InstanceRegistryProperties#getRefreshInterval()}按存活实例清理一次，已下线实例的统计不会一直保留。
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Component
+@Slf4j
+public class InstanceRouter {
+
+    /**
+     * 延迟的指数加权移动平均系数
+     */
+    private static final double LATENCY_ALPHA = 0.3;
+
+    private final InstanceRegistry instanceRegistry;
+    private final InstanceRegistryProperties properties;
+
+    /**
+     * 轮询计数，key: schedName
+     */
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+    /**
+     * 调用统计，key: 实例地址
+     */
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    /**
+     * 上一次清理调用统计的时间
+     */
+    private volatile long pruneTime = System.currentTimeMillis();
+
+    public InstanceRouter(InstanceRegistry instanceRegistry, InstanceRegistryProperties properties) {
+        this.instanceRegistry = instanceRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * 选择scheduler下的一个存活实例执行调用，连接失败时尝试下一个实例
+     *
+     * @param schedName the name of scheduler
+     * @param call      调用，参数为实例的base url，比如http://127.0.0.1:8080
+     * @param <T>       调用结果的类型
+     * @return 调用结果
+     * @throws JobManageException scheduler下没有存活的实例
+     * @throws WrappedIOException 所有实例都连接失败，或请求发出后失败
+     */
+    public <T> T execute(String schedName, Function<String, T> call) {
+        pruneStats();
+        List<QuartzSchedulerInstance> candidates = route(schedName);
+        if (candidates.isEmpty()) {
+            throw new JobManageException("没有存活的quartz实例：" + schedName);
+        }
+        WrappedIOException lastException = null;
+        for (QuartzSchedulerInstance instance : candidates) {
+            String address = getAddress(instance);
+            InstanceStats instanceStats = stats.computeIfAbsent(address, k -> new InstanceStats());
+            long start = System.nanoTime();
+            try {
+                T result = call.apply("http://" + address);
+                instanceStats.recordSuccess(System.nanoTime() - start);
+                return result;
+            } catch (WrappedIOException e) {
+                if (!isConnectFailure(e)) {
+                    throw e;
+                }
+                log.warn("连接实例失败，尝试下一个实例: {}, {}", address, e.getMessage());
+                instanceStats.recordConnectFailure();
+                lastException = e;
+            }
+        }
+        throw lastException;
+    }
+
+    /**
+     * 按选择策略排列scheduler下存活的实例，最近连接失败过的实例排在最后
+     */
+    List<QuartzSchedulerInstance> route(String schedName) {
+        List<QuartzSchedulerInstance> instances = new ArrayList<>(instanceRegistry.getLiveInstances(schedName));
+        if (instances.size() <= 1) {
+            return instances;
+        }
+        instances.sort(Comparator.comparing(InstanceRouter::getAddress));
+        switch (properties.getRoutingStrategy()) {
+            case LEAST_LATENCY:
+                // 没有调用过的实例延迟为0，优先尝试
+                instances.sort(Comparator.comparingDouble(instance -> getStats(instance).latencyNanos));
+                break;
+            case ROUND_ROBIN:
+            default:
+                int offset = Math.floorMod(counters.computeIfAbsent(schedName, k -> new AtomicInteger())
+                        .getAndIncrement(), instances.size());
+                List<QuartzSchedulerInstance> rotated = new ArrayList<>(instances.subList(offset, instances.size()));
+                rotated.addAll(instances.subList(0, offset));
+                instances = rotated;
+                break;
+        }
+        long now = System.currentTimeMillis();
+        long backoff = properties.getFailureBackoff().toMillis();
+        // 稳定排序，保持同一类实例之间原有的顺序
+        instances.sort(Comparator.comparing(instance -> now - getStats(instance).lastConnectFailureTime < backoff));
+        return instances;
+    }
+
+    /**
+     * 删除不再存活的实例和scheduler的调用统计、轮询计数
+     */
+    void pruneStats() {
+        long now = System.currentTimeMillis();
+        if (now - pruneTime <= properties.getRefreshInterval().toMillis()) {
+            return;
+        }
+        synchronized (this) {
+            if (now - pruneTime <= properties.getRefreshInterval().toMillis()) {
+                return;
+            }
+            pruneTime = now;
+            Set<String> addresses = new HashSet<>();
+            Set<String> schedNames = new HashSet<>();
+            for (QuartzSchedulerInstance instance : instanceRegistry.getLiveInstances()) {
+                addresses.add(getAddress(instance));
+                schedNames.add(instance.getSchedName());
+            }
+            stats.keySet().retainAll(addresses);
+            counters.keySet().retainAll(schedNames);
+        }
+    }
+
+    private InstanceStats getStats(QuartzSchedulerInstance instance) {
+        return stats.getOrDefault(getAddress(instance), InstanceStats.EMPTY);
+    }
+
+    private static String getAddress(QuartzSchedulerInstance instance) {
+        return instance.getInstanceHost() + ":" + instance.getInstancePort();
+    }
+
+    /**
+     * 是否为连接失败，此时请求还没有发出，可以安全地换一个实例重试
+     */
+    private static boolean isConnectFailure(WrappedIOException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof ConnectException
+                || cause instanceof ConnectTimeoutException
+                || cause instanceof NoRouteToHostException
+                || cause instanceof UnknownHostException;
+    }
+
+    /**
+     * 路由策略
+     */
+    public enum Strategy {
+        /**
+         * 轮询
+         */
+        ROUND_ROBIN,
+        /**
+         * 优先选择平均延迟最低的实例
+         */
+        LEAST_LATENCY
+    }
+
+    private static class InstanceStats {
+
+        private static final InstanceStats EMPTY = new InstanceStats();
+
+        private volatile double latencyNanos;
+        private volatile long lastConnectFailureTime;
+
+        void recordSuccess(long elapsedNanos) {
+            double latency = latencyNanos;
+            latencyNanos = latency == 0 ? elapsedNanos : latency + LATENCY_ALPHA * (elapsedNanos - latency);
+        }
+
+        void recordConnectFailure() {
+            lastConnectFailureTime = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package redcoder.quartzextendschedulercenter.service.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.springframework.stereotype.Component;
+import redcoder.quartzextendcommon.utils.HttpTemplate;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerChanges;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerInstance;
+import redcoder.quartzextendschedulercenter.properties.JobTriggerInfoCollectorProperties;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * 并发采集quartz实例上的job和trigger信息。
+ * <p>
+ * 通过异步http请求同时向所有实例拉取数据，同时进行中的请求数不超过{@link JobTriggerInfoCollectorProperties#getMaxConcurrentRequests()}，
+ * 每个请求都有连接和读取超时，一次采集也有总的超时时间，单个实例无响应不会阻塞其他scheduler的采集。
+ * 同一个schedName下，采用最先成功返回的实例的数据，并中止该schedName下其他尚未完成的请求。
+ * 拉取到的数据在调用{@link #collect(List)}的线程中写入数据库。
+ * <p>
+ * 最近{@link JobTriggerInfoCollectorProperties#getPushActivePeriod()}内主动推送过数据的scheduler，不再拉取，
+ * 定时采集只作为推送之外的兜底校正。
+ * <p>
+ * 导出的指标：
+ * <ul>
+ *     <li>quartz.center.collect：一次采集的总耗时</li>
+ *     <li>quartz.center.collect.instance：单个实例的请求耗时，按schedName、outcome区分，不区分实例以免指标随实例数膨胀，
+ *     单个实例的耗时输出在debug日志中</li>
+ *     <li>quartz.center.collect.rejected：因超时未能发起请求而跳过的实例数</li>
+ * </ul>
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Component
+@Slf4j
+public class JobTriggerInfoCollector {
+
+    private final JobTriggerInfoCollectorProperties properties;
+    private final JobTriggerInfoSynchronizer synchronizer;
+    private final MeterRegistry meterRegistry;
+    private final Timer collectTimer;
+
+    public JobTriggerInfoCollector(JobTriggerInfoCollectorProperties properties,
+                                   JobTriggerInfoSynchronizer synchronizer,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.synchronizer = synchronizer;
+        this.meterRegistry = meterRegistry;
+        this.collectTimer = Timer.builder("quartz.center.collect")
+                .description("一次采集job和trigger信息的总耗时")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 采集指定实例上的job和trigger信息，每个schedName只保存一个实例的数据
+     *
+     * @param instances quartz实例
+     */
+    public void collect(List<QuartzSchedulerInstance> instances) {
+        Set<String> pushActiveSchedNames = instances.stream()
+                .filter(instance -> synchronizer.isPushActive(instance, properties.getPushActivePeriod()))
+                .map(QuartzSchedulerInstance::getSchedName)
+                .collect(Collectors.toSet());
+        if (!pushActiveSchedNames.isEmpty()) {
+            log.debug("以下scheduler主动推送了数据，跳过采集: {}", pushActiveSchedNames);
+            instances = instances.stream()
+                    .filter(instance -> !pushActiveSchedNames.contains(instance.getSchedName()))
+                    .collect(Collectors.toList());
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CollectingRound round = new CollectingRound(instances);
+        try {
+            round.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            round.cancelAll();
+            sample.stop(collectTimer);
+        }
+    }
+
+    private void recordLatency(QuartzSchedulerInstance instance, long start, Throwable e) {
+        String outcome = e == null ? "success" : (e instanceof CancellationException ? "cancelled" : "failure");
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("quartz.center.collect.instance")
+                .description("从单个实例获取job和trigger信息的耗时")
+                .tag("schedName", instance.getSchedName())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("获取job和trigger信息，实例: {}:{}，schedName: {}，结果: {}，耗时: {}ms", instance.getInstanceHost(),
+                instance.getInstancePort(), instance.getSchedName(), outcome, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * 一次采集过程
+     */
+    private class CollectingRound {
+
+        private final long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        private final Semaphore permits = new Semaphore(properties.getMaxConcurrentRequests());
+        private final BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+        private final Map<String, List<QuartzSchedulerInstance>> instancesBySchedName;
+        private final Map<String, List<CompletableFuture<QuartzJobTriggerChanges>>> futuresBySchedName = new HashMap<>();
+        private final Set<String> collected = new HashSet<>();
+        private final RequestConfig requestConfig;
+        private int pending;
+
+        CollectingRound(List<QuartzSchedulerInstance> instances) {
+            this.instancesBySchedName = instances.stream().collect(
+                    Collectors.groupingBy(QuartzSchedulerInstance::getSchedName, LinkedHashMap::new, Collectors.toList()));
+            int connectTimeout = (int) properties.getConnectTimeout().toMillis();
+            this.requestConfig = HttpTemplate.buildRequestConfig(connectTimeout,
+                    (int) properties.getSocketTimeout().toMillis(), connectTimeout);
+        }
+
+        void run() throws InterruptedException {
+            // 发起请求，同时处理已完成的请求
+            for (Map.Entry<String, List<QuartzSchedulerInstance>> entry : instancesBySchedName.entrySet()) {
+                for (QuartzSchedulerInstance instance : entry.getValue()) {
+                    Completion completion;
+                    while ((completion = completions.poll()) != null) {
+                        handle(completion);
+                    }
+                    if (collected.contains(entry.getKey())) {
+                        break;
+                    }
+                    if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                        log.warn("采集超时，跳过实例: {}:{}", instance.getInstanceHost(), instance.getInstancePort());
+                        meterRegistry.counter("quartz.center.collect.rejected", "schedName", entry.getKey()).increment();
+                        continue;
+                    }
+                    submit(instance);
+                }
+            }
+            // 等待剩余的请求
+            while (pending > 0 && collected.size() < instancesBySchedName.size()) {
+                long remaining = deadline - System.nanoTime();
+                Completion completion = remaining > 0 ? completions.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (completion == null) {
+                    log.warn("采集job和trigger信息超时，未完成的scheduler: {}", instancesBySchedName.keySet().stream()
+                            .filter(s -> !collected.contains(s)).collect(Collectors.toList()));
+                    return;
+                }
+                handle(completion);
+            }
+        }
+
+        private void submit(QuartzSchedulerInstance instance) {
+            long start = System.nanoTime();
+            CompletableFuture<QuartzJobTriggerChanges> future;
+            try {
+                future = synchronizer.fetch(instance, requestConfig);
+            } catch (RuntimeException e) {
+                permits.release();
+                log.error("获取job和trigger信息失败: " + instance.getInstanceHost() + ":" + instance.getInstancePort(), e);
+                return;
+            }
+            pending++;
+            futuresBySchedName.computeIfAbsent(instance.getSchedName(), k -> new ArrayList<>()).add(future);
+            future.whenComplete((changes, e) -> {
+                permits.release();
+                recordLatency(instance, start, e);
+                completions.add(new Completion(instance, future));
+            });
+        }
+
+        private void handle(Completion completion) {
+            pending--;
+            QuartzSchedulerInstance instance = completion.instance;
+            QuartzJobTriggerChanges changes;
+            try {
+                changes = completion.future.join();
+            } catch (CancellationException e) {
+                return;
+            } catch (CompletionException e) {
+                log.error("获取job和trigger信息失败: " + instance.getInstanceHost() + ":" + instance.getInstancePort(), e.getCause());
+                return;
+            }
+            String schedName = instance.getSchedName();
+            if (!collected.add(schedName)) {
+                return;
+            }
+            for (CompletableFuture<QuartzJobTriggerChanges> other : futuresBySchedName.get(schedName)) {
+                if (other != completion.future) {
+                    other.cancel(true);
+                }
+            }
+            try {
+                synchronizer.apply(instance, changes);
+            } catch (Exception e) {
+                log.error("保存job和trigger信息失败，schedName: " + schedName, e);
+            }
+        }
+
+        void cancelAll() {
+            futuresBySchedName.values().forEach(futures -> futures.forEach(future -> future.cancel(true)));
+        }
+    }
+
+    private static class Completion {
+
+        private final QuartzSchedulerInstance instance;
+        private final CompletableFuture<QuartzJobTriggerChanges> future;
+
+        Completion(QuartzSchedulerInstance instance, CompletableFuture<QuartzJobTriggerChanges> future) {
+            this.instance = instance;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package redcoder.quartzextendschedulercenter.service.support;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import redcoder.quartzextendcommon.exception.HttpExecutionFailException;
+import redcoder.quartzextendcommon.utils.HttpBodyReader;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerChanges;
+import redcoder.quartzextendcore.core.dto.QuartzJobTriggerInfo;
+import redcoder.quartzextendcore.scheduler.HttpClientRegistry;
+import redcoder.quartzextendschedulercenter.exception.RefreshJobTriggerInfoException;
+import redcoder.quartzextendschedulercenter.model.dto.ApiResult;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerInstance;
+import redcoder.quartzextendschedulercenter.model.entity.QuartzSchedulerJobTriggerInfo;
+import redcoder.quartzextendschedulercenter.service.JobTriggerInfoPersistService;
+
+import javax.annotation.Resource;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static redcoder.quartzextendschedulercenter.constant.QuartzApiConstants.JOB_TRIGGER_INFO_CHANGES;
+import static redcoder.quartzextendschedulercenter.constant.QuartzApiConstants.JOB_TRIGGER_INFO_LIST;
+
+/**
+ * 从quartz实例同步job和trigger信息到数据库表中。
+ * <p>
+ * 为每个实例记录上一次同步到的变更序号，只拉取并应用之后发生的变化；实例重启（纪元变化）、变更记录已过期、
+ * 或距离上一次全量同步超过{@link #FULL_SYNC_INTERVAL_MILLIS}时，做一次全量同步。
+ * 定期全量同步用于校正实例没有记录到的变化；集群模式的实例只感知当前节点上的变化，每次都返回全量数据。
+ * <p>
+ * 实例也可以主动推送变化（{@link #receive(QuartzSchedulerInstance, long, QuartzJobTriggerChanges)}），
+ * 推送和定时拉取共用同一份同步进度。写入数据库和更新进度只锁定单个实例，不会阻塞其他实例的推送和采集。
+ *
+ * @author redcoder54
+ * @since 2026-10-18
+ */
+@Component
+@Slf4j
+public class JobTriggerInfoSynchronizer {
+
+    /**
+     * 全量同步的最大间隔，5min
+     */
+    private static final long FULL_SYNC_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * key: 实例地址，value: 同步进度
+     */
+    private final Map<String, SyncCursor> cursors = new ConcurrentHashMap<>();
+    /**
+     * key: 实例地址，value: 写入该实例数据时使用的锁
+     */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    @Resource
+    private JobTriggerInfoPersistService persistService;
+    @Resource
+    private HttpClientRegistry httpClientRegistry;
+
+    /**
+     * 从指定实例异步拉取自上一次同步之后的job和trigger信息，只发起http请求，不修改同步进度和数据库。
+     * 取消返回的CompletableFuture时，会中止正在执行的http请求。
+     *
+     * @param instance      quartz实例
+     * @param requestConfig 每次http请求使用的RequestConfig，为null时使用默认配置
+     * @return 拉取到的数据，epoch为null时表示实例不支持增量同步，数据为全量数据；
+     * 实例返回失败结果时，以{@link RefreshJobTriggerInfoException}异常完成
+     */
+    public CompletableFuture<QuartzJobTriggerChanges> fetch(QuartzSchedulerInstance instance,
+                                                            @Nullable RequestConfig requestConfig) {
+        String baseUrl = getBaseUrl(instance);
+        SyncCursor cursor = cursors.get(baseUrl);
+        if (cursor != null && System.currentTimeMillis() - cursor.lastFullSyncTime > FULL_SYNC_INTERVAL_MILLIS) {
+            cursor = null;
+        }
+
+        CompletableFuture<QuartzJobTriggerChanges> result = new CompletableFuture<>();
+        CompletableFuture<QuartzJobTriggerChanges> changesFuture = getJobTriggerChanges(baseUrl, cursor, requestConfig);
+        cancelTogether(result, changesFuture);
+        changesFuture.whenComplete((changes, e) -> {
+            if (e == null) {
+                result.complete(changes);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (!(cause instanceof HttpExecutionFailException) || result.isDone()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            // 实例版本较低，不支持增量同步
+            log.debug("获取增量数据失败，改为全量同步: {}", baseUrl);
+            CompletableFuture<List<QuartzJobTriggerInfo>> infosFuture = getJobTriggerInfos(baseUrl, requestConfig);
+            cancelTogether(result, infosFuture);
+            infosFuture.whenComplete((infos, ex) -> {
+                if (ex != null) {
+                    result.completeExceptionally(ex instanceof CompletionException ? ex.getCause() : ex);
+                    return;
+                }
+                QuartzJobTriggerChanges fullSnapshot = new QuartzJobTriggerChanges();
+                fullSnapshot.setFullSnapshot(true);
+                fullSnapshot.setUpserts(infos);
+                fullSnapshot.setDeletes(Collections.emptyList());
+                result.complete(fullSnapshot);
+            });
+        });
+        return result;
+    }
+
+    /**
+     * 将{@link #fetch(QuartzSchedulerInstance, RequestConfig)}拉取到的数据写入数据库，并更新实例的同步进度
+     *
+     * @param instance quartz实例
+     * @param changes  拉取到的数据
+     */
+    public void apply(QuartzSchedulerInstance instance, QuartzJobTriggerChanges changes) {
+        String baseUrl = getBaseUrl(instance);
+        synchronized (getLock(baseUrl)) {
+            SyncCursor cursor = cursors.get(baseUrl);
+            if (cursor != null && cursor.isNewerThan(changes)) {
+                // 拉取期间，实例推送了更新的数据
+                log.debug("丢弃过期的数据: {}", baseUrl);
+                return;
+            }
+            doApply(baseUrl, instance.getSchedName(), changes, cursor != null ? cursor.lastPushTime : 0);
+        }
+    }
+
+    /**
+     * 接收实例主动推送的数据，写入数据库并更新实例的同步进度
+     *
+     * @param instance 推送数据的quartz实例
+     * @param since    推送的起始变更序号
+     * @param changes  推送的数据
+     * @return true - 已接收；false - 增量数据无法与当前的同步进度衔接，实例需要推送全量数据
+     */
+    public boolean receive(QuartzSchedulerInstance instance, long since, QuartzJobTriggerChanges changes) {
+        String baseUrl = getBaseUrl(instance);
+        synchronized (getLock(baseUrl)) {
+            SyncCursor cursor = cursors.get(baseUrl);
+            if (!changes.isFullSnapshot()
+                    && (cursor == null || !cursor.epoch.equals(changes.getEpoch()) || since > cursor.sequence)) {
+                return false;
+            }
+            long now = System.currentTimeMillis();
+            if (cursor != null && cursor.isNewerThan(changes)) {
+                // 已经拉取到了更新的数据
+                cursors.put(baseUrl, new SyncCursor(cursor.epoch, cursor.sequence, cursor.lastFullSyncTime, now));
+            } else {
+                doApply(baseUrl, instance.getSchedName(), changes, now);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 实例是否在指定时间内推送过数据；需要定期全量同步时，return false
+     *
+     * @param instance quartz实例
+     * @param period   时间范围
+     * @return true - 推送有效，定时采集可以跳过该实例
+     */
+    public boolean isPushActive(QuartzSchedulerInstance instance, Duration period) {
+        SyncCursor cursor = cursors.get(getBaseUrl(instance));
+        long now = System.currentTimeMillis();
+        return cursor != null
+                && now - cursor.lastPushTime <= period.toMillis()
+                && now - cursor.lastFullSyncTime <= FULL_SYNC_INTERVAL_MILLIS;
+    }
+
+    private void doApply(String baseUrl, String schedName, QuartzJobTriggerChanges changes, long lastPushTime) {
+        if (changes.isFullSnapshot()) {
+            persistService.replace(schedName, toEntities(changes.getUpserts()));
+            if (changes.getEpoch() == null) {
+                cursors.remove(baseUrl);
+            } else {
+                cursors.put(baseUrl, new SyncCursor(changes.getEpoch(), changes.getSequence(),
+                        System.currentTimeMillis(), lastPushTime));
+            }
+        } else {
+            persistService.save(schedName, toEntities(changes.getUpserts()), changes.getDeletes());
+            SyncCursor cursor = cursors.get(baseUrl);
+            // 游标丢失时，将上一次全量同步时间置为0，下一次强制全量同步
+            long lastFullSyncTime = cursor != null ? cursor.lastFullSyncTime : 0;
+            cursors.put(baseUrl, new SyncCursor(changes.getEpoch(), changes.getSequence(), lastFullSyncTime, lastPushTime));
+        }
+    }
+
+    private Object getLock(String baseUrl) {
+        return locks.computeIfAbsent(baseUrl, k -> new Object());
+    }
+
+    private String getBaseUrl(QuartzSchedulerInstance instance) {
+        return "http://" + instance.getInstanceHost() + ":" + instance.getInstancePort();
+    }
+
+    private CompletableFuture<QuartzJobTriggerChanges> getJobTriggerChanges(String baseUrl, @Nullable SyncCursor cursor,
+                                                                            @Nullable RequestConfig requestConfig) {
+        Map<String, String> queryParams = new HashMap<>();
+        if (cursor != null) {
+            queryParams.put("epoch", cursor.epoch);
+            queryParams.put("since", String.valueOf(cursor.sequence));
+        }
+        CompletableFuture<ApiResult<QuartzJobTriggerChanges>> response = httpClientRegistry.getAsync(HttpClientRegistry.PROFILE_COLLECTOR)
+                .doGet(baseUrl + JOB_TRIGGER_INFO_CHANGES, queryParams, null, requestConfig,
+                        HttpBodyReader.json(new TypeReference<ApiResult<QuartzJobTriggerChanges>>() {
+                        }));
+        CompletableFuture<QuartzJobTriggerChanges> changes = response.thenApply(result -> {
+            if (result.getStatus() != 0) {
+                throw new RefreshJobTriggerInfoException("获取QuartzJobTriggerChanges失败，原因：" + result.getMessage());
+            }
+            return result.getData();
+        });
+        cancelTogether(changes, response);
+        return changes;
+    }
+
+    private CompletableFuture<List<QuartzJobTriggerInfo>> getJobTriggerInfos(String baseUrl, @Nullable RequestConfig requestConfig) {
+        CompletableFuture<ApiResult<List<QuartzJobTriggerInfo>>> response = httpClientRegistry.getAsync(HttpClientRegistry.PROFILE_COLLECTOR)
+                .doGet(baseUrl + JOB_TRIGGER_INFO_LIST, null, null, requestConfig,
+                        HttpBodyReader.json(new TypeReference<ApiResult<List<QuartzJobTriggerInfo>>>() {
+                        }));
+        CompletableFuture<List<QuartzJobTriggerInfo>> infos = response.thenApply(result -> {
+            if (result.getStatus() != 0) {
+                throw new RefreshJobTriggerInfoException("获取QuartzJobTriggerInfo失败，原因：" + result.getMessage());
+            }
+            return result.getData();
+        });
+        cancelTogether(infos, response);
+        return infos;
+    }
+
+    /**
+     * 取消downstream时，同时取消upstream（中止http请求）
+     */
+    private static void cancelTogether(CompletableFuture<?> downstream, CompletableFuture<?> upstream) {
+        downstream.whenComplete((r, e) -> {
+            if (downstream.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+    }
+
+    private List<QuartzSchedulerJobTriggerInfo> toEntities(List<QuartzJobTriggerInfo> jobTriggerInfos) {
+        return jobTriggerInfos.stream().map(QuartzSchedulerJobTriggerInfo::valueOf).collect(Collectors.toList());
+    }
+
+    private static class SyncCursor {
+
+        private final String epoch;
+        private final long sequence;
+        private final long lastFullSyncTime;
+        private final long lastPushTime;
+
+        SyncCursor(String epoch, long sequence, long lastFullSyncTime, long lastPushTime) {
+            this.epoch = epoch;
+            this.sequence = sequence;
+            this.lastFullSyncTime = lastFullSyncTime;
+            this.lastPushTime = lastPushTime;
+        }
+
+        /**
+         * 当前进度是否比指定的数据更新
+         */
+        boolean isNewerThan(QuartzJobTriggerChanges changes) {
+            return epoch.equals(changes.getEpoch()) && sequence > changes.getSequence();
+        }
+    }
+}
@@ -2,9 +2,11 @@
 drop table if exists quartz_scheduler_instance;
 CREATE TABLE `quartz_scheduler_instance`
 (
-    `sched_name`    varchar(100) NOT NULL COMMENT 'the name of scheduler',
-    `instance_host` varchar(100) NOT NULL COMMENT '实例主机地址',
-    `instance_port` int NOT NULL COMMENT '实例服务端口',
+    `sched_name`          varchar(100) NOT NULL COMMENT 'the name of scheduler',
+    `instance_host`       varchar(100) NOT NULL COMMENT '实例主机地址',
+    `instance_port`       int NOT NULL COMMENT '实例服务端口',
+    `lease_expire_time`   datetime DEFAULT NULL COMMENT '租约到期时间，为NULL时不会过期',
+    `last_heartbeat_time` datetime DEFAULT NULL COMMENT '最近一次心跳时间',
     PRIMARY KEY (`sched_name`, `instance_host`, `instance_port`)
 );
 
@@ -24,4 +26,38 @@ CREATE TABLE `quartz_scheduler_job_trigger_info`
     `create_time`    datetime     DEFAULT NULL,
     `update_time`    datetime     DEFAULT NULL,
     PRIMARY KEY (`sched_name`, `trigger_name`, `trigger_group`)
-);
\ No newline at end of file
+);
+-- 分页查询job和trigger信息时的过滤条件：job名称前缀和job所在组、trigger状态、下次触发时间范围
+CREATE INDEX `idx_job_trigger_info_job` ON `quartz_scheduler_job_trigger_info` (`sched_name`, `job_name`, `job_group`);
+CREATE INDEX `idx_job_trigger_info_state` ON `quartz_scheduler_job_trigger_info` (`sched_name`, `trigger_state`, `trigger_name`, `trigger_group`);
+CREATE INDEX `idx_job_trigger_info_next_fire` ON `quartz_scheduler_job_trigger_info` (`sched_name`, `next_fire_time`);
+-- job的执行记录，由quartz实例推送
+CREATE TABLE `quartz_scheduler_job_execution`
+(
+    `id`                  bigint       NOT NULL AUTO_INCREMENT,
+    `sched_name`          varchar(100) NOT NULL COMMENT 'the name of scheduler',
+    `instance_id`         varchar(200) NOT NULL COMMENT 'the id of scheduler instance',
+    `fire_instance_id`    varchar(200) NOT NULL COMMENT '本次触发的唯一标识',
+    `job_name`            varchar(255) NOT NULL COMMENT 'job名称',
+    `job_group`           varchar(255) NOT NULL COMMENT 'job所在组名称',
+    `trigger_name`        varchar(100) DEFAULT NULL COMMENT '触发器名称',
+    `trigger_group`       varchar(100) DEFAULT NULL COMMENT '触发器所在组名称',
+    `scheduled_fire_time` datetime     DEFAULT NULL COMMENT '计划触发时间',
+    `start_time`          datetime     NOT NULL COMMENT '开始执行时间',
+    `end_time`            datetime     NOT NULL COMMENT '结束执行时间',
+    `duration`            bigint       NOT NULL COMMENT '执行耗时，单位毫秒',
+    `success`             boolean      NOT NULL COMMENT '1 - 执行成功，0 - 执行失败',
+    `exception_class`     varchar(255) DEFAULT NULL COMMENT '执行失败时的异常类名',
+    `shard_parent_id`     varchar(200) DEFAULT NULL COMMENT '分片执行时，所属的分发记录的fire_instance_id',
+    `shard_index`         int          DEFAULT NULL COMMENT '分片序号，从0开始',
+    `shard_count`         int          DEFAULT NULL COMMENT '分片总数',
+    `create_time`         datetime     DEFAULT NULL,
+    PRIMARY KEY (`id`),
+    CONSTRAINT `uk_fire_instance` UNIQUE (`sched_name`, `fire_instance_id`)
+);
+-- 按job分页查询执行记录
+CREATE INDEX `idx_job_execution_job` ON `quartz_scheduler_job_execution` (`sched_name`, `job_name`, `job_group`, `id`);
+-- 查询分片执行进度
+CREATE INDEX `idx_job_execution_shard` ON `quartz_scheduler_job_execution` (`sched_name`, `shard_parent_id`);
+-- 按创建时间删除过期的执行记录
+CREATE INDEX `idx_job_execution_create_time` ON `quartz_scheduler_job_execution` (`create_time`);
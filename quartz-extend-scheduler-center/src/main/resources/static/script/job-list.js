@@ -1,9 +1,20 @@
 const schedNameList = document.querySelector("#schedNames");
+const jobNameInput = document.querySelector("#jobName");
+const triggerStateList = document.querySelector("#triggerState");
+const nextFireTimeFromInput = document.querySelector("#nextFireTimeFrom");
+const nextFireTimeToInput = document.querySelector("#nextFireTimeTo");
+const searchBtn = document.querySelector("#search");
+const loadMoreBtn = document.querySelector("#loadMore");
 const jobTbody = document.querySelector(".job-tbody");
+// 查询下一页时使用的cursor
+let nextCursor = null;
 
 loadJobTable();
 loadSchedNameList();
-schedNameList.addEventListener("click", loadJobTable);
+schedNameList.addEventListener("change", loadJobTable);
+triggerStateList.addEventListener("change", loadJobTable);
+searchBtn.addEventListener("click", loadJobTable);
+loadMoreBtn.addEventListener("click", loadJobPage);
 
 function loadSchedNameList() {
     let xhr = new XMLHttpRequest();
@@ -27,16 +38,44 @@ function loadSchedNameList() {
     }
 }
 
+// 按查询条件重新加载第一页
 function loadJobTable() {
     jobTbody.innerHTML = '';
+    nextCursor = null;
+    loadJobPage();
+}
 
-    let url = baseUrl + '/api/job/list';
-    let xhr = new XMLHttpRequest();
+// datetime-local的值（yyyy-MM-ddTHH:mm）转换为yyyy-MM-dd HH:mm:ss
+function formatDateTime(value) {
+    let dateTime = value.replace('T', ' ');
+    return dateTime.length === 16 ? dateTime + ':00' : dateTime;
+}
+
+function loadJobPage() {
+    let params = new URLSearchParams();
     let index = schedNameList.selectedIndex;
     if (index > 0) {
-        let params = "schedName=" + schedNameList.options[index].value;
-        url = url + "?" + params
+        params.append("schedName", schedNameList.options[index].value);
+    }
+    if (jobNameInput.value) {
+        params.append("jobName", jobNameInput.value);
+    }
+    if (triggerStateList.value) {
+        params.append("triggerState", triggerStateList.value);
     }
+    if (nextFireTimeFromInput.value) {
+        params.append("nextFireTimeFrom", formatDateTime(nextFireTimeFromInput.value));
+    }
+    if (nextFireTimeToInput.value) {
+        params.append("nextFireTimeTo", formatDateTime(nextFireTimeToInput.value));
+    }
+    if (nextCursor) {
+        params.append("cursor", nextCursor);
+    }
+    params.append("pageSize", "50");
+
+    let url = baseUrl + '/api/job/page?' + params.toString();
+    let xhr = new XMLHttpRequest();
     xhr.open("get", url);
     xhr.withCredentials = true;
     xhr.send();
@@ -44,7 +83,9 @@ function loadJobTable() {
         let result = JSON.parse(xhr.responseText);
         let status = result.status;
         if (status === 0) {
-            let data = result.data;
+            let data = result.data.jobTriggers;
+            nextCursor = result.data.nextCursor;
+            loadMoreBtn.style.display = nextCursor ? '' : 'none';
             for (let i = 0; i < data.length; i++) {
                 let model = data[i];
                 let tr = document.createElement('tr');
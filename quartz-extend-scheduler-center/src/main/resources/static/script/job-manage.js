@@ -1,8 +1,25 @@
 const schedNameList = document.querySelector("#schedNames");
 const jobTbody = document.querySelector(".job-tbody");
+const selectAllCheckbox = document.querySelector("#selectAll");
+// 当前表格中勾选的job，key: 复选框，value: job
+const selectedJobs = new Map();
 
 loadSchedNameList();
 schedNameList.addEventListener("click", loadJobTable);
+selectAllCheckbox.addEventListener("change", function () {
+    for (let checkbox of selectedJobs.keys()) {
+        checkbox.checked = selectAllCheckbox.checked;
+    }
+});
+document.querySelector("#batchPause").onclick = function () {
+    batchOperateJob('/api/job/batch/pause', '暂停');
+};
+document.querySelector("#batchResume").onclick = function () {
+    batchOperateJob('/api/job/batch/resume', '恢复');
+};
+document.querySelector("#batchDelete").onclick = function () {
+    batchOperateJob('/api/job/batch/delete', '删除');
+};
 
 function loadSchedNameList() {
     let xhr = new XMLHttpRequest();
@@ -33,6 +50,8 @@ function loadJobTable() {
     }
 
     jobTbody.innerHTML = '';
+    selectedJobs.clear();
+    selectAllCheckbox.checked = false;
     let url = baseUrl + '/api/job/list';
     let xhr = new XMLHttpRequest();
     let params = "schedName=" + schedNameList.options[index].value;
@@ -49,6 +68,13 @@ function loadJobTable() {
                 let model = data[i];
                 let tr = document.createElement('tr');
 
+                let checkboxTd = document.createElement("td");
+                let checkbox = document.createElement("input");
+                checkbox.type = "checkbox";
+                selectedJobs.set(checkbox, model);
+                checkboxTd.appendChild(checkbox);
+                tr.appendChild(checkboxTd);
+
                 let jobNameTd = document.createElement("td");
                 jobNameTd.textContent = model.jobName;
                 tr.appendChild(jobNameTd);
@@ -217,4 +243,46 @@ function deleteJob(model, tr) {
             handleError(result);
         }
     }
-}
\ No newline at end of file
+}
+
+// 批量暂停、恢复、删除勾选的job
+function batchOperateJob(api, operationName) {
+    let jobs = [];
+    for (let [checkbox, model] of selectedJobs) {
+        if (checkbox.checked) {
+            jobs.push({
+                'schedName': model.schedName,
+                'jobName': model.jobName,
+                'jobGroup': model.jobGroup
+            });
+        }
+    }
+    if (jobs.length === 0) {
+        alert('请先勾选job');
+        return;
+    }
+    if (!confirm('确定' + operationName + '选中的' + jobs.length + '个job？')) {
+        return;
+    }
+    let xhr = new XMLHttpRequest();
+    xhr.open("post", baseUrl + api);
+    xhr.withCredentials = true;
+    xhr.setRequestHeader('Content-Type', 'application/json');
+    xhr.send(JSON.stringify({'jobs': jobs}));
+    xhr.onload = function () {
+        let result = JSON.parse(xhr.responseText);
+        let status = result.status;
+        if (status === 0) {
+            let failures = result.data.filter(t => !t.success);
+            let message = operationName + '成功' + (result.data.length - failures.length) + '个job';
+            if (failures.length > 0) {
+                message += '，失败' + failures.length + '个：\n'
+                    + failures.map(t => t.jobName + ' - ' + t.message).join('\n');
+            }
+            alert(message);
+            loadJobTable();
+        } else {
+            handleError(result);
+        }
+    }
+}